@@ -27,6 +27,14 @@ public interface ClientBackOffStrategy {
    */
   void startWaiting();
 
+  /**
+   * Is invoked if the request to the server failed, e.g. because the Workflow Engine is not available.
+   * By default, the client waits like in case of no external tasks.
+   */
+  default void startWaitingAfterError() {
+    startWaiting();
+  }
+
   /**
    * Is invoked when a request to the server returns a non-empty list of external tasks. This method
    * is used to reset the back off strategy to its starting state.
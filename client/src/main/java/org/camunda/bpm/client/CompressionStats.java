@@ -0,0 +1,84 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client;
+
+/**
+ * <p>Snapshot of the amount of bytes which have been transferred gzip compressed between
+ * the client and the Workflow Engine</p>
+ *
+ * @author Tassilo Weidner
+ * @see ExternalTaskClient#getCompressionStats()
+ */
+public class CompressionStats {
+
+  protected final long compressedResponseBytes;
+  protected final long decompressedResponseBytes;
+  protected final long compressedRequestBytes;
+  protected final long uncompressedRequestBytes;
+
+  public CompressionStats(long compressedResponseBytes, long decompressedResponseBytes, long compressedRequestBytes, long uncompressedRequestBytes) {
+    this.compressedResponseBytes = compressedResponseBytes;
+    this.decompressedResponseBytes = decompressedResponseBytes;
+    this.compressedRequestBytes = compressedRequestBytes;
+    this.uncompressedRequestBytes = uncompressedRequestBytes;
+  }
+
+  /**
+   * @return the amount of bytes of compressed response bodies as received from the Workflow Engine
+   */
+  public long getCompressedResponseBytes() {
+    return compressedResponseBytes;
+  }
+
+  /**
+   * @return the amount of bytes of compressed response bodies after decompression
+   */
+  public long getDecompressedResponseBytes() {
+    return decompressedResponseBytes;
+  }
+
+  /**
+   * @return the amount of bytes of compressed request bodies as sent to the Workflow Engine
+   */
+  public long getCompressedRequestBytes() {
+    return compressedRequestBytes;
+  }
+
+  /**
+   * @return the amount of bytes of compressed request bodies before compression
+   */
+  public long getUncompressedRequestBytes() {
+    return uncompressedRequestBytes;
+  }
+
+  /**
+   * @return the ratio of decompressed to compressed response bytes, {@code 0} if no compressed
+   * response has been received
+   */
+  public double getResponseCompressionRatio() {
+    return ratio(decompressedResponseBytes, compressedResponseBytes);
+  }
+
+  /**
+   * @return the ratio of uncompressed to compressed request bytes, {@code 0} if no request
+   * has been compressed
+   */
+  public double getRequestCompressionRatio() {
+    return ratio(uncompressedRequestBytes, compressedRequestBytes);
+  }
+
+  protected double ratio(long uncompressedBytes, long compressedBytes) {
+    return compressedBytes > 0 ? (double) uncompressedBytes / compressedBytes : 0;
+  }
+
+}
@@ -0,0 +1,63 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client;
+
+/**
+ * <p>Snapshot of the pool of HTTP connections to the Workflow Engine</p>
+ *
+ * @author Tassilo Weidner
+ * @see ExternalTaskClient#getConnectionPoolStats()
+ */
+public class ConnectionPoolStats {
+
+  protected final int leasedConnections;
+  protected final int availableConnections;
+  protected final int pendingRequests;
+  protected final int maxConnections;
+
+  public ConnectionPoolStats(int leasedConnections, int availableConnections, int pendingRequests, int maxConnections) {
+    this.leasedConnections = leasedConnections;
+    this.availableConnections = availableConnections;
+    this.pendingRequests = pendingRequests;
+    this.maxConnections = maxConnections;
+  }
+
+  /**
+   * @return the amount of connections which are currently used by requests
+   */
+  public int getLeasedConnections() {
+    return leasedConnections;
+  }
+
+  /**
+   * @return the amount of idle connections which are kept alive for subsequent requests
+   */
+  public int getAvailableConnections() {
+    return availableConnections;
+  }
+
+  /**
+   * @return the amount of requests which are waiting for a connection
+   */
+  public int getPendingRequests() {
+    return pendingRequests;
+  }
+
+  /**
+   * @return the maximum amount of connections in total
+   */
+  public int getMaxConnections() {
+    return maxConnections;
+  }
+
+}
@@ -0,0 +1,69 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client;
+
+/**
+ * <p>Outcome of draining the Camunda client</p>
+ *
+ * @author Tassilo Weidner
+ * @see ExternalTaskClient#drain(long)
+ */
+public class DrainResult {
+
+  protected final int completedTasks;
+  protected final int unlockedTasks;
+  protected final int abandonedTasks;
+  protected final int pendingRetries;
+
+  public DrainResult(int completedTasks, int unlockedTasks, int abandonedTasks) {
+    this(completedTasks, unlockedTasks, abandonedTasks, 0);
+  }
+
+  public DrainResult(int completedTasks, int unlockedTasks, int abandonedTasks, int pendingRetries) {
+    this.completedTasks = completedTasks;
+    this.unlockedTasks = unlockedTasks;
+    this.abandonedTasks = abandonedTasks;
+    this.pendingRetries = pendingRetries;
+  }
+
+  /**
+   * @return the amount of tasks whose handlers have finished while draining
+   */
+  public int getCompletedTasks() {
+    return completedTasks;
+  }
+
+  /**
+   * @return the amount of fetched tasks whose handlers have not been started and which have been unlocked
+   */
+  public int getUnlockedTasks() {
+    return unlockedTasks;
+  }
+
+  /**
+   * @return the amount of tasks whose handlers were still running when the timeout elapsed
+   * or which could not be unlocked; their locks expire eventually
+   */
+  public int getAbandonedTasks() {
+    return abandonedTasks;
+  }
+
+  /**
+   * @return the amount of failed calls, such as completions, which were still retried in the background
+   * when the timeout elapsed; they are retried until they succeed or the lock of their task expires
+   */
+  public int getPendingRetries() {
+    return pendingRetries;
+  }
+
+}
@@ -44,6 +44,17 @@ public interface ExternalTaskClient {
    */
   void stop();
 
+  /**
+   * Stops continuous fetching and locking of tasks, waits for the running handlers and the calls
+   * which are retried in the background to finish and unlocks all fetched tasks whose handlers
+   * have not been started yet
+   *
+   * @param timeout in milliseconds to wait for the running handlers and the retried calls
+   * @return the amounts of tasks which have been completed, unlocked or abandoned and of calls
+   * which were still retried when draining has finished
+   */
+  DrainResult drain(long timeout);
+
   /**
    * Starts continuous fetching and locking of tasks
    */
@@ -57,4 +68,21 @@ public interface ExternalTaskClient {
    */
   boolean isFetching();
 
+  /**
+   * @return the current utilization of the pool of HTTP connections to the Workflow Engine
+   * which is used for all requests but fetch and lock requests
+   */
+  ConnectionPoolStats getConnectionPoolStats();
+
+  /**
+   * @return the current utilization of the pool of HTTP connections to the Workflow Engine
+   * which is used for fetch and lock requests
+   */
+  ConnectionPoolStats getFetchConnectionPoolStats();
+
+  /**
+   * @return the amount of bytes which have been transferred gzip compressed, before and after compression
+   */
+  CompressionStats getCompressionStats();
+
 }
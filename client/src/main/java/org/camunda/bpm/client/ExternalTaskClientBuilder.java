@@ -12,6 +12,11 @@
  */
 package org.camunda.bpm.client;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionHandler;
+
+import org.camunda.bpm.client.circuitbreaker.CircuitBreaker;
+import org.camunda.bpm.client.codec.JsonCodec;
 import org.camunda.bpm.client.exception.ExternalTaskClientException;
 import org.camunda.bpm.client.interceptor.ClientRequestInterceptor;
 
@@ -97,11 +102,354 @@ public interface ExternalTaskClientBuilder {
    * Adds a back off strategy to the client for defining the wait time until a new request is sent.
    * This information is optional.
    *
+   * If not given, the client polls again immediately if no external tasks are received and waits
+   * according to an {@link org.camunda.bpm.client.backoff.ExponentialBackoffStrategy} if a request fails.
+   *
    * @param backOffStrategy to be used to generate/calculate the wait time between requests
    * @return the builder
    */
   ExternalTaskClientBuilder backOff(ClientBackOffStrategy backOffStrategy);
 
+  /**
+   * Specifies a custom executor the handlers of fetched and locked external tasks are invoked on.
+   * Like this, the task acquisition thread only fetches and dispatches tasks and the handlers are
+   * executed in parallel. The executor is not shut down by the client.
+   * This information is optional.
+   *
+   * If neither a handler executor nor a handler thread pool is configured, the handlers are
+   * executed one after another on the task acquisition thread.
+   *
+   * @param handlerExecutor to invoke the external task handlers on
+   * @return the builder
+   */
+  ExternalTaskClientBuilder handlerExecutor(ExecutorService handlerExecutor);
+
+  /**
+   * Executes the handlers of fetched and locked external tasks on a bounded thread pool owned by the client,
+   * which is shut down when the client is stopped and recreated when it is started again.
+   * If the pool and its queue are exhausted, the task acquisition thread executes the handler itself which
+   * throttles the fetching of further tasks.
+   * This information is optional.
+   *
+   * @param threadCount amount of threads which execute external task handlers in parallel
+   * @param queueCapacity amount of external tasks which are allowed to wait for a free thread
+   * @return the builder
+   */
+  ExternalTaskClientBuilder handlerThreadPool(int threadCount, int queueCapacity);
+
+  /**
+   * Executes the handlers of fetched and locked external tasks on a bounded thread pool owned by the client.
+   * This information is optional.
+   *
+   * @param threadCount amount of threads which execute external task handlers in parallel
+   * @param queueCapacity amount of external tasks which are allowed to wait for a free thread
+   * @param rejectionPolicy which is applied if the pool and its queue are exhausted
+   * @return the builder
+   */
+  ExternalTaskClientBuilder handlerThreadPool(int threadCount, int queueCapacity, RejectedExecutionHandler rejectionPolicy);
+
+  /**
+   * Executes each handler invocation on its own virtual thread. This is suitable for handlers which
+   * mostly block on I/O. The task acquisition thread remains a platform thread.
+   * Requires a JVM which supports virtual threads (JDK 21+), otherwise platform threads are used instead,
+   * which are pooled up to {@link #maxConcurrentTasks(int)} threads or, if not specified, without bound.
+   * This information is optional.
+   *
+   * Since virtual threads are not pooled, {@link #maxConcurrentTasks(int)} should be used to bound
+   * the amount of external tasks handled at the same time.
+   *
+   * @return the builder
+   */
+  ExternalTaskClientBuilder useVirtualThreads();
+
+  /**
+   * Executes each handler invocation on its own virtual thread.
+   * This information is optional.
+   *
+   * @param includeTaskAcquisition if {@code true}, the task acquisition is performed on a virtual thread as well
+   * @return the builder
+   * @see #useVirtualThreads()
+   */
+  ExternalTaskClientBuilder useVirtualThreads(boolean includeTaskAcquisition);
+
+  /**
+   * Specifies the maximum amount of external tasks which are handled at the same time. If the limit
+   * is reached, the dispatching of further tasks waits until a running handler has finished.
+   * This information is optional.
+   *
+   * @param maxConcurrentTasks which are handled at the same time
+   * @return the builder
+   */
+  ExternalTaskClientBuilder maxConcurrentTasks(int maxConcurrentTasks);
+
+  /**
+   * Enables pipelined fetching: instead of fetching the next batch after all handlers of the previous batch
+   * have been executed, a new fetch and lock request is performed as soon as a handler slot becomes free.
+   * Each request asks for at most as many tasks as there are free slots, so that no tasks are locked which
+   * cannot be handled right away. The amount of slots is defined by {@link #maxConcurrentTasks(int)} or, if
+   * not specified, by {@link #maxTasks(int)}.
+   * This information is optional.
+   *
+   * Pipelined fetching is most effective in combination with a handler executor, a handler thread pool
+   * or virtual threads.
+   *
+   * @return the builder
+   */
+  ExternalTaskClientBuilder pipelinedFetching();
+
+  /**
+   * Enables streaming fetching: the response of a fetch and lock request is parsed task by task and each
+   * task is dispatched to its handler as soon as it has been parsed, instead of waiting for the whole
+   * batch to be received. Tasks are dispatched in the order they are received rather than ordered by
+   * lock expiration and priority.
+   * This information is optional.
+   *
+   * Streaming fetching is most effective in combination with a handler executor or pipelined fetching,
+   * since handlers which are invoked on the task acquisition thread delay the rest of the response.
+   *
+   * @return the builder
+   */
+  ExternalTaskClientBuilder streamingFetch();
+
+  /**
+   * Enables streaming requests: the bodies of requests to the Workflow Engine, e.g. to complete a task
+   * with large variables, are serialized straight to the connection with chunked transfer encoding
+   * instead of being serialized into memory first.
+   * This information is optional.
+   *
+   * @return the builder
+   */
+  ExternalTaskClientBuilder streamingRequests();
+
+  /**
+   * Adjusts the amount of tasks fetched within one request after each request instead of using
+   * the fixed value of {@link #maxTasks(int)}, which is used as initial value only. The amount is
+   * decreased if the handlers of a batch are not expected to finish within the lock duration or
+   * if there is no backlog, and increased step by step while full batches are fetched.
+   * This information is optional.
+   *
+   * @param minMaxTasks lower bound of the amount of tasks fetched within one request
+   * @param maxMaxTasks upper bound of the amount of tasks fetched within one request
+   * @return the builder
+   */
+  ExternalTaskClientBuilder adaptiveMaxTasks(int minMaxTasks, int maxMaxTasks);
+
+  /**
+   * Specifies the amount of fetch and lock requests which are performed at the same time over the
+   * same topic subscriptions. Each request is performed by its own task acquisition thread, while the
+   * limits on concurrently handled tasks apply to all of them together. Especially in combination with
+   * long polling, this allows a single client to keep up with topics of a high task rate.
+   * This information is optional, the default is one request at a time.
+   *
+   * @param concurrentFetches amount of fetch and lock requests performed at the same time
+   * @return the builder
+   */
+  ExternalTaskClientBuilder concurrentFetches(int concurrentFetches);
+
+  /**
+   * Configures a named fetch group. The topics assigned to the group are fetched by their own task
+   * acquisition thread, separately from the other topics, so that e.g. topics with a low latency
+   * requirement can poll frequently while batch topics use long polling.
+   * This information is optional.
+   *
+   * @param groupName the topic subscriptions refer to
+   * @param maxTasks which are supposed to be fetched within one request of the group
+   * @param asyncResponseTimeout of the requests of the group
+   * @return the builder
+   * @see org.camunda.bpm.client.topic.TopicSubscriptionBuilder#fetchGroup(String)
+   */
+  ExternalTaskClientBuilder fetchGroup(String groupName, int maxTasks, long asyncResponseTimeout);
+
+  /**
+   * Configures a named fetch group with its own back off strategy. The strategy instance must not be
+   * shared with the client or other fetch groups.
+   * This information is optional.
+   *
+   * @param groupName the topic subscriptions refer to
+   * @param maxTasks which are supposed to be fetched within one request of the group
+   * @param asyncResponseTimeout of the requests of the group
+   * @param backOffStrategy applied between the requests of the group
+   * @return the builder
+   * @see #fetchGroup(String, int, long)
+   */
+  ExternalTaskClientBuilder fetchGroup(String groupName, int maxTasks, long asyncResponseTimeout, ClientBackOffStrategy backOffStrategy);
+
+  /**
+   * Extends the locks of fetched and locked external tasks automatically as long as their handlers are
+   * running or waiting to be executed. Like this, a short lock duration can be used for all tasks, so that
+   * tasks of a crashed client are available again quickly, while slow handlers do not lose their locks.
+   * A lock is extended by the lock duration of its topic after two thirds of the lock duration have passed,
+   * until it has been held for the given maximum lock duration in total.
+   * This information is optional.
+   *
+   * @param maxLockDuration in milliseconds a lock is held for at most, including all extensions
+   * @return the builder
+   */
+  ExternalTaskClientBuilder autoExtendLock(long maxLockDuration);
+
+  /**
+   * Skips fetched and locked external tasks whose lock expires within the given time when their
+   * handlers are about to be invoked, e.g. because they waited too long for a free handler. Such tasks
+   * are unlocked, so that they can be fetched again right away, or skipped if the lock has already expired.
+   * Waiting tasks are always handled in the order of their lock expiration and their priority.
+   * This information is optional.
+   *
+   * @param minRemainingLockTime in milliseconds the lock of a task must at least be held for to invoke its handler
+   * @return the builder
+   * @see org.camunda.bpm.client.task.ExternalTask#getRemainingLockTime()
+   */
+  ExternalTaskClientBuilder staleTaskThreshold(long minRemainingLockTime);
+
+  /**
+   * Specifies the maximum amount of HTTP connections to the Workflow Engine. Unless specified by
+   * {@link #maxConnectionsPerRoute(int)}, the same amount applies per route, so that handlers which
+   * complete their tasks in parallel do not wait for each other's connections.
+   * Fetch and lock requests use a separate pool with one connection per task acquisition thread,
+   * so that long polling never delays completing, failing or extending the lock of a task.
+   * This information is optional. Default is 20 in total and 2 per route.
+   *
+   * @param maxConnections which are opened at most
+   * @return the builder
+   */
+  ExternalTaskClientBuilder maxConnections(int maxConnections);
+
+  /**
+   * Specifies the maximum amount of HTTP connections per route, i.e. per Workflow Engine host.
+   * This information is optional.
+   *
+   * @param maxConnectionsPerRoute which are opened to the same route at most
+   * @return the builder
+   */
+  ExternalTaskClientBuilder maxConnectionsPerRoute(int maxConnectionsPerRoute);
+
+  /**
+   * Specifies the time after which a connection is closed and not reused anymore, regardless of
+   * keep alive, e.g. to spread the load after further Workflow Engine nodes have been started.
+   * This information is optional.
+   *
+   * @param connectionTimeToLive in milliseconds
+   * @return the builder
+   */
+  ExternalTaskClientBuilder connectionTimeToLive(long connectionTimeToLive);
+
+  /**
+   * Specifies how long an idle connection is kept alive for subsequent requests if the Workflow Engine
+   * does not announce a shorter duration. By default, connections are kept alive indefinitely.
+   * This information is optional.
+   *
+   * @param keepAliveDuration in milliseconds
+   * @return the builder
+   */
+  ExternalTaskClientBuilder keepAliveDuration(long keepAliveDuration);
+
+  /**
+   * Closes connections in the background which have been idle for longer than the given time or
+   * whose keep alive duration or time to live has expired.
+   * This information is optional.
+   *
+   * @param maxIdleTime in milliseconds
+   * @return the builder
+   */
+  ExternalTaskClientBuilder evictIdleConnections(long maxIdleTime);
+
+  /**
+   * Specifies the time of inactivity after which a pooled connection is checked before it is reused,
+   * so that requests do not fail on connections which have been closed by the other side.
+   * This information is optional. Default is 2 seconds.
+   *
+   * @param validateAfterInactivity in milliseconds
+   * @return the builder
+   */
+  ExternalTaskClientBuilder validateAfterInactivity(int validateAfterInactivity);
+
+  /**
+   * Specifies the timeout of all requests but fetch and lock requests: to obtain a pooled connection,
+   * to establish a connection and to wait for data of the response. Fetch and lock requests only apply
+   * it to establishing a connection, since long polling requests wait for the response on purpose.
+   * This information is optional. By default, requests do not time out.
+   *
+   * @param commandTimeout in milliseconds
+   * @return the builder
+   */
+  ExternalTaskClientBuilder commandTimeout(int commandTimeout);
+
+  /**
+   * Specifies the executor of asynchronous calls to the Workflow Engine, such as
+   * {@link org.camunda.bpm.client.impl.EngineClient#completeAsync(String, java.util.Map, java.util.Map)}.
+   * By default, each call is performed on its own virtual thread if the JVM supports virtual threads
+   * (JDK 21+), so that thousands of pending calls are carried by a handful of platform threads.
+   * On older JVMs, each call occupies a platform thread of a fixed pool with as many threads as
+   * {@link #maxAsyncRequests(int)} for as long as the request takes, and idle threads are
+   * discarded after a minute. The default executor is shut down when the client is stopped;
+   * an executor passed here is left untouched and needs to be shut down by the caller.
+   * This information is optional.
+   *
+   * @param asyncExecutor which performs asynchronous calls
+   * @return the builder
+   */
+  ExternalTaskClientBuilder asyncExecutor(ExecutorService asyncExecutor);
+
+  /**
+   * Specifies the maximum amount of asynchronous requests, such as
+   * {@link org.camunda.bpm.client.task.ExternalTaskService#completeAsync(org.camunda.bpm.client.task.ExternalTask)},
+   * which are in flight at the same time. Further requests fail right away without blocking the
+   * calling thread, so that handlers cannot pile up an unbounded backlog of requests. Unless an
+   * {@link #asyncExecutor(ExecutorService)} is specified, this is also the amount of platform
+   * threads which perform the requests on JVMs without virtual threads (before JDK 21).
+   * This information is optional. Default is 100.
+   *
+   * @param maxAsyncRequests which are in flight at the same time
+   * @return the builder
+   */
+  ExternalTaskClientBuilder maxAsyncRequests(int maxAsyncRequests);
+
+  /**
+   * Compresses request bodies with gzip whose size reaches the given threshold, e.g. to complete tasks
+   * with large variables. The Workflow Engine must be able to decompress gzip encoded request bodies,
+   * e.g. by a servlet filter. Request bodies which are streamed (see {@link #streamingRequests()})
+   * are not compressed. Responses of the Workflow Engine are decompressed regardless of this setting.
+   * This information is optional, request bodies are not compressed by default.
+   *
+   * @param thresholdInBytes from which on request bodies are compressed
+   * @return the builder
+   */
+  ExternalTaskClientBuilder requestCompression(int thresholdInBytes);
+
+  /**
+   * Adds a codec which reads and writes the bodies of requests to and responses of the Workflow Engine
+   * of the types it supports, e.g. {@link org.camunda.bpm.client.codec.EngineDtoCodec} which does so
+   * without bean introspection. All other types are read and written by the object mapper of the client.
+   * This information is optional.
+   *
+   * @param jsonCodec which reads and writes the supported types
+   * @return the builder
+   */
+  ExternalTaskClientBuilder jsonCodec(JsonCodec jsonCodec);
+
+  /**
+   * Guards all requests to the Workflow Engine by a circuit breaker. While the circuit is open,
+   * requests fail right away and fetching and locking of tasks is paused, so that a degraded
+   * Workflow Engine is not slowed down further. Listeners can be added to the circuit breaker
+   * to be notified about its state transitions. This information is optional.
+   *
+   * @param circuitBreaker which decides whether requests are performed
+   * @return the builder
+   */
+  ExternalTaskClientBuilder circuitBreaker(CircuitBreaker circuitBreaker);
+
+  /**
+   * Retries completing, failure notifications and BPMN errors of handlers in the background if they
+   * have failed due to a connection problem, an unavailable Workflow Engine or an open circuit breaker,
+   * so that the handler returns right away and its work is not lost. This applies to the asynchronous
+   * variants as well. Retries are performed with exponential backoff as long as the lock of the task can
+   * still be valid. Calls which fail while the queue is full are not retried.
+   * This information is optional, failed calls are not retried by default.
+   *
+   * @param queueCapacity maximum amount of calls which are retried at the same time
+   * @return the builder
+   */
+  ExternalTaskClientBuilder completionRetries(int queueCapacity);
+
   /**
    * Bootstraps the Camunda client
    *
@@ -112,6 +460,18 @@ public interface ExternalTaskClientBuilder {
    *   <li> if maximum amount of tasks is not greater than zero
    *   <li> if maximum asynchronous response timeout is not greater than zero
    *   <li> if lock duration is not greater than zero
+   *   <li> if the thread count of the handler thread pool is not greater than zero
+   *   <li> if the queue capacity of the handler thread pool is negative
+   *   <li> if both a handler executor and a handler thread pool are configured
+   *   <li> if virtual threads are combined with a handler executor or a handler thread pool
+   *   <li> if maximum amount of concurrently handled tasks is not greater than zero
+   *   <li> if the bounds of the adaptive maximum amount of tasks are invalid
+   *   <li> if the amount of concurrent fetch and lock requests is not greater than zero
+   *   <li> if a fetch group has no name, has been configured twice or has invalid request settings
+   *   <li> if the maximum lock duration of the automatic lock extension is not greater than zero
+   *   <li> if the stale task threshold is not greater than zero
+   *   <li> if a setting of the connection pool is not greater than zero
+   *   <li> if the maximum amount of asynchronous requests is not greater than zero
    * </ul>
    * @return the builder
    */
@@ -0,0 +1,192 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.backoff;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.camunda.bpm.client.ClientBackOffStrategy;
+import org.camunda.bpm.client.impl.ExternalTaskClientLogger;
+
+/**
+ * <p>Waits an exponentially growing time between requests which return no external tasks or fail.</p>
+ *
+ * <p>The wait time is chosen at random between zero and {@code min(maxTime, initTime * factor^level)}
+ * ("full jitter"), so that many clients which run into an outage of the Workflow Engine at the same time
+ * do not retry in lockstep. The levels for empty responses and for failed requests are tracked separately:
+ * the error level is reset by any successful request, both levels are reset as soon as external tasks
+ * are received.</p>
+ *
+ * <p>The levels are tracked per waiting thread, so that an instance which is shared by several
+ * concurrent fetch loops backs off each loop as if it had its own instance.</p>
+ *
+ * @author Tassilo Weidner
+ */
+public class ExponentialBackoffStrategy implements ClientBackOffStrategy {
+
+  protected static final ExternalTaskClientLogger LOG = ExternalTaskClientLogger.CLIENT_LOGGER;
+
+  protected final Object MONITOR = new Object();
+
+  protected long initTime;
+  protected float factor;
+  protected long maxTime;
+
+  protected final ThreadLocal<BackoffLevels> levels = ThreadLocal.withInitial(BackoffLevels::new);
+  protected int pendingStopRequests;
+
+  /**
+   * Initial wait time of 500 milliseconds, factor of 2 and maximum wait time of 60 seconds
+   */
+  public ExponentialBackoffStrategy() {
+    this(500L, 2, 60_000L);
+  }
+
+  /**
+   * @param initTime in milliseconds the wait time is based on
+   * @param factor the wait time is multiplied with for each consecutive empty response or failed request
+   * @param maxTime in milliseconds the wait time does not exceed
+   */
+  public ExponentialBackoffStrategy(long initTime, float factor, long maxTime) {
+    if (initTime < 0) {
+      throw LOG.exponentialBackoffSettingInvalidException("initTime");
+    }
+    if (factor < 1) {
+      throw LOG.exponentialBackoffSettingInvalidException("factor");
+    }
+    if (maxTime < 0) {
+      throw LOG.exponentialBackoffSettingInvalidException("maxTime");
+    }
+
+    this.initTime = initTime;
+    this.factor = factor;
+    this.maxTime = maxTime;
+  }
+
+  public void startWaiting() {
+    BackoffLevels currentLevels = levels.get();
+    int currentLevel = currentLevels.level++;
+    // the last request succeeded
+    currentLevels.errorLevel = 0;
+
+    waitWithJitter(calculateBackoffTime(currentLevel));
+  }
+
+  public void startWaitingAfterError() {
+    BackoffLevels currentLevels = levels.get();
+    int currentLevel = currentLevels.errorLevel++;
+
+    waitWithJitter(calculateBackoffTime(currentLevel));
+  }
+
+  /**
+   * Resets the levels of the calling thread. Pending stop requests are kept, so that a stop
+   * request which has not hit a wait yet still interrupts the next one.
+   */
+  public void reset() {
+    BackoffLevels currentLevels = levels.get();
+    currentLevels.level = 0;
+    currentLevels.errorLevel = 0;
+  }
+
+  /**
+   * Interrupts one current or, if no thread is waiting right now, the next wait.
+   */
+  public void stopWaiting() {
+    synchronized (MONITOR) {
+      pendingStopRequests++;
+      MONITOR.notifyAll();
+    }
+  }
+
+  /**
+   * Discards stop requests which have not interrupted any wait, since the stopped threads have
+   * terminated before they waited again.
+   */
+  public void clearStopRequests() {
+    synchronized (MONITOR) {
+      pendingStopRequests = 0;
+    }
+  }
+
+  /**
+   * @return the upper bound of the wait time in milliseconds for the given level
+   */
+  public long calculateBackoffTime(int level) {
+    double backoffTime = initTime * Math.pow(factor, level);
+    return (long) Math.min(backoffTime, maxTime);
+  }
+
+  protected void waitWithJitter(long backoffTime) {
+    long waitTime = backoffTime > 0 ? ThreadLocalRandom.current().nextLong(backoffTime + 1) : 0;
+    long deadline = System.currentTimeMillis() + waitTime;
+
+    synchronized (MONITOR) {
+      try {
+        long remainingTime = waitTime;
+        while (pendingStopRequests == 0 && remainingTime > 0) {
+          MONITOR.wait(remainingTime);
+          remainingTime = deadline - System.currentTimeMillis();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+
+      if (pendingStopRequests > 0) {
+        pendingStopRequests--;
+      }
+    }
+  }
+
+  public long getInitTime() {
+    return initTime;
+  }
+
+  public float getFactor() {
+    return factor;
+  }
+
+  public long getMaxTime() {
+    return maxTime;
+  }
+
+  /**
+   * @return the level for empty responses of the calling thread
+   */
+  public int getLevel() {
+    return levels.get().level;
+  }
+
+  /**
+   * @return the level for failed requests of the calling thread
+   */
+  public int getErrorLevel() {
+    return levels.get().errorLevel;
+  }
+
+  /**
+   * @return the amount of stop requests which have not interrupted a wait yet
+   */
+  public int getPendingStopRequests() {
+    synchronized (MONITOR) {
+      return pendingStopRequests;
+    }
+  }
+
+  protected static class BackoffLevels {
+
+    protected int level;
+    protected int errorLevel;
+
+  }
+
+}
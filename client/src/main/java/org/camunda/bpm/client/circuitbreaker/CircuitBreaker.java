@@ -0,0 +1,279 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.circuitbreaker;
+
+import org.camunda.bpm.client.impl.ExternalTaskClientLogger;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * <p>Stops performing requests to the Workflow Engine while it is degraded, so that it is not
+ * slowed down further by requests which are likely to time out anyway.</p>
+ *
+ * <p>While the circuit is {@link CircuitBreakerState#CLOSED closed}, the outcomes of the most recent
+ * requests are recorded in a sliding window. A request is unhealthy if it has failed due to a
+ * connection problem or a server error, or if it has taken at least as long as the slow request
+ * threshold. Once the window is full and the rate of unhealthy requests reaches the failure rate
+ * threshold, the circuit {@link CircuitBreakerState#OPEN opens} and requests are rejected right away.</p>
+ *
+ * <p>After the open state duration has elapsed, the circuit becomes
+ * {@link CircuitBreakerState#HALF_OPEN half-open} and permits a few trial requests. If all of them
+ * are healthy, the circuit closes, otherwise it opens again.</p>
+ *
+ * @author Tassilo Weidner
+ */
+public class CircuitBreaker {
+
+  protected static final ExternalTaskClientLogger LOG = ExternalTaskClientLogger.CLIENT_LOGGER;
+
+  public static final int DEFAULT_SLIDING_WINDOW_SIZE = 20;
+  public static final float DEFAULT_FAILURE_RATE_THRESHOLD = 0.5f;
+  public static final long DEFAULT_SLOW_REQUEST_THRESHOLD = 10000L;
+  public static final long DEFAULT_OPEN_STATE_DURATION = 10000L;
+  public static final int DEFAULT_TRIAL_REQUESTS = 3;
+
+  protected int slidingWindowSize;
+  protected float failureRateThreshold;
+  protected long slowRequestThreshold;
+  protected long openStateDuration;
+  protected int trialRequests;
+
+  protected List<CircuitBreakerListener> listeners;
+
+  protected CircuitBreakerState state;
+  protected long openedAt;
+
+  // outcomes of the most recent requests while closed, true if unhealthy
+  protected boolean[] slidingWindow;
+  protected int recordedRequests;
+  protected int unhealthyRequests;
+  protected int nextIndex;
+
+  protected int permittedTrialRequests;
+  protected int healthyTrialRequests;
+
+  public CircuitBreaker() {
+    this(DEFAULT_SLIDING_WINDOW_SIZE, DEFAULT_FAILURE_RATE_THRESHOLD, DEFAULT_SLOW_REQUEST_THRESHOLD,
+      DEFAULT_OPEN_STATE_DURATION, DEFAULT_TRIAL_REQUESTS);
+  }
+
+  /**
+   * @param slidingWindowSize amount of most recent requests the failure rate is calculated of
+   * @param failureRateThreshold rate of unhealthy requests (greater than 0 and up to 1) from which on the circuit opens
+   * @param slowRequestThreshold in milliseconds from which on a request is unhealthy
+   * @param openStateDuration in milliseconds until trial requests are permitted
+   * @param trialRequests amount of requests which are permitted while the circuit is half-open
+   */
+  public CircuitBreaker(int slidingWindowSize, float failureRateThreshold, long slowRequestThreshold, long openStateDuration, int trialRequests) {
+    if (slidingWindowSize <= 0) {
+      throw LOG.circuitBreakerSettingInvalidException("slidingWindowSize");
+    }
+    if (failureRateThreshold <= 0 || failureRateThreshold > 1) {
+      throw LOG.circuitBreakerSettingInvalidException("failureRateThreshold");
+    }
+    if (slowRequestThreshold <= 0) {
+      throw LOG.circuitBreakerSettingInvalidException("slowRequestThreshold");
+    }
+    if (openStateDuration <= 0) {
+      throw LOG.circuitBreakerSettingInvalidException("openStateDuration");
+    }
+    if (trialRequests <= 0) {
+      throw LOG.circuitBreakerSettingInvalidException("trialRequests");
+    }
+
+    this.slidingWindowSize = slidingWindowSize;
+    this.failureRateThreshold = failureRateThreshold;
+    this.slowRequestThreshold = slowRequestThreshold;
+    this.openStateDuration = openStateDuration;
+    this.trialRequests = trialRequests;
+
+    this.listeners = new CopyOnWriteArrayList<>();
+    this.state = CircuitBreakerState.CLOSED;
+    this.slidingWindow = new boolean[slidingWindowSize];
+  }
+
+  /**
+   * Must be invoked before each request, a permitted request must be followed by
+   * {@link #onSuccess(long)}, {@link #onFailure()} or {@link #onIgnored()}.
+   *
+   * @return {@code true} if the request is permitted to be performed
+   */
+  public synchronized boolean tryAcquirePermission() {
+    if (state == CircuitBreakerState.OPEN) {
+      if (getRemainingOpenStateDuration() > 0) {
+        return false;
+      }
+      transitionTo(CircuitBreakerState.HALF_OPEN);
+    }
+
+    if (state == CircuitBreakerState.HALF_OPEN) {
+      if (permittedTrialRequests >= trialRequests) {
+        return false;
+      }
+      permittedTrialRequests++;
+    }
+
+    return true;
+  }
+
+  /**
+   * @return {@code true} if a request would currently be permitted, without acquiring a permission
+   */
+  public synchronized boolean isRequestPermitted() {
+    switch (state) {
+      case OPEN:
+        return getRemainingOpenStateDuration() == 0;
+      case HALF_OPEN:
+        return permittedTrialRequests < trialRequests;
+      default:
+        return true;
+    }
+  }
+
+  /**
+   * Records a request which has been answered by the Workflow Engine.
+   *
+   * @param duration of the request in milliseconds, requests whose duration does not tell about
+   *                 the health of the Workflow Engine (e.g. long polling requests) pass {@code 0}
+   */
+  public void onSuccess(long duration) {
+    onResult(duration >= slowRequestThreshold);
+  }
+
+  /**
+   * Records a request which has failed due to a connection problem or a server error.
+   */
+  public void onFailure() {
+    onResult(true);
+  }
+
+  /**
+   * Releases the permission of a request whose outcome does not tell about the health of the
+   * Workflow Engine, e.g. because it has been aborted.
+   */
+  public synchronized void onIgnored() {
+    if (state == CircuitBreakerState.HALF_OPEN && permittedTrialRequests > healthyTrialRequests) {
+      permittedTrialRequests--;
+    }
+  }
+
+  protected synchronized void onResult(boolean isUnhealthy) {
+    switch (state) {
+      case CLOSED:
+        record(isUnhealthy);
+        if (recordedRequests == slidingWindowSize && unhealthyRequests >= failureRateThreshold * slidingWindowSize) {
+          transitionTo(CircuitBreakerState.OPEN);
+        }
+        break;
+      case HALF_OPEN:
+        if (isUnhealthy) {
+          transitionTo(CircuitBreakerState.OPEN);
+        }
+        else if (++healthyTrialRequests >= trialRequests) {
+          transitionTo(CircuitBreakerState.CLOSED);
+        }
+        break;
+      default:
+        // outcome of a request which has been permitted before the circuit opened
+    }
+  }
+
+  protected void record(boolean isUnhealthy) {
+    if (recordedRequests == slidingWindowSize) {
+      // the oldest outcome is replaced
+      if (slidingWindow[nextIndex]) {
+        unhealthyRequests--;
+      }
+    }
+    else {
+      recordedRequests++;
+    }
+
+    slidingWindow[nextIndex] = isUnhealthy;
+    if (isUnhealthy) {
+      unhealthyRequests++;
+    }
+    nextIndex = (nextIndex + 1) % slidingWindowSize;
+  }
+
+  protected void transitionTo(CircuitBreakerState newState) {
+    CircuitBreakerState oldState = state;
+    state = newState;
+
+    if (newState == CircuitBreakerState.OPEN) {
+      openedAt = System.currentTimeMillis();
+    }
+
+    recordedRequests = 0;
+    unhealthyRequests = 0;
+    nextIndex = 0;
+    permittedTrialRequests = 0;
+    healthyTrialRequests = 0;
+
+    LOG.circuitBreakerStateTransition(oldState, newState);
+
+    for (CircuitBreakerListener listener : listeners) {
+      try {
+        listener.onStateTransition(oldState, newState);
+      }
+      catch (Throwable e) {
+        LOG.exceptionWhileNotifyingCircuitBreakerListener(e);
+      }
+    }
+  }
+
+  public void addListener(CircuitBreakerListener listener) {
+    listeners.add(listener);
+  }
+
+  public void removeListener(CircuitBreakerListener listener) {
+    listeners.remove(listener);
+  }
+
+  public synchronized CircuitBreakerState getState() {
+    return state;
+  }
+
+  /**
+   * @return milliseconds until trial requests are permitted, {@code 0} if the circuit is not open
+   */
+  public synchronized long getRemainingOpenStateDuration() {
+    if (state != CircuitBreakerState.OPEN) {
+      return 0;
+    }
+
+    return Math.max(openedAt + openStateDuration - System.currentTimeMillis(), 0);
+  }
+
+  public int getSlidingWindowSize() {
+    return slidingWindowSize;
+  }
+
+  public float getFailureRateThreshold() {
+    return failureRateThreshold;
+  }
+
+  public long getSlowRequestThreshold() {
+    return slowRequestThreshold;
+  }
+
+  public long getOpenStateDuration() {
+    return openStateDuration;
+  }
+
+  public int getTrialRequests() {
+    return trialRequests;
+  }
+
+}
@@ -0,0 +1,37 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.circuitbreaker;
+
+/**
+ * <p>States of the {@link CircuitBreaker}</p>
+ *
+ * @author Tassilo Weidner
+ */
+public enum CircuitBreakerState {
+
+  /**
+   * Requests are performed and their outcomes are recorded
+   */
+  CLOSED,
+
+  /**
+   * Requests are rejected without being performed
+   */
+  OPEN,
+
+  /**
+   * A limited amount of trial requests is performed to decide whether to close or to open the circuit again
+   */
+  HALF_OPEN
+
+}
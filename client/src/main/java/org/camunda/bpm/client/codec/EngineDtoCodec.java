@@ -0,0 +1,491 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.codec;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.camunda.bpm.client.impl.variable.TypedValueField;
+import org.camunda.bpm.client.task.impl.ExternalTaskImpl;
+import org.camunda.bpm.client.task.impl.dto.BpmnErrorRequestDto;
+import org.camunda.bpm.client.task.impl.dto.CompleteRequestDto;
+import org.camunda.bpm.client.task.impl.dto.ExtendLockRequestDto;
+import org.camunda.bpm.client.task.impl.dto.FailureRequestDto;
+import org.camunda.bpm.client.topic.impl.dto.FetchAndLockRequestDto;
+import org.camunda.bpm.client.topic.impl.dto.TopicRequestDto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+
+/**
+ * <p>Reads fetched external tasks and writes the requests of the client with hand-written streaming
+ * code instead of bean introspection, which saves CPU time and allocations per request and avoids
+ * the warm-up of the object mapper.</p>
+ *
+ * <p>The produced JSON is the same as the one of the object mapper. Values of variables which are
+ * neither strings, booleans nor numbers, as well as dates given as text, are passed to the object mapper.</p>
+ *
+ * @author Tassilo Weidner
+ */
+public class EngineDtoCodec implements JsonCodec {
+
+  protected static final Set<Class<?>> ENCODED_TYPES = new HashSet<>(Arrays.asList(
+    FetchAndLockRequestDto.class,
+    CompleteRequestDto.class,
+    FailureRequestDto.class,
+    BpmnErrorRequestDto.class,
+    ExtendLockRequestDto.class
+  ));
+
+  public boolean canEncode(Class<?> type) {
+    return ENCODED_TYPES.contains(type);
+  }
+
+  public void encode(Object value, JsonGenerator generator) throws IOException {
+    if (value instanceof FetchAndLockRequestDto) {
+      writeFetchAndLockRequest((FetchAndLockRequestDto) value, generator);
+    }
+    else if (value instanceof CompleteRequestDto) {
+      writeCompleteRequest((CompleteRequestDto) value, generator);
+    }
+    else if (value instanceof FailureRequestDto) {
+      writeFailureRequest((FailureRequestDto) value, generator);
+    }
+    else if (value instanceof BpmnErrorRequestDto) {
+      writeBpmnErrorRequest((BpmnErrorRequestDto) value, generator);
+    }
+    else if (value instanceof ExtendLockRequestDto) {
+      writeExtendLockRequest((ExtendLockRequestDto) value, generator);
+    }
+    else {
+      generator.writeObject(value);
+    }
+  }
+
+  public boolean canDecode(Class<?> type) {
+    return type == ExternalTaskImpl[].class || type == ExternalTaskImpl.class;
+  }
+
+  public <T> T decode(JsonParser parser, Class<T> type) throws IOException {
+    if (type == ExternalTaskImpl[].class) {
+      return type.cast(readExternalTasks(parser));
+    }
+    else if (type == ExternalTaskImpl.class) {
+      return type.cast(readExternalTask(parser));
+    }
+    else {
+      return parser.readValueAs(type);
+    }
+  }
+
+  // requests //////////////////////////////////////////////////////////////
+
+  protected void writeFetchAndLockRequest(FetchAndLockRequestDto request, JsonGenerator generator) throws IOException {
+    // properties which are null are omitted as configured on the dto
+    generator.writeStartObject();
+    if (request.getWorkerId() != null) {
+      generator.writeStringField("workerId", request.getWorkerId());
+    }
+    generator.writeNumberField("maxTasks", request.getMaxTasks());
+    if (request.getAsyncResponseTimeout() != null) {
+      generator.writeNumberField("asyncResponseTimeout", request.getAsyncResponseTimeout());
+    }
+    if (request.getTopics() != null) {
+      generator.writeArrayFieldStart("topics");
+      for (TopicRequestDto topic : request.getTopics()) {
+        writeTopicRequest(topic, generator);
+      }
+      generator.writeEndArray();
+    }
+    generator.writeEndObject();
+  }
+
+  protected void writeTopicRequest(TopicRequestDto topic, JsonGenerator generator) throws IOException {
+    generator.writeStartObject();
+    generator.writeStringField("topicName", topic.getTopicName());
+    generator.writeNumberField("lockDuration", topic.getLockDuration());
+    writeStrings("variables", topic.getVariables(), generator);
+    generator.writeStringField("businessKey", topic.getBusinessKey());
+    generator.writeEndObject();
+  }
+
+  protected void writeCompleteRequest(CompleteRequestDto request, JsonGenerator generator) throws IOException {
+    generator.writeStartObject();
+    generator.writeStringField("workerId", request.getWorkerId());
+    writeVariables("variables", request.getVariables(), generator);
+    writeVariables("localVariables", request.getLocalVariables(), generator);
+    generator.writeEndObject();
+  }
+
+  protected void writeFailureRequest(FailureRequestDto request, JsonGenerator generator) throws IOException {
+    generator.writeStartObject();
+    generator.writeStringField("workerId", request.getWorkerId());
+    generator.writeStringField("errorMessage", request.getErrorMessage());
+    generator.writeStringField("errorDetails", request.getErrorDetails());
+    generator.writeNumberField("retries", request.getRetries());
+    generator.writeNumberField("retryTimeout", request.getRetryTimeout());
+    generator.writeEndObject();
+  }
+
+  protected void writeBpmnErrorRequest(BpmnErrorRequestDto request, JsonGenerator generator) throws IOException {
+    generator.writeStartObject();
+    generator.writeStringField("workerId", request.getWorkerId());
+    generator.writeStringField("errorCode", request.getErrorCode());
+    generator.writeEndObject();
+  }
+
+  protected void writeExtendLockRequest(ExtendLockRequestDto request, JsonGenerator generator) throws IOException {
+    generator.writeStartObject();
+    generator.writeStringField("workerId", request.getWorkerId());
+    generator.writeNumberField("newDuration", request.getNewDuration());
+    generator.writeEndObject();
+  }
+
+  protected void writeStrings(String fieldName, List<String> values, JsonGenerator generator) throws IOException {
+    generator.writeFieldName(fieldName);
+    if (values == null) {
+      generator.writeNull();
+      return;
+    }
+
+    generator.writeStartArray();
+    for (String value : values) {
+      generator.writeString(value);
+    }
+    generator.writeEndArray();
+  }
+
+  protected void writeVariables(String fieldName, Map<String, TypedValueField> variables, JsonGenerator generator) throws IOException {
+    generator.writeFieldName(fieldName);
+    if (variables == null) {
+      generator.writeNull();
+      return;
+    }
+
+    generator.writeStartObject();
+    for (Map.Entry<String, TypedValueField> variable : variables.entrySet()) {
+      generator.writeFieldName(variable.getKey());
+      writeTypedValueField(variable.getValue(), generator);
+    }
+    generator.writeEndObject();
+  }
+
+  protected void writeTypedValueField(TypedValueField typedValueField, JsonGenerator generator) throws IOException {
+    if (typedValueField == null) {
+      generator.writeNull();
+      return;
+    }
+
+    generator.writeStartObject();
+    generator.writeFieldName("value");
+    writeUntyped(typedValueField.getValue(), generator);
+    generator.writeStringField("type", typedValueField.getType());
+    generator.writeFieldName("valueInfo");
+    writeUntyped(typedValueField.getValueInfo(), generator);
+    generator.writeEndObject();
+  }
+
+  protected void writeUntyped(Object value, JsonGenerator generator) throws IOException {
+    if (value == null) {
+      generator.writeNull();
+    }
+    else if (value instanceof String) {
+      generator.writeString((String) value);
+    }
+    else if (value instanceof Boolean) {
+      generator.writeBoolean((Boolean) value);
+    }
+    else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+      generator.writeNumber(((Number) value).intValue());
+    }
+    else if (value instanceof Long) {
+      generator.writeNumber((Long) value);
+    }
+    else if (value instanceof Double) {
+      generator.writeNumber((Double) value);
+    }
+    else if (value instanceof Float) {
+      generator.writeNumber((Float) value);
+    }
+    else if (value instanceof BigDecimal) {
+      generator.writeNumber((BigDecimal) value);
+    }
+    else if (value instanceof BigInteger) {
+      generator.writeNumber((BigInteger) value);
+    }
+    else if (value instanceof Map) {
+      generator.writeStartObject();
+      for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        generator.writeFieldName(String.valueOf(entry.getKey()));
+        writeUntyped(entry.getValue(), generator);
+      }
+      generator.writeEndObject();
+    }
+    else {
+      generator.writeObject(value);
+    }
+  }
+
+  // responses /////////////////////////////////////////////////////////////
+
+  protected ExternalTaskImpl[] readExternalTasks(JsonParser parser) throws IOException {
+    if (parser.currentToken() == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    expectToken(parser, JsonToken.START_ARRAY);
+
+    List<ExternalTaskImpl> externalTasks = new ArrayList<>();
+    while (nextElement(parser)) {
+      externalTasks.add(readExternalTask(parser));
+    }
+
+    return externalTasks.toArray(new ExternalTaskImpl[0]);
+  }
+
+  protected ExternalTaskImpl readExternalTask(JsonParser parser) throws IOException {
+    if (parser.currentToken() == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    expectToken(parser, JsonToken.START_OBJECT);
+
+    ExternalTaskImpl externalTask = new ExternalTaskImpl();
+
+    String fieldName;
+    while ((fieldName = nextFieldName(parser)) != null) {
+      switch (fieldName) {
+        case "activityId":
+          externalTask.setActivityId(readString(parser));
+          break;
+        case "activityInstanceId":
+          externalTask.setActivityInstanceId(readString(parser));
+          break;
+        case "errorMessage":
+          externalTask.setErrorMessage(readString(parser));
+          break;
+        case "errorDetails":
+          externalTask.setErrorDetails(readString(parser));
+          break;
+        case "executionId":
+          externalTask.setExecutionId(readString(parser));
+          break;
+        case "id":
+          externalTask.setId(readString(parser));
+          break;
+        case "lockExpirationTime":
+          externalTask.setLockExpirationTime(readDate(parser));
+          break;
+        case "processDefinitionId":
+          externalTask.setProcessDefinitionId(readString(parser));
+          break;
+        case "processDefinitionKey":
+          externalTask.setProcessDefinitionKey(readString(parser));
+          break;
+        case "processInstanceId":
+          externalTask.setProcessInstanceId(readString(parser));
+          break;
+        case "retries":
+          externalTask.setRetries(readInteger(parser));
+          break;
+        case "suspended":
+          externalTask.setSuspended(readScalar(parser).getValueAsBoolean());
+          break;
+        case "workerId":
+          externalTask.setWorkerId(readString(parser));
+          break;
+        case "topicName":
+          externalTask.setTopicName(readString(parser));
+          break;
+        case "tenantId":
+          externalTask.setTenantId(readString(parser));
+          break;
+        case "priority":
+          externalTask.setPriority(readScalar(parser).getValueAsLong());
+          break;
+        case "variables":
+          externalTask.setVariables(readVariables(parser));
+          break;
+        case "businessKey":
+          externalTask.setBusinessKey(readString(parser));
+          break;
+        default:
+          // unknown properties are ignored like by the object mapper of the client
+          parser.skipChildren();
+      }
+    }
+
+    return externalTask;
+  }
+
+  protected Map<String, TypedValueField> readVariables(JsonParser parser) throws IOException {
+    if (parser.currentToken() == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    expectToken(parser, JsonToken.START_OBJECT);
+
+    Map<String, TypedValueField> variables = new LinkedHashMap<>();
+
+    String variableName;
+    while ((variableName = nextFieldName(parser)) != null) {
+      variables.put(variableName, readTypedValueField(parser));
+    }
+
+    return variables;
+  }
+
+  protected TypedValueField readTypedValueField(JsonParser parser) throws IOException {
+    if (parser.currentToken() == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    expectToken(parser, JsonToken.START_OBJECT);
+
+    TypedValueField typedValueField = new TypedValueField();
+
+    String fieldName;
+    while ((fieldName = nextFieldName(parser)) != null) {
+      switch (fieldName) {
+        case "value":
+          typedValueField.setValue(readUntyped(parser));
+          break;
+        case "type":
+          typedValueField.setType(readString(parser));
+          break;
+        case "valueInfo":
+          typedValueField.setValueInfo(readUntypedMap(parser));
+          break;
+        default:
+          parser.skipChildren();
+      }
+    }
+
+    return typedValueField;
+  }
+
+  protected Map<String, Object> readUntypedMap(JsonParser parser) throws IOException {
+    if (parser.currentToken() == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    expectToken(parser, JsonToken.START_OBJECT);
+
+    Map<String, Object> values = new LinkedHashMap<>();
+
+    String fieldName;
+    while ((fieldName = nextFieldName(parser)) != null) {
+      values.put(fieldName, readUntyped(parser));
+    }
+
+    return values;
+  }
+
+  protected Object readUntyped(JsonParser parser) throws IOException {
+    switch (parser.currentToken()) {
+      case VALUE_NULL:
+        return null;
+      case VALUE_STRING:
+        return parser.getText();
+      case VALUE_TRUE:
+        return Boolean.TRUE;
+      case VALUE_FALSE:
+        return Boolean.FALSE;
+      case VALUE_NUMBER_INT:
+        // Integer, Long or BigInteger depending on the magnitude
+        return parser.getNumberValue();
+      case VALUE_NUMBER_FLOAT:
+        return parser.getDoubleValue();
+      default:
+        return parser.readValueAs(Object.class);
+    }
+  }
+
+  protected String readString(JsonParser parser) throws IOException {
+    return readScalar(parser).getValueAsString();
+  }
+
+  protected Integer readInteger(JsonParser parser) throws IOException {
+    if (parser.currentToken() == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    return readScalar(parser).getValueAsInt();
+  }
+
+  protected Date readDate(JsonParser parser) throws IOException {
+    JsonToken token = parser.currentToken();
+    if (token == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    else if (token == JsonToken.VALUE_NUMBER_INT) {
+      return new Date(parser.getLongValue());
+    }
+    else {
+      // dates given as text are parsed with the date format of the object mapper
+      return parser.readValueAs(Date.class);
+    }
+  }
+
+  protected JsonParser readScalar(JsonParser parser) throws IOException {
+    if (!parser.currentToken().isScalarValue()) {
+      throw JsonMappingException.from(parser, "Unexpected token " + parser.currentToken() + ", expected a scalar value");
+    }
+    return parser;
+  }
+
+  /**
+   * Moves the parser to the value of the next field.
+   *
+   * @return the name of the field or {@code null} if the end of the object has been reached
+   */
+  protected String nextFieldName(JsonParser parser) throws IOException {
+    JsonToken token = parser.nextToken();
+    if (token == JsonToken.END_OBJECT) {
+      return null;
+    }
+    else if (token != JsonToken.FIELD_NAME) {
+      throw new JsonParseException(parser, "Unexpected token " + token + ", expected a field name");
+    }
+
+    String fieldName = parser.getCurrentName();
+    parser.nextToken();
+    return fieldName;
+  }
+
+  /**
+   * Moves the parser to the next element of an array.
+   *
+   * @return {@code false} if the end of the array has been reached
+   */
+  protected boolean nextElement(JsonParser parser) throws IOException {
+    JsonToken token = parser.nextToken();
+    if (token == null) {
+      throw new JsonParseException(parser, "Unexpected end of input, expected the end of an array");
+    }
+    return token != JsonToken.END_ARRAY;
+  }
+
+  protected void expectToken(JsonParser parser, JsonToken expectedToken) throws IOException {
+    if (parser.currentToken() != expectedToken) {
+      throw JsonMappingException.from(parser, "Unexpected token " + parser.currentToken() + ", expected " + expectedToken);
+    }
+  }
+
+}
@@ -0,0 +1,59 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.codec;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+
+/**
+ * <p>Reads and writes the bodies of requests to and responses of the Workflow Engine.</p>
+ *
+ * <p>Types which are not supported by a codec are read and written by the object mapper of the client,
+ * which is also available as codec of the given parsers and generators, e.g. by
+ * {@link JsonParser#readValueAs(Class)} and {@link JsonGenerator#writeObject(Object)}.</p>
+ *
+ * @author Tassilo Weidner
+ * @see EngineDtoCodec
+ */
+public interface JsonCodec {
+
+  /**
+   * @return {@code true} if values of the given type are written by this codec
+   */
+  boolean canEncode(Class<?> type);
+
+  /**
+   * Writes a value whose type is supported by this codec.
+   *
+   * @param value to write, never {@code null}
+   * @param generator to write the value to
+   */
+  void encode(Object value, JsonGenerator generator) throws IOException;
+
+  /**
+   * @return {@code true} if values of the given type are read by this codec
+   */
+  boolean canDecode(Class<?> type);
+
+  /**
+   * Reads a value whose type is supported by this codec.
+   *
+   * @param parser whose current token is the first token of the value
+   * @param type of the value
+   * @return the value
+   */
+  <T> T decode(JsonParser parser, Class<T> type) throws IOException;
+
+}
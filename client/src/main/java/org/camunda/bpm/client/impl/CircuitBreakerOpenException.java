@@ -0,0 +1,38 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.impl;
+
+/**
+ * Signals that a request has not been performed since the circuit breaker is open.
+ *
+ * @author Tassilo Weidner
+ */
+public class CircuitBreakerOpenException extends EngineClientException {
+
+  private static final long serialVersionUID = 1L;
+
+  protected final long remainingOpenStateDuration;
+
+  public CircuitBreakerOpenException(String message, long remainingOpenStateDuration) {
+    super(message);
+    this.remainingOpenStateDuration = remainingOpenStateDuration;
+  }
+
+  /**
+   * @return milliseconds until the circuit breaker permits trial requests again
+   */
+  public long getRemainingOpenStateDuration() {
+    return remainingOpenStateDuration;
+  }
+
+}
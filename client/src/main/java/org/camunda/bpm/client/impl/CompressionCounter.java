@@ -0,0 +1,123 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.impl;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.camunda.bpm.client.CompressionStats;
+
+/**
+ * <p>Counts the bytes of gzip compressed request and response bodies before and after compression.</p>
+ *
+ * <p>Responses are decompressed by the HTTP client, which is why they are counted by two response
+ * interceptors: one which runs before the response is decompressed and one which runs afterwards.</p>
+ *
+ * @author Tassilo Weidner
+ */
+public class CompressionCounter {
+
+  protected static final String GZIP_ENCODING = "gzip";
+  protected static final String COMPRESSED_RESPONSE_ATTRIBUTE = CompressionCounter.class.getName() + ".compressedResponse";
+
+  protected final LongAdder compressedResponseBytes = new LongAdder();
+  protected final LongAdder decompressedResponseBytes = new LongAdder();
+  protected final LongAdder compressedRequestBytes = new LongAdder();
+  protected final LongAdder uncompressedRequestBytes = new LongAdder();
+
+  /**
+   * @return an interceptor which has to run before the response is decompressed
+   */
+  public HttpResponseInterceptor compressedResponseInterceptor() {
+    return (response, context) -> {
+      HttpEntity entity = response.getEntity();
+      if (entity != null && isGzipEncoded(entity)) {
+        response.setEntity(new CountingEntity(entity, compressedResponseBytes));
+        context.setAttribute(COMPRESSED_RESPONSE_ATTRIBUTE, Boolean.TRUE);
+      }
+    };
+  }
+
+  /**
+   * @return an interceptor which has to run after the response has been decompressed
+   */
+  public HttpResponseInterceptor decompressedResponseInterceptor() {
+    return (response, context) -> {
+      HttpEntity entity = response.getEntity();
+      if (entity != null && context.removeAttribute(COMPRESSED_RESPONSE_ATTRIBUTE) != null) {
+        response.setEntity(new CountingEntity(entity, decompressedResponseBytes));
+      }
+    };
+  }
+
+  public void countCompressedRequest(long uncompressedBytes, long compressedBytes) {
+    uncompressedRequestBytes.add(uncompressedBytes);
+    compressedRequestBytes.add(compressedBytes);
+  }
+
+  public CompressionStats getStats() {
+    return new CompressionStats(compressedResponseBytes.sum(), decompressedResponseBytes.sum(),
+      compressedRequestBytes.sum(), uncompressedRequestBytes.sum());
+  }
+
+  protected boolean isGzipEncoded(HttpEntity entity) {
+    Header contentEncoding = entity.getContentEncoding();
+    return contentEncoding != null && GZIP_ENCODING.equalsIgnoreCase(contentEncoding.getValue());
+  }
+
+  /**
+   * Counts the bytes which are read from the content of the wrapped entity.
+   */
+  protected static class CountingEntity extends HttpEntityWrapper {
+
+    protected final LongAdder counter;
+
+    public CountingEntity(HttpEntity wrappedEntity, LongAdder counter) {
+      super(wrappedEntity);
+      this.counter = counter;
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+      return new FilterInputStream(super.getContent()) {
+
+        @Override
+        public int read() throws IOException {
+          int value = super.read();
+          if (value != -1) {
+            counter.increment();
+          }
+          return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+          int readBytes = super.read(buffer, offset, length);
+          if (readBytes > 0) {
+            counter.add(readBytes);
+          }
+          return readBytes;
+        }
+
+      };
+    }
+
+  }
+
+}
@@ -0,0 +1,108 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.impl;
+
+/**
+ * <p>Settings of the pool of HTTP connections to the Workflow Engine</p>
+ *
+ * <p>Settings which are {@code null} fall back to the defaults of the HTTP client.</p>
+ *
+ * @author Tassilo Weidner
+ */
+public class ConnectionPoolConfiguration {
+
+  protected Integer maxConnections;
+  protected Integer maxConnectionsPerRoute;
+  protected Long connectionTimeToLive;
+  protected Long keepAliveDuration;
+  protected Long maxIdleTime;
+  protected Integer validateAfterInactivity;
+  protected Integer maxFetchConnections;
+  protected Integer commandTimeout;
+
+  public Integer getMaxConnections() {
+    return maxConnections;
+  }
+
+  public void setMaxConnections(Integer maxConnections) {
+    this.maxConnections = maxConnections;
+  }
+
+  /**
+   * @return the maximum amount of connections per route, which defaults to the maximum amount of
+   * connections in total since the client usually talks to a single Workflow Engine
+   */
+  public Integer getMaxConnectionsPerRoute() {
+    return maxConnectionsPerRoute != null ? maxConnectionsPerRoute : maxConnections;
+  }
+
+  public void setMaxConnectionsPerRoute(Integer maxConnectionsPerRoute) {
+    this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+  }
+
+  public Long getConnectionTimeToLive() {
+    return connectionTimeToLive;
+  }
+
+  public void setConnectionTimeToLive(Long connectionTimeToLive) {
+    this.connectionTimeToLive = connectionTimeToLive;
+  }
+
+  public Long getKeepAliveDuration() {
+    return keepAliveDuration;
+  }
+
+  public void setKeepAliveDuration(Long keepAliveDuration) {
+    this.keepAliveDuration = keepAliveDuration;
+  }
+
+  public Long getMaxIdleTime() {
+    return maxIdleTime;
+  }
+
+  public void setMaxIdleTime(Long maxIdleTime) {
+    this.maxIdleTime = maxIdleTime;
+  }
+
+  public Integer getValidateAfterInactivity() {
+    return validateAfterInactivity;
+  }
+
+  public void setValidateAfterInactivity(Integer validateAfterInactivity) {
+    this.validateAfterInactivity = validateAfterInactivity;
+  }
+
+  /**
+   * @return the size of the separate pool for fetch and lock requests, which need at most
+   * one connection per task acquisition thread
+   */
+  public Integer getMaxFetchConnections() {
+    return maxFetchConnections;
+  }
+
+  public void setMaxFetchConnections(Integer maxFetchConnections) {
+    this.maxFetchConnections = maxFetchConnections;
+  }
+
+  /**
+   * @return the timeout in milliseconds of all requests but fetch and lock requests
+   */
+  public Integer getCommandTimeout() {
+    return commandTimeout;
+  }
+
+  public void setCommandTimeout(Integer commandTimeout) {
+    this.commandTimeout = commandTimeout;
+  }
+
+}
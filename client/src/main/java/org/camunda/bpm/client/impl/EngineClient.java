@@ -15,7 +15,18 @@ package org.camunda.bpm.client.impl;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
+import org.camunda.bpm.client.CompressionStats;
+import org.camunda.bpm.client.ConnectionPoolStats;
 import org.camunda.bpm.client.impl.variable.TypedValueField;
 import org.camunda.bpm.client.impl.variable.TypedValues;
 import org.camunda.bpm.client.task.ExternalTask;
@@ -32,6 +43,11 @@ import org.camunda.bpm.client.topic.impl.dto.TopicRequestDto;
  */
 public class EngineClient {
 
+  protected static final EngineClientLogger LOG = ExternalTaskClientLogger.ENGINE_CLIENT_LOGGER;
+
+  protected static final int DEFAULT_ASYNC_THREAD_POOL_SIZE = 100;
+  protected static final long ASYNC_THREAD_KEEP_ALIVE_TIME = 60_000;
+
   protected static final String EXTERNAL_TASK_RESOURCE_PATH = "/external-task";
   protected static final String FETCH_AND_LOCK_RESOURCE_PATH = EXTERNAL_TASK_RESOURCE_PATH + "/fetchAndLock";
   public static final String ID_PATH_PARAM = "{id}";
@@ -48,6 +64,18 @@ public class EngineClient {
   protected Long asyncResponseTimeout;
   protected RequestExecutor engineInteraction;
   protected TypedValues typedValues;
+  protected ExecutorService asyncExecutor;
+  protected boolean isAsyncExecutorCreated;
+  protected Integer maxAsyncRequests;
+  protected Semaphore asyncRequestPermits;
+
+  // precompiled, so that building a url does not parse its template
+  protected String fetchAndLockUrl;
+  protected ResourceUrlTemplate unlockUrl;
+  protected ResourceUrlTemplate completeUrl;
+  protected ResourceUrlTemplate failureUrl;
+  protected ResourceUrlTemplate bpmnErrorUrl;
+  protected ResourceUrlTemplate extendLockUrl;
 
   public EngineClient(String workerId, int maxTasks, Long asyncResponseTimeout, String baseUrl, RequestExecutor engineInteraction, TypedValues typedValues) {
     this.workerId = workerId;
@@ -56,52 +84,264 @@ public class EngineClient {
     this.engineInteraction = engineInteraction;
     this.baseUrl = baseUrl;
     this.typedValues = typedValues;
+
+    this.fetchAndLockUrl = baseUrl + FETCH_AND_LOCK_RESOURCE_PATH;
+    this.unlockUrl = new ResourceUrlTemplate(baseUrl, UNLOCK_RESOURCE_PATH);
+    this.completeUrl = new ResourceUrlTemplate(baseUrl, COMPLETE_RESOURCE_PATH);
+    this.failureUrl = new ResourceUrlTemplate(baseUrl, FAILURE_RESOURCE_PATH);
+    this.bpmnErrorUrl = new ResourceUrlTemplate(baseUrl, BPMN_ERROR_RESOURCE_PATH);
+    this.extendLockUrl = new ResourceUrlTemplate(baseUrl, EXTEND_LOCK_RESOURCE_PATH);
   }
 
   public List<ExternalTask> fetchAndLock(List<TopicRequestDto> topics) throws EngineClientException {
+    return fetchAndLock(topics, maxTasks);
+  }
+
+  public List<ExternalTask> fetchAndLock(List<TopicRequestDto> topics, int maxTasks) throws EngineClientException {
+    return fetchAndLock(topics, maxTasks, asyncResponseTimeout);
+  }
+
+  public List<ExternalTask> fetchAndLock(List<TopicRequestDto> topics, int maxTasks, Long asyncResponseTimeout) throws EngineClientException {
+    byte[] payload = serializeFetchAndLockRequest(topics, maxTasks, asyncResponseTimeout);
+    return fetchAndLock(payload);
+  }
+
+  /**
+   * Serializes a fetch and lock request, so that the request body can be reused for subsequent requests.
+   */
+  public byte[] serializeFetchAndLockRequest(List<TopicRequestDto> topics, int maxTasks, Long asyncResponseTimeout) throws EngineClientException {
     FetchAndLockRequestDto payload = new FetchAndLockRequestDto(workerId, maxTasks, asyncResponseTimeout, topics);
-    String resourceUrl = baseUrl + FETCH_AND_LOCK_RESOURCE_PATH;
-    ExternalTask[] externalTasks = engineInteraction.postRequest(resourceUrl, payload, ExternalTaskImpl[].class);
+    return engineInteraction.serialize(payload);
+  }
+
+  public List<ExternalTask> fetchAndLock(byte[] serializedPayload) throws EngineClientException {
+    String resourceUrl = fetchAndLockUrl;
+    ExternalTask[] externalTasks = engineInteraction.postFetchRequest(resourceUrl, serializedPayload, ExternalTaskImpl[].class);
     return Arrays.asList(externalTasks);
   }
 
+  /**
+   * Passes each fetched external task to the consumer as soon as it has been parsed from the
+   * response, while the remaining tasks are still being received.
+   *
+   * @return the amount of received external tasks
+   */
+  public int fetchAndLock(byte[] serializedPayload, Consumer<ExternalTask> externalTaskConsumer) throws EngineClientException {
+    String resourceUrl = fetchAndLockUrl;
+    return engineInteraction.postFetchRequest(resourceUrl, serializedPayload, ExternalTaskImpl.class, externalTaskConsumer);
+  }
+
+  /**
+   * Aborts all pending fetch and lock requests, which then fail with an {@link EngineClientException}.
+   */
+  public void abortFetchAndLock() {
+    engineInteraction.abortPendingRequests();
+  }
+
+  public ConnectionPoolStats getConnectionPoolStats() {
+    return engineInteraction.getConnectionPoolStats();
+  }
+
+  public ConnectionPoolStats getFetchConnectionPoolStats() {
+    return engineInteraction.getFetchConnectionPoolStats();
+  }
+
+  public CompressionStats getCompressionStats() {
+    return engineInteraction.getCompressionStats();
+  }
+
   public void unlock(String taskId) throws EngineClientException {
-    String resourcePath = UNLOCK_RESOURCE_PATH.replace("{id}", taskId);
-    String resourceUrl = baseUrl + resourcePath;
+    String resourceUrl = unlockUrl.expand(taskId);
     engineInteraction.postRequest(resourceUrl, null, Void.class);
   }
 
   public void complete(String taskId, Map<String, Object> variables, Map<String, Object> localVariables) throws EngineClientException {
+    complete(taskId, createCompleteRequest(variables, localVariables));
+  }
+
+  protected void complete(String taskId, CompleteRequestDto payload) throws EngineClientException {
+    String resourceUrl = completeUrl.expand(taskId);
+    engineInteraction.postRequest(resourceUrl, payload, Void.class);
+  }
+
+  protected CompleteRequestDto createCompleteRequest(Map<String, Object> variables, Map<String, Object> localVariables) {
     Map<String, TypedValueField> typedValueDtoMap = typedValues.serializeVariables(variables);
     Map<String, TypedValueField> localTypedValueDtoMap = typedValues.serializeVariables(localVariables);
 
-    CompleteRequestDto payload = new CompleteRequestDto(workerId, typedValueDtoMap, localTypedValueDtoMap);
-    String resourcePath = COMPLETE_RESOURCE_PATH.replace("{id}", taskId);
-    String resourceUrl = baseUrl + resourcePath;
-    engineInteraction.postRequest(resourceUrl, payload, Void.class);
+    return new CompleteRequestDto(workerId, typedValueDtoMap, localTypedValueDtoMap);
   }
 
   public void failure(String taskId, String errorMessage, String errorDetails, int retries, long retryTimeout) throws EngineClientException {
     FailureRequestDto payload = new FailureRequestDto(workerId, errorMessage, errorDetails, retries, retryTimeout);
-    String resourcePath = FAILURE_RESOURCE_PATH.replace("{id}", taskId);
-    String resourceUrl = baseUrl + resourcePath;
+    String resourceUrl = failureUrl.expand(taskId);
     engineInteraction.postRequest(resourceUrl, payload, Void.class);
   }
 
   public void bpmnError(String taskId, String errorCode) throws EngineClientException {
     BpmnErrorRequestDto payload = new BpmnErrorRequestDto(workerId, errorCode);
-    String resourcePath = BPMN_ERROR_RESOURCE_PATH.replace("{id}", taskId);
-    String resourceUrl = baseUrl + resourcePath;
+    String resourceUrl = bpmnErrorUrl.expand(taskId);
     engineInteraction.postRequest(resourceUrl, payload, Void.class);
   }
 
   public void extendLock(String taskId, long newDuration) throws EngineClientException {
     ExtendLockRequestDto payload = new ExtendLockRequestDto(workerId, newDuration);
-    String resourcePath = EXTEND_LOCK_RESOURCE_PATH.replace("{id}", taskId);
-    String resourceUrl = baseUrl + resourcePath;
+    String resourceUrl = extendLockUrl.expand(taskId);
     engineInteraction.postRequest(resourceUrl, payload, Void.class);
   }
 
+  public CompletableFuture<List<ExternalTask>> fetchAndLockAsync(List<TopicRequestDto> topics, int maxTasks, Long asyncResponseTimeout) {
+    return executeAsync(() -> fetchAndLock(topics, maxTasks, asyncResponseTimeout));
+  }
+
+  public CompletableFuture<List<ExternalTask>> fetchAndLockAsync(byte[] serializedPayload) {
+    return executeAsync(() -> fetchAndLock(serializedPayload));
+  }
+
+  public CompletableFuture<Void> unlockAsync(String taskId) {
+    return executeAsync(() -> {
+      unlock(taskId);
+      return null;
+    });
+  }
+
+  /**
+   * Serializes the variables on the calling thread, so that the caller is free to change them
+   * once this method has returned.
+   */
+  public CompletableFuture<Void> completeAsync(String taskId, Map<String, Object> variables, Map<String, Object> localVariables) {
+    CompleteRequestDto payload;
+    try {
+      payload = createCompleteRequest(variables, localVariables);
+    } catch (RuntimeException e) {
+      CompletableFuture<Void> future = new CompletableFuture<>();
+      future.completeExceptionally(e);
+      return future;
+    }
+
+    return executeAsync(() -> {
+      complete(taskId, payload);
+      return null;
+    });
+  }
+
+  public CompletableFuture<Void> failureAsync(String taskId, String errorMessage, String errorDetails, int retries, long retryTimeout) {
+    return executeAsync(() -> {
+      failure(taskId, errorMessage, errorDetails, retries, retryTimeout);
+      return null;
+    });
+  }
+
+  public CompletableFuture<Void> bpmnErrorAsync(String taskId, String errorCode) {
+    return executeAsync(() -> {
+      bpmnError(taskId, errorCode);
+      return null;
+    });
+  }
+
+  public CompletableFuture<Void> extendLockAsync(String taskId, long newDuration) {
+    return executeAsync(() -> {
+      extendLock(taskId, newDuration);
+      return null;
+    });
+  }
+
+  /**
+   * Performs an engine call on the asynchronous executor. The returned future is completed
+   * exceptionally with an {@link EngineClientException} if the call fails or if the maximum amount
+   * of asynchronous calls is already in flight, so that the calling thread is never blocked.
+   */
+  protected <T> CompletableFuture<T> executeAsync(EngineCall<T> engineCall) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+
+    Semaphore permits = asyncRequestPermits;
+    if (permits != null) {
+      if (!permits.tryAcquire()) {
+        future.completeExceptionally(LOG.maxAsyncRequestsExceededException(maxAsyncRequests));
+        return future;
+      }
+
+      future.whenComplete((value, exception) -> permits.release());
+    }
+
+    try {
+      getAsyncExecutor().execute(() -> {
+        try {
+          future.complete(engineCall.execute());
+        } catch (Throwable e) {
+          future.completeExceptionally(e);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      future.completeExceptionally(e);
+    }
+
+    return future;
+  }
+
+  /**
+   * @param maxAsyncRequests which are in flight at the same time, {@code null} for no limit
+   */
+  public void setMaxAsyncRequests(Integer maxAsyncRequests) {
+    this.maxAsyncRequests = maxAsyncRequests;
+    this.asyncRequestPermits = maxAsyncRequests != null ? new Semaphore(maxAsyncRequests) : null;
+  }
+
+  /**
+   * @return the amount of asynchronous calls which can be started right away, or {@code -1} if not limited
+   */
+  public int getAvailableAsyncRequests() {
+    return asyncRequestPermits != null ? asyncRequestPermits.availablePermits() : -1;
+  }
+
+  /**
+   * @return the executor of asynchronous engine calls; unless configured, virtual threads are used
+   * if the JVM supports them, so that pending calls do not pin platform threads, otherwise a thread
+   * pool which is bounded by the maximum amount of asynchronous calls in flight
+   */
+  public synchronized ExecutorService getAsyncExecutor() {
+    if (asyncExecutor == null || (isAsyncExecutorCreated && asyncExecutor.isShutdown())) {
+      asyncExecutor = createDefaultAsyncExecutor();
+      isAsyncExecutorCreated = true;
+    }
+    return asyncExecutor;
+  }
+
+  public synchronized void setAsyncExecutor(ExecutorService asyncExecutor) {
+    this.asyncExecutor = asyncExecutor;
+    this.isAsyncExecutorCreated = false;
+  }
+
+  /**
+   * Shuts down the executor of asynchronous engine calls if it has been created by the client.
+   * Pending calls are still performed, and a new executor is created once another asynchronous
+   * call is made. Executors which have been passed to the client are left untouched.
+   */
+  public synchronized void shutdownAsyncExecutor() {
+    if (isAsyncExecutorCreated && asyncExecutor != null) {
+      asyncExecutor.shutdown();
+    }
+  }
+
+  protected ExecutorService createDefaultAsyncExecutor() {
+    String threadNamePrefix = "EngineClient-";
+
+    try {
+      return VirtualThreads.createThreadPerTaskExecutor(threadNamePrefix);
+    } catch (Exception e) {
+      // each call blocks its thread, so that there is no point in more threads than calls in flight
+      int poolSize = maxAsyncRequests != null ? maxAsyncRequests : DEFAULT_ASYNC_THREAD_POOL_SIZE;
+      AtomicInteger threadCount = new AtomicInteger();
+      ThreadPoolExecutor threadPool = new ThreadPoolExecutor(poolSize, poolSize,
+        ASYNC_THREAD_KEEP_ALIVE_TIME, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+          Thread thread = new Thread(runnable, threadNamePrefix + threadCount.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+      threadPool.allowCoreThreadTimeOut(true);
+      return threadPool;
+    }
+  }
+
   public String getBaseUrl() {
     return baseUrl;
   }
@@ -110,4 +350,41 @@ public class EngineClient {
     return workerId;
   }
 
+  public Long getAsyncResponseTimeout() {
+    return asyncResponseTimeout;
+  }
+
+  public int getMaxTasks() {
+    return maxTasks;
+  }
+
+  @FunctionalInterface
+  protected interface EngineCall<T> {
+    T execute() throws EngineClientException;
+  }
+
+  /**
+   * Url of a resource whose path contains the id of an external task.
+   */
+  protected static class ResourceUrlTemplate {
+
+    protected final String prefix;
+    protected final String suffix;
+
+    public ResourceUrlTemplate(String baseUrl, String resourcePath) {
+      int idIndex = resourcePath.indexOf(ID_PATH_PARAM);
+      this.prefix = baseUrl + resourcePath.substring(0, idIndex);
+      this.suffix = resourcePath.substring(idIndex + ID_PATH_PARAM.length());
+    }
+
+    public String expand(String taskId) {
+      return new StringBuilder(prefix.length() + taskId.length() + suffix.length())
+        .append(prefix)
+        .append(taskId)
+        .append(suffix)
+        .toString();
+    }
+
+  }
+
 }
@@ -104,4 +104,14 @@ public class EngineClientLogger extends ExternalTaskClientLogger {
       "014", "Exception while deserializing object value '{}': object type '{}' is unknown", serializedValue, objectTypeName));
   }
 
+  protected CircuitBreakerOpenException circuitBreakerOpenException(HttpRequest httpRequest, long remainingOpenStateDuration) {
+    return new CircuitBreakerOpenException(exceptionMessage(
+      "015", "Request '{}' has not been performed: the circuit breaker is open", httpRequest), remainingOpenStateDuration);
+  }
+
+  protected EngineClientException maxAsyncRequestsExceededException(int maxAsyncRequests) {
+    return new EngineClientException(exceptionMessage(
+      "016", "Asynchronous request has not been performed: the maximum amount of {} requests is in flight", maxAsyncRequests));
+  }
+
 }
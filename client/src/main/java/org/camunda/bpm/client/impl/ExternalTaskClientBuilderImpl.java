@@ -15,13 +15,27 @@ package org.camunda.bpm.client.impl;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 import org.camunda.bpm.client.ClientBackOffStrategy;
 import org.camunda.bpm.client.ExternalTaskClient;
 import org.camunda.bpm.client.ExternalTaskClientBuilder;
+import org.camunda.bpm.client.circuitbreaker.CircuitBreaker;
+import org.camunda.bpm.client.codec.JsonCodec;
 import org.camunda.bpm.client.impl.variable.TypedValues;
 import org.camunda.bpm.client.impl.variable.ValueMappers;
 import org.camunda.bpm.client.impl.variable.mapper.DefaultValueMappers;
@@ -41,6 +55,11 @@ import org.camunda.bpm.client.impl.variable.mapper.serializable.SpinObjectValueM
 import org.camunda.bpm.client.impl.variable.mapper.serializable.XmlValueMapper;
 import org.camunda.bpm.client.interceptor.ClientRequestInterceptor;
 import org.camunda.bpm.client.interceptor.impl.RequestInterceptorHandler;
+import org.camunda.bpm.client.task.impl.CompletionRetryQueue;
+import org.camunda.bpm.client.topic.impl.AdaptiveMaxTasksController;
+import org.camunda.bpm.client.topic.impl.FetchGroup;
+import org.camunda.bpm.client.topic.impl.HandlerCapacity;
+import org.camunda.bpm.client.topic.impl.LockExtender;
 import org.camunda.bpm.client.topic.impl.TopicSubscriptionManager;
 import org.camunda.bpm.engine.variable.Variables;
 import org.camunda.spin.DataFormats;
@@ -78,13 +97,43 @@ public class ExternalTaskClientBuilderImpl implements ExternalTaskClientBuilder
   protected boolean isAutoFetchingEnabled;
   protected ClientBackOffStrategy backOffStrategy;
 
+  protected ExecutorService handlerExecutor;
+  protected Supplier<ExecutorService> handlerExecutorFactory;
+  protected Integer handlerThreadCount;
+  protected int handlerQueueCapacity;
+  protected RejectedExecutionHandler handlerRejectionPolicy;
+  protected boolean isUsingVirtualThreads;
+  protected boolean isUsingVirtualAcquisitionThread;
+  protected Integer maxConcurrentTasks;
+  protected ThreadFactory acquisitionThreadFactory;
+  protected boolean isPipelinedFetching;
+  protected boolean isStreamingFetch;
+  protected boolean isStreamingRequests;
+  protected Integer adaptiveMinMaxTasks;
+  protected Integer adaptiveMaxMaxTasks;
+  protected int concurrentFetches;
+  protected List<FetchGroup> fetchGroups;
+  protected Long maxLockDuration;
+  protected Long staleTaskThreshold;
+  protected ConnectionPoolConfiguration connectionPoolConfiguration;
+  protected ExecutorService asyncExecutor;
+  protected int maxAsyncRequests;
+  protected Integer requestCompressionThreshold;
+  protected JsonCodec jsonCodec;
+  protected CircuitBreaker circuitBreaker;
+  protected Integer completionRetryQueueCapacity;
+
   public ExternalTaskClientBuilderImpl() {
     // default values
     this.maxTasks = 10;
     this.asyncResponseTimeout = null;
     this.lockDuration = 20_000;
     this.isAutoFetchingEnabled = true;
+    this.concurrentFetches = 1;
+    this.fetchGroups = new ArrayList<>();
     this.interceptors = new ArrayList<>();
+    this.connectionPoolConfiguration = new ConnectionPoolConfiguration();
+    this.maxAsyncRequests = 100;
   }
 
   public ExternalTaskClientBuilder baseUrl(String baseUrl) {
@@ -127,6 +176,52 @@ public class ExternalTaskClientBuilderImpl implements ExternalTaskClientBuilder
     return this;
   }
 
+  public ExternalTaskClientBuilder handlerExecutor(ExecutorService handlerExecutor) {
+    this.handlerExecutor = handlerExecutor;
+    return this;
+  }
+
+  public ExternalTaskClientBuilder handlerThreadPool(int threadCount, int queueCapacity) {
+    return handlerThreadPool(threadCount, queueCapacity, new ThreadPoolExecutor.CallerRunsPolicy());
+  }
+
+  public ExternalTaskClientBuilder handlerThreadPool(int threadCount, int queueCapacity, RejectedExecutionHandler rejectionPolicy) {
+    this.handlerThreadCount = threadCount;
+    this.handlerQueueCapacity = queueCapacity;
+    this.handlerRejectionPolicy = rejectionPolicy;
+    return this;
+  }
+
+  public ExternalTaskClientBuilder useVirtualThreads() {
+    return useVirtualThreads(false);
+  }
+
+  public ExternalTaskClientBuilder useVirtualThreads(boolean includeTaskAcquisition) {
+    this.isUsingVirtualThreads = true;
+    this.isUsingVirtualAcquisitionThread = includeTaskAcquisition;
+    return this;
+  }
+
+  public ExternalTaskClientBuilder maxConcurrentTasks(int maxConcurrentTasks) {
+    this.maxConcurrentTasks = maxConcurrentTasks;
+    return this;
+  }
+
+  public ExternalTaskClientBuilder pipelinedFetching() {
+    this.isPipelinedFetching = true;
+    return this;
+  }
+
+  public ExternalTaskClientBuilder streamingFetch() {
+    this.isStreamingFetch = true;
+    return this;
+  }
+
+  public ExternalTaskClientBuilder streamingRequests() {
+    this.isStreamingRequests = true;
+    return this;
+  }
+
   public ExternalTaskClientBuilder defaultSerializationFormat(String defaultSerializationFormat) {
     this.defaultSerializationFormat = defaultSerializationFormat;
     return this;
@@ -137,6 +232,101 @@ public class ExternalTaskClientBuilderImpl implements ExternalTaskClientBuilder
     return this;
   }
 
+  public ExternalTaskClientBuilder adaptiveMaxTasks(int minMaxTasks, int maxMaxTasks) {
+    this.adaptiveMinMaxTasks = minMaxTasks;
+    this.adaptiveMaxMaxTasks = maxMaxTasks;
+    return this;
+  }
+
+  public ExternalTaskClientBuilder concurrentFetches(int concurrentFetches) {
+    this.concurrentFetches = concurrentFetches;
+    return this;
+  }
+
+  public ExternalTaskClientBuilder fetchGroup(String groupName, int maxTasks, long asyncResponseTimeout) {
+    return fetchGroup(groupName, maxTasks, asyncResponseTimeout, null);
+  }
+
+  public ExternalTaskClientBuilder fetchGroup(String groupName, int maxTasks, long asyncResponseTimeout, ClientBackOffStrategy backOffStrategy) {
+    this.fetchGroups.add(new FetchGroup(groupName, maxTasks, asyncResponseTimeout, backOffStrategy));
+    return this;
+  }
+
+  public ExternalTaskClientBuilder autoExtendLock(long maxLockDuration) {
+    this.maxLockDuration = maxLockDuration;
+    return this;
+  }
+
+  public ExternalTaskClientBuilder staleTaskThreshold(long minRemainingLockTime) {
+    this.staleTaskThreshold = minRemainingLockTime;
+    return this;
+  }
+
+  public ExternalTaskClientBuilder maxConnections(int maxConnections) {
+    connectionPoolConfiguration.setMaxConnections(maxConnections);
+    return this;
+  }
+
+  public ExternalTaskClientBuilder maxConnectionsPerRoute(int maxConnectionsPerRoute) {
+    connectionPoolConfiguration.setMaxConnectionsPerRoute(maxConnectionsPerRoute);
+    return this;
+  }
+
+  public ExternalTaskClientBuilder connectionTimeToLive(long connectionTimeToLive) {
+    connectionPoolConfiguration.setConnectionTimeToLive(connectionTimeToLive);
+    return this;
+  }
+
+  public ExternalTaskClientBuilder keepAliveDuration(long keepAliveDuration) {
+    connectionPoolConfiguration.setKeepAliveDuration(keepAliveDuration);
+    return this;
+  }
+
+  public ExternalTaskClientBuilder evictIdleConnections(long maxIdleTime) {
+    connectionPoolConfiguration.setMaxIdleTime(maxIdleTime);
+    return this;
+  }
+
+  public ExternalTaskClientBuilder validateAfterInactivity(int validateAfterInactivity) {
+    connectionPoolConfiguration.setValidateAfterInactivity(validateAfterInactivity);
+    return this;
+  }
+
+  public ExternalTaskClientBuilder commandTimeout(int commandTimeout) {
+    connectionPoolConfiguration.setCommandTimeout(commandTimeout);
+    return this;
+  }
+
+  public ExternalTaskClientBuilder asyncExecutor(ExecutorService asyncExecutor) {
+    this.asyncExecutor = asyncExecutor;
+    return this;
+  }
+
+  public ExternalTaskClientBuilder maxAsyncRequests(int maxAsyncRequests) {
+    this.maxAsyncRequests = maxAsyncRequests;
+    return this;
+  }
+
+  public ExternalTaskClientBuilder requestCompression(int thresholdInBytes) {
+    this.requestCompressionThreshold = thresholdInBytes;
+    return this;
+  }
+
+  public ExternalTaskClientBuilder jsonCodec(JsonCodec jsonCodec) {
+    this.jsonCodec = jsonCodec;
+    return this;
+  }
+
+  public ExternalTaskClientBuilder circuitBreaker(CircuitBreaker circuitBreaker) {
+    this.circuitBreaker = circuitBreaker;
+    return this;
+  }
+
+  public ExternalTaskClientBuilder completionRetries(int queueCapacity) {
+    this.completionRetryQueueCapacity = queueCapacity;
+    return this;
+  }
+
   public ExternalTaskClient build() {
     if (maxTasks <= 0) {
       throw LOG.maxTasksNotGreaterThanZeroException();
@@ -154,18 +344,65 @@ public class ExternalTaskClientBuilderImpl implements ExternalTaskClientBuilder
       throw LOG.baseUrlNullException();
     }
 
+    if (concurrentFetches <= 0) {
+      throw LOG.concurrentFetchesNotGreaterThanZeroException();
+    }
+
+    if (maxLockDuration != null && maxLockDuration <= 0) {
+      throw LOG.maxLockDurationNotGreaterThanZeroException();
+    }
+
+    if (staleTaskThreshold != null && staleTaskThreshold <= 0) {
+      throw LOG.staleTaskThresholdNotGreaterThanZeroException();
+    }
+
+    if (maxAsyncRequests <= 0) {
+      throw LOG.maxAsyncRequestsNotGreaterThanZeroException();
+    }
+
+    if (requestCompressionThreshold != null && requestCompressionThreshold < 0) {
+      throw LOG.requestCompressionThresholdNegativeException();
+    }
+
+    if (completionRetryQueueCapacity != null && completionRetryQueueCapacity <= 0) {
+      throw LOG.completionRetryQueueCapacityNotGreaterThanZeroException();
+    }
+
     checkInterceptors();
+    checkHandlerThreadPool();
+    checkHandlerConcurrency();
+    checkAdaptiveMaxTasks();
+    checkFetchGroups();
+    checkConnectionPool();
 
     initBaseUrl();
     initWorkerId();
     initObjectMapper();
     initVariableMappers();
     initEngineClient();
+    initHandlerExecutor();
     initTopicSubscriptionManager();
 
     return new ExternalTaskClientImpl(topicSubscriptionManager);
   }
 
+  protected void checkConnectionPool() {
+    ConnectionPoolConfiguration configuration = getConnectionPoolConfiguration();
+    checkGreaterThanZero(configuration.getMaxConnections(), "maxConnections");
+    checkGreaterThanZero(configuration.getMaxConnectionsPerRoute(), "maxConnectionsPerRoute");
+    checkGreaterThanZero(configuration.getConnectionTimeToLive(), "connectionTimeToLive");
+    checkGreaterThanZero(configuration.getKeepAliveDuration(), "keepAliveDuration");
+    checkGreaterThanZero(configuration.getMaxIdleTime(), "evictIdleConnections");
+    checkGreaterThanZero(configuration.getValidateAfterInactivity(), "validateAfterInactivity");
+    checkGreaterThanZero(configuration.getCommandTimeout(), "commandTimeout");
+  }
+
+  protected void checkGreaterThanZero(Number setting, String settingName) {
+    if (setting != null && setting.longValue() <= 0) {
+      throw LOG.connectionPoolSettingNotGreaterThanZeroException(settingName);
+    }
+  }
+
   protected void initBaseUrl() {
     baseUrl = sanitizeUrl(baseUrl);
   }
@@ -194,6 +431,67 @@ public class ExternalTaskClientBuilderImpl implements ExternalTaskClientBuilder
     });
   }
 
+  protected void checkHandlerThreadPool() {
+    if (handlerThreadCount == null) {
+      return;
+    }
+
+    if (handlerExecutor != null) {
+      throw LOG.handlerExecutorAndThreadPoolConfiguredException();
+    }
+
+    if (handlerThreadCount <= 0) {
+      throw LOG.handlerThreadCountNotGreaterThanZeroException();
+    }
+
+    if (handlerQueueCapacity < 0) {
+      throw LOG.handlerQueueCapacityNegativeException();
+    }
+  }
+
+  protected void checkHandlerConcurrency() {
+    if (isUsingVirtualThreads && (handlerExecutor != null || handlerThreadCount != null)) {
+      throw LOG.virtualThreadsAndHandlerExecutorConfiguredException();
+    }
+
+    if (maxConcurrentTasks != null && maxConcurrentTasks <= 0) {
+      throw LOG.maxConcurrentTasksNotGreaterThanZeroException();
+    }
+  }
+
+  protected void checkAdaptiveMaxTasks() {
+    if (adaptiveMinMaxTasks == null) {
+      return;
+    }
+
+    if (adaptiveMinMaxTasks <= 0 || adaptiveMaxMaxTasks < adaptiveMinMaxTasks) {
+      throw LOG.adaptiveMaxTasksBoundsInvalidException(adaptiveMinMaxTasks, adaptiveMaxMaxTasks);
+    }
+  }
+
+  protected void checkFetchGroups() {
+    Set<String> groupNames = new HashSet<>();
+
+    fetchGroups.forEach(fetchGroup -> {
+      String groupName = fetchGroup.getName();
+      if (groupName == null || groupName.isEmpty()) {
+        throw LOG.fetchGroupNameNullException();
+      }
+
+      if (!groupNames.add(groupName)) {
+        throw LOG.fetchGroupAlreadyConfiguredException(groupName);
+      }
+
+      if (fetchGroup.getMaxTasks() <= 0) {
+        throw LOG.maxTasksNotGreaterThanZeroException();
+      }
+
+      if (fetchGroup.getAsyncResponseTimeout() <= 0) {
+        throw LOG.asyncResponseTimeoutNotGreaterThanZeroException();
+      }
+    });
+  }
+
   protected void initObjectMapper() {
     objectMapper = new ObjectMapper();
     objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
@@ -226,14 +524,159 @@ public class ExternalTaskClientBuilderImpl implements ExternalTaskClientBuilder
   }
 
   protected void initEngineClient() {
+    // each task acquisition thread performs one fetch and lock request at a time
+    getConnectionPoolConfiguration().setMaxFetchConnections(getConcurrentFetches() + getFetchGroups().size());
+
     RequestInterceptorHandler requestInterceptorHandler = new RequestInterceptorHandler(interceptors);
-    RequestExecutor requestExecutor = new RequestExecutor(requestInterceptorHandler, objectMapper);
+    RequestExecutor requestExecutor = new RequestExecutor(requestInterceptorHandler, objectMapper, getConnectionPoolConfiguration());
+    requestExecutor.setStreamingRequests(isStreamingRequests());
+    requestExecutor.setRequestCompressionThreshold(getRequestCompressionThreshold());
+    requestExecutor.setJsonCodec(getJsonCodec());
+    requestExecutor.setCircuitBreaker(getCircuitBreaker());
     engineClient = new EngineClient(workerId, maxTasks, asyncResponseTimeout, baseUrl, requestExecutor, typedValues);
+
+    if (getAsyncExecutor() != null) {
+      engineClient.setAsyncExecutor(getAsyncExecutor());
+    }
+    engineClient.setMaxAsyncRequests(getMaxAsyncRequests());
+  }
+
+  protected void initHandlerExecutor() {
+    if (isUsingVirtualThreads) {
+      initVirtualThreads();
+    }
+    else if (handlerExecutor == null && handlerThreadCount != null) {
+      // the client creates its executor whenever it is started and shuts it down when it is stopped
+      handlerExecutorFactory = this::createHandlerThreadPool;
+    }
+  }
+
+  protected ExecutorService createHandlerThreadPool() {
+    BlockingQueue<Runnable> workQueue = handlerQueueCapacity > 0 ?
+      new LinkedBlockingQueue<>(handlerQueueCapacity) : new SynchronousQueue<>();
+
+    RejectedExecutionHandler rejectionPolicy = handlerRejectionPolicy != null ?
+      handlerRejectionPolicy : new ThreadPoolExecutor.CallerRunsPolicy();
+
+    ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(handlerThreadCount, handlerThreadCount,
+      60L, TimeUnit.SECONDS, workQueue, createHandlerThreadFactory(), rejectionPolicy);
+
+    // threads are released as soon as the client stops fetching
+    threadPoolExecutor.allowCoreThreadTimeOut(true);
+
+    return threadPoolExecutor;
+  }
+
+  protected void initVirtualThreads() {
+    if (!VirtualThreads.isSupported()) {
+      LOG.virtualThreadsNotSupported();
+      handlerExecutorFactory = this::createPlatformThreadExecutor;
+      return;
+    }
+
+    handlerExecutorFactory = this::createVirtualThreadExecutor;
+
+    if (isUsingVirtualAcquisitionThread) {
+      try {
+        acquisitionThreadFactory = VirtualThreads.createThreadFactory("TopicSubscriptionManager-");
+      } catch (Exception e) {
+        LOG.virtualThreadsNotSupported();
+      }
+    }
+  }
+
+  protected ExecutorService createVirtualThreadExecutor() {
+    try {
+      return VirtualThreads.createThreadPerTaskExecutor("ExternalTaskHandler-");
+    } catch (Exception e) {
+      // not expected, since the support of virtual threads has been checked when building the client
+      return createPlatformThreadExecutor();
+    }
+  }
+
+  /**
+   * Replaces virtual threads if the JVM does not support them. The pool is bounded by the maximum
+   * amount of concurrent tasks; if not specified, it is unbounded like virtual threads.
+   */
+  protected ExecutorService createPlatformThreadExecutor() {
+    if (getMaxConcurrentTasks() == null) {
+      return Executors.newCachedThreadPool(createHandlerThreadFactory());
+    }
+
+    int threadCount = getMaxConcurrentTasks();
+    ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(threadCount, threadCount,
+      60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), createHandlerThreadFactory());
+    threadPoolExecutor.allowCoreThreadTimeOut(true);
+
+    return threadPoolExecutor;
+  }
+
+  /**
+   * @return the amount of handlers which are executed in parallel at most
+   */
+  protected int getHandlerParallelism() {
+    if (getMaxConcurrentTasks() != null) {
+      return getMaxConcurrentTasks();
+    }
+    else if (handlerThreadCount != null) {
+      return handlerThreadCount;
+    }
+    else if (getHandlerExecutor() != null || handlerExecutorFactory != null) {
+      // unbounded executor: a batch is handled at once
+      return adaptiveMaxMaxTasks;
+    }
+    else {
+      return 1;
+    }
+  }
+
+  protected ThreadFactory createHandlerThreadFactory() {
+    AtomicInteger threadNumber = new AtomicInteger();
+    return runnable -> new Thread(runnable, "ExternalTaskHandler-" + threadNumber.incrementAndGet());
   }
 
   protected void initTopicSubscriptionManager() {
     topicSubscriptionManager = new TopicSubscriptionManager(engineClient, typedValues, lockDuration);
 
+    if (getHandlerExecutor() != null) {
+      topicSubscriptionManager.setHandlerExecutor(getHandlerExecutor());
+    }
+    topicSubscriptionManager.setHandlerExecutorFactory(handlerExecutorFactory);
+
+    if (getMaxConcurrentTasks() != null) {
+      topicSubscriptionManager.setHandlerCapacity(new HandlerCapacity(getMaxConcurrentTasks()));
+    }
+    else if (isPipelinedFetching()) {
+      int slots = isAdaptiveMaxTasks() ? adaptiveMaxMaxTasks : getMaxTasks();
+      topicSubscriptionManager.setHandlerCapacity(new HandlerCapacity(slots));
+    }
+
+    if (isAdaptiveMaxTasks()) {
+      AdaptiveMaxTasksController adaptiveMaxTasksController = new AdaptiveMaxTasksController(adaptiveMinMaxTasks,
+        adaptiveMaxMaxTasks, getMaxTasks(), getHandlerParallelism());
+      topicSubscriptionManager.setAdaptiveMaxTasksController(adaptiveMaxTasksController);
+    }
+
+    topicSubscriptionManager.setPipelinedFetching(isPipelinedFetching());
+    topicSubscriptionManager.setStreamingFetch(isStreamingFetch());
+    topicSubscriptionManager.setConcurrentFetches(getConcurrentFetches());
+    getFetchGroups().forEach(topicSubscriptionManager::addFetchGroup);
+
+    if (getMaxLockDuration() != null) {
+      topicSubscriptionManager.setLockExtender(new LockExtender(engineClient, getMaxLockDuration()));
+    }
+
+    topicSubscriptionManager.setStaleTaskThreshold(getStaleTaskThreshold());
+    topicSubscriptionManager.setCircuitBreaker(getCircuitBreaker());
+
+    if (getCompletionRetryQueueCapacity() != null) {
+      topicSubscriptionManager.setCompletionRetryQueue(new CompletionRetryQueue(getCompletionRetryQueueCapacity()));
+    }
+
+    if (acquisitionThreadFactory != null) {
+      topicSubscriptionManager.setAcquisitionThreadFactory(acquisitionThreadFactory);
+    }
+
     if (getBackOffStrategy() != null) {
       topicSubscriptionManager.setBackOffStrategy(getBackOffStrategy());
     }
@@ -348,6 +791,78 @@ public class ExternalTaskClientBuilderImpl implements ExternalTaskClientBuilder
     return backOffStrategy;
   }
 
+  protected ExecutorService getHandlerExecutor() {
+    return handlerExecutor;
+  }
+
+  protected Integer getMaxConcurrentTasks() {
+    return maxConcurrentTasks;
+  }
+
+  protected boolean isUsingVirtualThreads() {
+    return isUsingVirtualThreads;
+  }
+
+  public Long getMaxLockDuration() {
+    return maxLockDuration;
+  }
+
+  public int getMaxAsyncRequests() {
+    return maxAsyncRequests;
+  }
+
+  public Integer getRequestCompressionThreshold() {
+    return requestCompressionThreshold;
+  }
+
+  public JsonCodec getJsonCodec() {
+    return jsonCodec;
+  }
+
+  public CircuitBreaker getCircuitBreaker() {
+    return circuitBreaker;
+  }
+
+  public Integer getCompletionRetryQueueCapacity() {
+    return completionRetryQueueCapacity;
+  }
+
+  public ExecutorService getAsyncExecutor() {
+    return asyncExecutor;
+  }
+
+  public ConnectionPoolConfiguration getConnectionPoolConfiguration() {
+    return connectionPoolConfiguration;
+  }
+
+  public Long getStaleTaskThreshold() {
+    return staleTaskThreshold;
+  }
+
+  public List<FetchGroup> getFetchGroups() {
+    return fetchGroups;
+  }
+
+  public int getConcurrentFetches() {
+    return concurrentFetches;
+  }
+
+  protected boolean isAdaptiveMaxTasks() {
+    return adaptiveMinMaxTasks != null;
+  }
+
+  protected boolean isPipelinedFetching() {
+    return isPipelinedFetching;
+  }
+
+  protected boolean isStreamingFetch() {
+    return isStreamingFetch;
+  }
+
+  protected boolean isStreamingRequests() {
+    return isStreamingRequests;
+  }
+
   public String getDefaultSerializationFormat() {
     return defaultSerializationFormat;
   }
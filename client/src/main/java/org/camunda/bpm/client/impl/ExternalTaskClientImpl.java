@@ -12,6 +12,9 @@
  */
 package org.camunda.bpm.client.impl;
 
+import org.camunda.bpm.client.CompressionStats;
+import org.camunda.bpm.client.ConnectionPoolStats;
+import org.camunda.bpm.client.DrainResult;
 import org.camunda.bpm.client.ExternalTaskClient;
 import org.camunda.bpm.client.topic.TopicSubscriptionBuilder;
 import org.camunda.bpm.client.topic.impl.TopicSubscriptionBuilderImpl;
@@ -36,6 +39,10 @@ public class ExternalTaskClientImpl implements ExternalTaskClient {
     topicSubscriptionManager.stop();
   }
 
+  public DrainResult drain(long timeout) {
+    return topicSubscriptionManager.drain(timeout);
+  }
+
   public void start() {
     topicSubscriptionManager.start();
   }
@@ -44,6 +51,18 @@ public class ExternalTaskClientImpl implements ExternalTaskClient {
     return topicSubscriptionManager.isRunning();
   }
 
+  public ConnectionPoolStats getConnectionPoolStats() {
+    return topicSubscriptionManager.getEngineClient().getConnectionPoolStats();
+  }
+
+  public ConnectionPoolStats getFetchConnectionPoolStats() {
+    return topicSubscriptionManager.getEngineClient().getFetchConnectionPoolStats();
+  }
+
+  public CompressionStats getCompressionStats() {
+    return topicSubscriptionManager.getEngineClient().getCompressionStats();
+  }
+
   public TopicSubscriptionManager getTopicSubscriptionManager() {
     return topicSubscriptionManager;
   }
@@ -140,4 +140,150 @@ public class ExternalTaskClientLogger extends BaseLogger {
       "019", "Asynchronous response timeout must be greater than zero"));
   }
 
+  public ExternalTaskClientException handlerThreadCountNotGreaterThanZeroException() {
+    return new ExternalTaskClientException(exceptionMessage(
+      "020", "Thread count of the handler thread pool must be greater than zero"));
+  }
+
+  public ExternalTaskClientException handlerQueueCapacityNegativeException() {
+    return new ExternalTaskClientException(exceptionMessage(
+      "021", "Queue capacity of the handler thread pool cannot be negative"));
+  }
+
+  public ExternalTaskClientException handlerExecutorAndThreadPoolConfiguredException() {
+    return new ExternalTaskClientException(exceptionMessage(
+      "022", "Handler executor and handler thread pool cannot be configured at the same time"));
+  }
+
+  public ExternalTaskClientException maxConcurrentTasksNotGreaterThanZeroException() {
+    return new ExternalTaskClientException(exceptionMessage(
+      "023", "Maximum amount of concurrently handled tasks must be greater than zero"));
+  }
+
+  public ExternalTaskClientException virtualThreadsAndHandlerExecutorConfiguredException() {
+    return new ExternalTaskClientException(exceptionMessage(
+      "024", "Virtual threads cannot be combined with a handler executor or a handler thread pool"));
+  }
+
+  public void virtualThreadsNotSupported() {
+    logWarn(
+      "025", "Virtual threads are not supported by the running JVM, falling back to platform threads");
+  }
+
+  public ExternalTaskClientException maxConcurrencyNotGreaterThanZeroException() {
+    return new ExternalTaskClientException(exceptionMessage(
+      "026", "Maximum concurrency of a topic subscription must be greater than zero"));
+  }
+
+  public ExternalTaskClientException adaptiveMaxTasksBoundsInvalidException(int minMaxTasks, int maxMaxTasks) {
+    return new ExternalTaskClientException(exceptionMessage(
+      "027", "Bounds of adaptive maximum amount of tasks are invalid: minimum '{}' must be greater than zero and not greater than maximum '{}'",
+      minMaxTasks, maxMaxTasks));
+  }
+
+  public ExternalTaskClientException concurrentFetchesNotGreaterThanZeroException() {
+    return new ExternalTaskClientException(exceptionMessage(
+      "028", "Amount of concurrent fetch and lock requests must be greater than zero"));
+  }
+
+  public ExternalTaskClientException fetchGroupNotConfiguredException(String fetchGroupName) {
+    return new ExternalTaskClientException(exceptionMessage(
+      "029", "Fetch group '{}' has not been configured", fetchGroupName));
+  }
+
+  public ExternalTaskClientException fetchGroupNameNullException() {
+    return new ExternalTaskClientException(exceptionMessage(
+      "030", "Fetch group name must not be null or empty"));
+  }
+
+  public ExternalTaskClientException fetchGroupAlreadyConfiguredException(String fetchGroupName) {
+    return new ExternalTaskClientException(exceptionMessage(
+      "031", "Fetch group '{}' has already been configured", fetchGroupName));
+  }
+
+  public ExternalTaskClientException maxLockDurationNotGreaterThanZeroException() {
+    return new ExternalTaskClientException(exceptionMessage(
+      "032", "Maximum lock duration of automatic lock extension must be greater than zero"));
+  }
+
+  public ExternalTaskClientException staleTaskThresholdNotGreaterThanZeroException() {
+    return new ExternalTaskClientException(exceptionMessage(
+      "033", "Stale task threshold must be greater than zero"));
+  }
+
+  public ExternalTaskClientException connectionPoolSettingNotGreaterThanZeroException(String setting) {
+    return new ExternalTaskClientException(exceptionMessage(
+      "034", "Connection pool setting '{}' must be greater than zero", setting));
+  }
+
+  public ExternalTaskClientException maxAsyncRequestsNotGreaterThanZeroException() {
+    return new ExternalTaskClientException(exceptionMessage(
+      "035", "Maximum amount of asynchronous requests must be greater than zero"));
+  }
+
+  public ExternalTaskClientException requestCompressionThresholdNegativeException() {
+    return new ExternalTaskClientException(exceptionMessage(
+      "036", "Request compression threshold must not be negative"));
+  }
+
+  public ExternalTaskClientException accessTokenSupplierNullException() {
+    return new ExternalTaskClientException(exceptionMessage(
+      "037", "Access token supplier cannot be null"));
+  }
+
+  public ExternalTaskClientException oauth2ClientCredentialsNullException() {
+    return new ExternalTaskClientException(exceptionMessage(
+      "038", "OAuth2 client credentials (token endpoint url, client id, client secret) cannot be null"));
+  }
+
+  public ExternalTaskClientException invalidAccessTokenResponseException(String tokenEndpointUrl, String reason) {
+    return new ExternalTaskClientException(exceptionMessage(
+      "039", "Exception while requesting access token from '{}': {}", tokenEndpointUrl, reason));
+  }
+
+  public void accessTokenRefreshFailed(Throwable e) {
+    logWarn(
+      "040", "Exception while refreshing access token, the cached token is used as long as it is valid: {}", e.getMessage());
+  }
+
+  public ExternalTaskClientException accessTokenNotAvailableException(Throwable cause) {
+    return new ExternalTaskClientException(exceptionMessage(
+      "041", "No valid access token available"), cause);
+  }
+
+  public ExternalTaskClientException circuitBreakerSettingInvalidException(String setting) {
+    return new ExternalTaskClientException(exceptionMessage(
+      "042", "Circuit breaker setting '{}' must be greater than zero, a failure rate threshold must not be greater than 1", setting));
+  }
+
+  public void circuitBreakerStateTransition(Object fromState, Object toState) {
+    logInfo(
+      "043", "Circuit breaker changed from state '{}' to state '{}'", fromState, toState);
+  }
+
+  public void exceptionWhileNotifyingCircuitBreakerListener(Throwable e) {
+    logError(
+      "044", "Exception while notifying circuit breaker listener: {}", e);
+  }
+
+  public ExternalTaskClientException completionRetryQueueCapacityNotGreaterThanZeroException() {
+    return new ExternalTaskClientException(exceptionMessage(
+      "045", "Capacity of the completion retry queue must be greater than zero"));
+  }
+
+  public void completionRetryQueueFull(String actionName, String externalTaskId) {
+    logWarn(
+      "046", "Completion retry queue is full, {} '{}' is not retried", actionName, externalTaskId);
+  }
+
+  public void completionRetryAbandoned(String actionName, String externalTaskId, Throwable e) {
+    logWarn(
+      "047", "Stopped retrying {} '{}', the task is handled again once its lock has expired: {}", actionName, externalTaskId, e.getMessage());
+  }
+
+  public ExternalTaskClientException exponentialBackoffSettingInvalidException(String setting) {
+    return new ExternalTaskClientException(exceptionMessage(
+      "048", "Exponential backoff setting '{}' must not be negative, a factor must not be less than 1", setting));
+  }
+
 }
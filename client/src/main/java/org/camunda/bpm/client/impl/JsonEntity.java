@@ -0,0 +1,99 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ContentType;
+import org.camunda.bpm.client.codec.JsonCodec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * <p>Request body which serializes a request dto straight to the output stream of the connection,
+ * so that large request bodies are never held on the heap as a whole.</p>
+ *
+ * <p>Since the length of the body is not known in advance, it is sent with chunked transfer encoding.</p>
+ *
+ * @author Tassilo Weidner
+ */
+public class JsonEntity extends AbstractHttpEntity {
+
+  protected final RequestDto requestDto;
+  protected final ObjectMapper objectMapper;
+  protected final JsonCodec jsonCodec;
+
+  /**
+   * @param jsonCodec which writes the request dto if it supports its type, might be {@code null}
+   */
+  public JsonEntity(RequestDto requestDto, ObjectMapper objectMapper, JsonCodec jsonCodec) {
+    this.requestDto = requestDto;
+    this.objectMapper = objectMapper;
+    this.jsonCodec = jsonCodec;
+
+    setContentType(ContentType.APPLICATION_JSON.getMimeType());
+    setChunked(true);
+  }
+
+  @Override
+  public void writeTo(OutputStream outputStream) throws IOException {
+    // the connection closes the stream once the request has been sent
+    if (requestDto != null && jsonCodec != null && jsonCodec.canEncode(requestDto.getClass())) {
+      try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        jsonCodec.encode(requestDto, generator);
+      }
+    }
+    else {
+      objectMapper.writer()
+        .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+        .writeValue(outputStream, requestDto);
+    }
+  }
+
+  /**
+   * Serializes the request dto into memory, only needed if the body is read instead of being sent.
+   */
+  @Override
+  public InputStream getContent() throws IOException {
+    ByteArrayOutputStream content = new ByteArrayOutputStream();
+    writeTo(content);
+    return new ByteArrayInputStream(content.toByteArray());
+  }
+
+  @Override
+  public long getContentLength() {
+    return -1;
+  }
+
+  @Override
+  public boolean isRepeatable() {
+    return true;
+  }
+
+  @Override
+  public boolean isStreaming() {
+    return false;
+  }
+
+  public RequestDto getRequestDto() {
+    return requestDto;
+  }
+
+}
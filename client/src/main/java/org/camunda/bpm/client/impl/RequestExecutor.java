@@ -12,28 +12,48 @@
  */
 package org.camunda.bpm.client.impl;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
 
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
 import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
 import org.apache.http.client.ClientProtocolException;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.HttpResponseException;
 import org.apache.http.client.ResponseHandler;
+import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.HttpUriRequest;
-import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.client.methods.HttpPost;
 import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.impl.client.AbstractResponseHandler;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.message.BasicHeader;
+import org.apache.http.pool.PoolStats;
 import org.apache.http.util.EntityUtils;
+import org.camunda.bpm.client.CompressionStats;
+import org.camunda.bpm.client.ConnectionPoolStats;
+import org.camunda.bpm.client.circuitbreaker.CircuitBreaker;
+import org.camunda.bpm.client.codec.JsonCodec;
 import org.camunda.bpm.client.interceptor.impl.RequestInterceptorHandler;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -45,31 +65,176 @@ public class RequestExecutor {
   protected static final EngineClientLogger LOG = ExternalTaskClientLogger.ENGINE_CLIENT_LOGGER;
 
   protected static final Header HEADER_CONTENT_TYPE_JSON = new BasicHeader(HttpHeaders.CONTENT_TYPE, "application/json");
+  protected static final String GZIP_ENCODING = "gzip";
   protected static final Header HEADER_USER_AGENT = new BasicHeader(HttpHeaders.USER_AGENT, "Camunda External Task Client");
+  protected static final Header[] DEFAULT_HEADERS = { HEADER_USER_AGENT, HEADER_CONTENT_TYPE_JSON };
 
+  // performs all requests but fetch and lock
   protected HttpClient httpClient;
+  protected PoolingHttpClientConnectionManager connectionManager;
+
+  protected HttpClient fetchHttpClient;
+  protected PoolingHttpClientConnectionManager fetchConnectionManager;
+
   protected ObjectMapper objectMapper;
+  protected Set<HttpUriRequest> pendingRequests;
+  protected boolean isStreamingRequests;
+  protected Integer requestCompressionThreshold;
+  protected CompressionCounter compressionCounter;
+  protected JsonCodec jsonCodec;
+  protected CircuitBreaker circuitBreaker;
 
   protected RequestExecutor(RequestInterceptorHandler requestInterceptorHandler, ObjectMapper objectMapper) {
+    this(requestInterceptorHandler, objectMapper, new ConnectionPoolConfiguration());
+  }
+
+  protected RequestExecutor(RequestInterceptorHandler requestInterceptorHandler, ObjectMapper objectMapper, ConnectionPoolConfiguration connectionPoolConfiguration) {
     this.objectMapper = objectMapper;
+    this.pendingRequests = ConcurrentHashMap.newKeySet();
+    this.compressionCounter = new CompressionCounter();
 
-    initHttpClient(requestInterceptorHandler);
+    initConnectionManagers(connectionPoolConfiguration);
+    initHttpClients(requestInterceptorHandler, connectionPoolConfiguration);
   }
 
   protected <T> T postRequest(String resourceUrl, RequestDto requestDto, Class<T> responseDtoClass) throws EngineClientException {
-    ByteArrayEntity serializedRequest = serializeRequest(requestDto);
-    HttpUriRequest httpRequest = RequestBuilder.post(resourceUrl)
-      .addHeader(HEADER_USER_AGENT)
-      .addHeader(HEADER_CONTENT_TYPE_JSON)
-      .setEntity(serializedRequest)
-      .build();
-    
+    HttpEntity serializedRequest = isStreamingRequests ? new JsonEntity(requestDto, objectMapper, jsonCodec) : serializeRequest(requestDto);
+    return executePostRequest(resourceUrl, serializedRequest, responseDtoClass);
+  }
+
+  /**
+   * Performs a fetch and lock request on its own connection pool. The request can be aborted
+   * by {@link #abortPendingRequests()} while it is pending.
+   */
+  protected <T> T postFetchRequest(String resourceUrl, byte[] serializedRequest, Class<T> responseDtoClass) throws EngineClientException {
+    return executeFetchRequest(resourceUrl, serializedRequest, handleResponse(responseDtoClass));
+  }
+
+  /**
+   * Performs a fetch and lock request like {@link #postFetchRequest(String, byte[], Class)}, but parses
+   * the JSON array of the response incrementally and passes each element to the consumer right away.
+   *
+   * @return the amount of received elements
+   */
+  protected <T> int postFetchRequest(String resourceUrl, byte[] serializedRequest, Class<T> elementClass, Consumer<? super T> elementConsumer) throws EngineClientException {
+    return executeFetchRequest(resourceUrl, serializedRequest, handleStreamingResponse(elementClass, elementConsumer));
+  }
+
+  protected <T> T executeFetchRequest(String resourceUrl, byte[] serializedRequest, AbstractResponseHandler<T> responseHandler) throws EngineClientException {
+    HttpUriRequest httpRequest = createPostRequest(resourceUrl, new ByteArrayEntity(serializedRequest));
+
+    pendingRequests.add(httpRequest);
+    try {
+      // long polling requests are slow by design, so their duration is not recorded by the circuit breaker
+      return executeRequest(fetchHttpClient, httpRequest, handleFetchResponse(httpRequest, responseHandler), false);
+    } finally {
+      pendingRequests.remove(httpRequest);
+    }
+  }
+
+  /**
+   * Aborts the fetch and lock requests which have not received a response yet.
+   */
+  protected void abortPendingRequests() {
+    for (HttpUriRequest pendingRequest : pendingRequests) {
+      // a request is either aborted or its response is read, never both
+      if (pendingRequests.remove(pendingRequest)) {
+        pendingRequest.abort();
+      }
+    }
+  }
+
+  /**
+   * The tasks of a received response are locked for this client, so reading the response must not
+   * be aborted, otherwise the tasks which have not been read yet are neither handled nor unlocked.
+   */
+  protected <T> AbstractResponseHandler<T> handleFetchResponse(final HttpUriRequest httpRequest, final AbstractResponseHandler<T> responseHandler) {
+    return new AbstractResponseHandler<T>() {
+      @Override
+      public T handleResponse(HttpResponse response) throws IOException {
+        pendingRequests.remove(httpRequest);
+        return responseHandler.handleResponse(response);
+      }
+
+      @Override
+      public T handleEntity(HttpEntity responseEntity) throws IOException {
+        return responseHandler.handleEntity(responseEntity);
+      }
+    };
+  }
+
+  protected <T> T executePostRequest(String resourceUrl, HttpEntity serializedRequest, Class<T> responseDtoClass) throws EngineClientException {
+    HttpUriRequest httpRequest = createPostRequest(resourceUrl, serializedRequest);
     return executeRequest(httpRequest, responseDtoClass);
   }
 
+  protected HttpUriRequest createPostRequest(String resourceUrl, HttpEntity serializedRequest) {
+    // headers are immutable and shared by all requests
+    HttpPost httpRequest = new HttpPost(resourceUrl);
+    httpRequest.setHeaders(DEFAULT_HEADERS);
+    httpRequest.setEntity(serializedRequest);
+    return httpRequest;
+  }
+
   protected <T> T executeRequest(HttpUriRequest httpRequest, Class<T> responseDtoClass) throws EngineClientException {
+    return executeRequest(httpClient, httpRequest, responseDtoClass);
+  }
+
+  protected <T> T executeRequest(HttpClient httpClient, HttpUriRequest httpRequest, Class<T> responseDtoClass) throws EngineClientException {
+    return executeRequest(httpClient, httpRequest, handleResponse(responseDtoClass));
+  }
+
+  protected <T> T executeRequest(HttpClient httpClient, HttpUriRequest httpRequest, ResponseHandler<T> responseHandler) throws EngineClientException {
+    return executeRequest(httpClient, httpRequest, responseHandler, true);
+  }
+
+  protected <T> T executeRequest(HttpClient httpClient, HttpUriRequest httpRequest, ResponseHandler<T> responseHandler, boolean isDurationRecorded) throws EngineClientException {
+    if (circuitBreaker == null) {
+      return performRequest(httpClient, httpRequest, responseHandler);
+    }
+
+    if (!circuitBreaker.tryAcquirePermission()) {
+      throw LOG.circuitBreakerOpenException(httpRequest, circuitBreaker.getRemainingOpenStateDuration());
+    }
+
+    long startTime = System.currentTimeMillis();
     try {
-      return httpClient.execute(httpRequest, handleResponse(responseDtoClass));
+      T response = performRequest(httpClient, httpRequest, responseHandler);
+      circuitBreaker.onSuccess(isDurationRecorded ? System.currentTimeMillis() - startTime : 0);
+      return response;
+    } catch (EngineClientException e) {
+      if (isEngineUnavailable(httpRequest, e)) {
+        circuitBreaker.onFailure();
+      } else if (httpRequest.isAborted()) {
+        circuitBreaker.onIgnored();
+      } else {
+        // the engine has answered, e.g. with a client error
+        circuitBreaker.onSuccess(isDurationRecorded ? System.currentTimeMillis() - startTime : 0);
+      }
+      throw e;
+    } catch (RuntimeException e) {
+      circuitBreaker.onIgnored();
+      throw e;
+    }
+  }
+
+  /**
+   * @return {@code true} if the request has failed due to a connection problem or a server error
+   */
+  protected boolean isEngineUnavailable(HttpUriRequest httpRequest, EngineClientException e) {
+    Throwable cause = e.getCause();
+    if (cause instanceof HttpResponseException) {
+      int statusCode = ((HttpResponseException) cause).getStatusCode();
+      return statusCode >= 500 || statusCode == 429;
+    }
+
+    // pending fetch and lock requests are aborted on stop
+    return cause instanceof IOException && !httpRequest.isAborted();
+  }
+
+  protected <T> T performRequest(HttpClient httpClient, HttpUriRequest httpRequest, ResponseHandler<T> responseHandler) throws EngineClientException {
+    try {
+      return httpClient.execute(httpRequest, responseHandler);
     } catch (RuntimeException e) {
       Throwable cause = e.getCause();
       if (cause instanceof EngineClientException) {
@@ -77,6 +242,8 @@ public class RequestExecutor {
       } else {
         throw e;
       }
+    } catch (JsonProcessingException e) { // streamed request bodies are serialized while being sent
+      throw LOG.exceptionWhileSerializingJsonObject(getRequestDto(httpRequest));
     } catch (HttpResponseException e) { // catches >= 300 HTTP status responses
       throw LOG.exceptionWhileReceivingResponse(httpRequest, e);
     } catch (ClientProtocolException e) {
@@ -86,7 +253,18 @@ public class RequestExecutor {
     }
   }
 
-  protected <T> ResponseHandler<T> handleResponse(final Class<T> responseDtoClass) {
+  protected RequestDto getRequestDto(HttpUriRequest httpRequest) {
+    if (httpRequest instanceof HttpEntityEnclosingRequest) {
+      HttpEntity entity = ((HttpEntityEnclosingRequest) httpRequest).getEntity();
+      if (entity instanceof JsonEntity) {
+        return ((JsonEntity) entity).getRequestDto();
+      }
+    }
+
+    return null;
+  }
+
+  protected <T> AbstractResponseHandler<T> handleResponse(final Class<T> responseDtoClass) {
     return new AbstractResponseHandler<T>() {
       @Override
       public T handleEntity(HttpEntity responseEntity) {
@@ -110,9 +288,65 @@ public class RequestExecutor {
     };
   }
 
+  protected <T> AbstractResponseHandler<Integer> handleStreamingResponse(final Class<T> elementClass, final Consumer<? super T> elementConsumer) {
+    return new AbstractResponseHandler<Integer>() {
+      @Override
+      public Integer handleEntity(HttpEntity responseEntity) {
+        Integer receivedElements = null;
+        try {
+          receivedElements = deserializeStreamingResponse(responseEntity, elementClass, elementConsumer);
+        } catch (EngineClientException e) {
+          throw new RuntimeException(e);
+        } finally {
+          try {
+            EntityUtils.consume(responseEntity);
+          } catch (IOException e) {
+            LOG.exceptionWhileClosingResourceStream(receivedElements, e); // log without rethrow exception
+          }
+        }
+
+        return receivedElements;
+      }
+    };
+  }
+
+  protected <T> int deserializeStreamingResponse(HttpEntity httpEntity, Class<T> elementClass, Consumer<? super T> elementConsumer) throws EngineClientException {
+    try (JsonParser parser = objectMapper.getFactory().createParser(httpEntity.getContent())) {
+      if (parser.nextToken() != JsonToken.START_ARRAY) {
+        throw LOG.exceptionWhileParsingJsonObject(elementClass);
+      }
+
+      int receivedElements = 0;
+      while (parser.nextToken() == JsonToken.START_OBJECT) {
+        // elements received so far are passed on even if a later one cannot be parsed
+        elementConsumer.accept(readValue(parser, elementClass));
+        receivedElements++;
+      }
+
+      if (parser.currentToken() != JsonToken.END_ARRAY) {
+        throw LOG.exceptionWhileParsingJsonObject(elementClass);
+      }
+
+      return receivedElements;
+    } catch (JsonParseException e) {
+      throw LOG.exceptionWhileParsingJsonObject(elementClass);
+    } catch (JsonMappingException e) {
+      throw LOG.exceptionWhileMappingJsonObject(elementClass);
+    } catch (IOException e) {
+      throw LOG.exceptionWhileDeserializingJsonObject(elementClass);
+    }
+  }
+
   protected <T> T deserializeResponse(HttpEntity httpEntity, Class<T> responseDtoClass) throws EngineClientException {
     try {
       InputStream responseBody = httpEntity.getContent();
+      if (isDecodedByCodec(responseDtoClass)) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(responseBody)) {
+          parser.nextToken();
+          return jsonCodec.decode(parser, responseDtoClass);
+        }
+      }
+
       return objectMapper.readValue(responseBody, responseDtoClass);
     } catch (JsonParseException e) {
       throw LOG.exceptionWhileParsingJsonObject(responseDtoClass);
@@ -124,27 +358,214 @@ public class RequestExecutor {
   }
 
   protected ByteArrayEntity serializeRequest(RequestDto dto) throws EngineClientException {
-    byte[] serializedRequest = null;
+    byte[] serializedRequest = serialize(dto);
+
+    ByteArrayEntity byteArrayEntity = null;
+    if (serializedRequest != null && isCompressingRequest(serializedRequest)) {
+      byte[] compressedRequest = compress(dto, serializedRequest);
+      compressionCounter.countCompressedRequest(serializedRequest.length, compressedRequest.length);
+
+      byteArrayEntity = new ByteArrayEntity(compressedRequest);
+      byteArrayEntity.setContentEncoding(GZIP_ENCODING);
+    }
+    else if (serializedRequest != null) {
+      byteArrayEntity = new ByteArrayEntity(serializedRequest);
+    }
+
+    return byteArrayEntity;
+  }
+
+  protected boolean isCompressingRequest(byte[] serializedRequest) {
+    return requestCompressionThreshold != null && serializedRequest.length >= requestCompressionThreshold;
+  }
+
+  protected byte[] compress(RequestDto dto, byte[] serializedRequest) throws EngineClientException {
+    ByteArrayOutputStream compressedRequest = new ByteArrayOutputStream(serializedRequest.length / 2);
+    try (GZIPOutputStream gzipStream = new GZIPOutputStream(compressedRequest)) {
+      gzipStream.write(serializedRequest);
+    } catch (IOException e) {
+      throw LOG.exceptionWhileSerializingJsonObject(dto);
+    }
+
+    return compressedRequest.toByteArray();
+  }
+
+  protected <T> T readValue(JsonParser parser, Class<T> type) throws IOException {
+    if (isDecodedByCodec(type)) {
+      return jsonCodec.decode(parser, type);
+    }
 
+    return objectMapper.readValue(parser, type);
+  }
+
+  protected byte[] serialize(RequestDto dto) throws EngineClientException {
     try {
-      serializedRequest = objectMapper.writeValueAsBytes(dto);
-    } catch (JsonProcessingException e) {
+      if (dto != null && isEncodedByCodec(dto.getClass())) {
+        ByteArrayBuilder serializedDto = new ByteArrayBuilder();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(serializedDto)) {
+          jsonCodec.encode(dto, generator);
+        }
+        return serializedDto.toByteArray();
+      }
+
+      return objectMapper.writeValueAsBytes(dto);
+    } catch (IOException e) {
       throw LOG.exceptionWhileSerializingJsonObject(dto);
     }
+  }
 
-    ByteArrayEntity byteArrayEntity = null;
-    if (serializedRequest != null) {
-      byteArrayEntity = new ByteArrayEntity(serializedRequest);
+  protected boolean isEncodedByCodec(Class<?> type) {
+    return jsonCodec != null && jsonCodec.canEncode(type);
+  }
+
+  protected boolean isDecodedByCodec(Class<?> type) {
+    return jsonCodec != null && jsonCodec.canDecode(type);
+  }
+
+  protected void initConnectionManagers(ConnectionPoolConfiguration configuration) {
+    connectionManager = createConnectionManager(configuration, configuration.getMaxConnections(), configuration.getMaxConnectionsPerRoute());
+
+    // long polling requests do not compete with other requests for connections
+    Integer maxFetchConnections = configuration.getMaxFetchConnections();
+    fetchConnectionManager = createConnectionManager(configuration, maxFetchConnections, maxFetchConnections);
+  }
+
+  protected PoolingHttpClientConnectionManager createConnectionManager(ConnectionPoolConfiguration configuration, Integer maxConnections, Integer maxConnectionsPerRoute) {
+    PoolingHttpClientConnectionManager connectionManager;
+
+    Long timeToLive = configuration.getConnectionTimeToLive();
+    if (timeToLive != null) {
+      connectionManager = new PoolingHttpClientConnectionManager(timeToLive, TimeUnit.MILLISECONDS);
+    }
+    else {
+      connectionManager = new PoolingHttpClientConnectionManager();
     }
 
-    return byteArrayEntity;
+    if (maxConnections != null) {
+      connectionManager.setMaxTotal(maxConnections);
+    }
+
+    if (maxConnectionsPerRoute != null) {
+      connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+    }
+
+    if (configuration.getValidateAfterInactivity() != null) {
+      connectionManager.setValidateAfterInactivity(configuration.getValidateAfterInactivity());
+    }
+
+    return connectionManager;
+  }
+
+  protected void initHttpClients(RequestInterceptorHandler requestInterceptorHandler, ConnectionPoolConfiguration configuration) {
+    Integer commandTimeout = configuration.getCommandTimeout();
+
+    RequestConfig.Builder requestConfig = RequestConfig.custom();
+    if (commandTimeout != null) {
+      requestConfig.setConnectTimeout(commandTimeout)
+        .setConnectionRequestTimeout(commandTimeout)
+        .setSocketTimeout(commandTimeout);
+    }
+    this.httpClient = createHttpClient(requestInterceptorHandler, configuration, connectionManager, requestConfig.build());
+
+    // the socket timeout must not cut off long polling
+    RequestConfig.Builder fetchRequestConfig = RequestConfig.custom();
+    if (commandTimeout != null) {
+      fetchRequestConfig.setConnectTimeout(commandTimeout);
+    }
+    this.fetchHttpClient = createHttpClient(requestInterceptorHandler, configuration, fetchConnectionManager, fetchRequestConfig.build());
   }
 
-  protected void initHttpClient(RequestInterceptorHandler requestInterceptorHandler) {
+  protected HttpClient createHttpClient(RequestInterceptorHandler requestInterceptorHandler, ConnectionPoolConfiguration configuration,
+                                        PoolingHttpClientConnectionManager connectionManager, RequestConfig requestConfig) {
+    // responses are decompressed by the client, which announces gzip support by default
     HttpClientBuilder httpClientBuilder = HttpClients.custom()
-      .addInterceptorLast(requestInterceptorHandler);
+      .addInterceptorLast(requestInterceptorHandler)
+      .addInterceptorFirst(compressionCounter.compressedResponseInterceptor())
+      .addInterceptorLast(compressionCounter.decompressedResponseInterceptor())
+      .setConnectionManager(connectionManager)
+      .setDefaultRequestConfig(requestConfig);
+
+    Long keepAliveDuration = configuration.getKeepAliveDuration();
+    if (keepAliveDuration != null) {
+      httpClientBuilder = httpClientBuilder.setKeepAliveStrategy((response, context) -> {
+        // a shorter keep alive duration announced by the Workflow Engine takes precedence
+        long announcedDuration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+        return announcedDuration > 0 ? Math.min(announcedDuration, keepAliveDuration) : keepAliveDuration;
+      });
+    }
+
+    Long maxIdleTime = configuration.getMaxIdleTime();
+    if (maxIdleTime != null) {
+      httpClientBuilder = httpClientBuilder
+        .evictIdleConnections(maxIdleTime.longValue(), TimeUnit.MILLISECONDS)
+        .evictExpiredConnections();
+    }
+
+    return httpClientBuilder.build();
+  }
+
+  public boolean isStreamingRequests() {
+    return isStreamingRequests;
+  }
+
+  /**
+   * Serializes request bodies straight to the connection instead of into memory before sending them.
+   * Fetch and lock requests are not affected, since their request bodies are serialized once and reused.
+   */
+  public void setStreamingRequests(boolean isStreamingRequests) {
+    this.isStreamingRequests = isStreamingRequests;
+  }
+
+  public Integer getRequestCompressionThreshold() {
+    return requestCompressionThreshold;
+  }
+
+  /**
+   * Compresses request bodies with gzip whose size in bytes reaches the threshold, {@code null}
+   * to not compress request bodies. Streamed request bodies are never compressed.
+   */
+  public void setRequestCompressionThreshold(Integer requestCompressionThreshold) {
+    this.requestCompressionThreshold = requestCompressionThreshold;
+  }
+
+  public JsonCodec getJsonCodec() {
+    return jsonCodec;
+  }
+
+  /**
+   * Reads and writes the supported types with the given codec instead of the object mapper,
+   * {@code null} to use the object mapper only.
+   */
+  public void setJsonCodec(JsonCodec jsonCodec) {
+    this.jsonCodec = jsonCodec;
+  }
+
+  public CircuitBreaker getCircuitBreaker() {
+    return circuitBreaker;
+  }
+
+  /**
+   * @param circuitBreaker which guards all requests, might be {@code null}
+   */
+  public void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+    this.circuitBreaker = circuitBreaker;
+  }
+
+  protected CompressionStats getCompressionStats() {
+    return compressionCounter.getStats();
+  }
+
+  protected ConnectionPoolStats getConnectionPoolStats() {
+    return getConnectionPoolStats(connectionManager);
+  }
+
+  protected ConnectionPoolStats getFetchConnectionPoolStats() {
+    return getConnectionPoolStats(fetchConnectionManager);
+  }
 
-    this.httpClient = httpClientBuilder.build();
+  protected ConnectionPoolStats getConnectionPoolStats(PoolingHttpClientConnectionManager connectionManager) {
+    PoolStats totalStats = connectionManager.getTotalStats();
+    return new ConnectionPoolStats(totalStats.getLeased(), totalStats.getAvailable(), totalStats.getPending(), totalStats.getMax());
   }
 
 }
@@ -0,0 +1,74 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.impl;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * <p>Provides access to virtual threads which are only available on JDK 21+.
+ * Since the client is compiled against JDK 8, the API is accessed reflectively.</p>
+ *
+ * @author Tassilo Weidner
+ */
+public class VirtualThreads {
+
+  protected static final String THREAD_BUILDER_CLASS_NAME = "java.lang.Thread$Builder";
+
+  private VirtualThreads() {
+  }
+
+  /**
+   * @return {@code true} if the running JVM supports virtual threads
+   */
+  public static boolean isSupported() {
+    try {
+      createThreadFactory("VirtualThreadSupportCheck-");
+      return true;
+    } catch (Exception e) {
+      return false;
+    }
+  }
+
+  /**
+   * @param namePrefix of the created virtual threads which is followed by a sequence number
+   * @return a thread factory creating virtual threads
+   * @throws Exception if the running JVM does not support virtual threads
+   */
+  public static ThreadFactory createThreadFactory(String namePrefix) throws Exception {
+    Class<?> threadBuilderClass = Class.forName(THREAD_BUILDER_CLASS_NAME);
+
+    Object threadBuilder = Thread.class.getMethod("ofVirtual").invoke(null);
+
+    Method nameMethod = threadBuilderClass.getMethod("name", String.class, long.class);
+    threadBuilder = nameMethod.invoke(threadBuilder, namePrefix, 1L);
+
+    Method factoryMethod = threadBuilderClass.getMethod("factory");
+    return (ThreadFactory) factoryMethod.invoke(threadBuilder);
+  }
+
+  /**
+   * @param namePrefix of the created virtual threads which is followed by a sequence number
+   * @return an executor which starts a new virtual thread for each task
+   * @throws Exception if the running JVM does not support virtual threads
+   */
+  public static ExecutorService createThreadPerTaskExecutor(String namePrefix) throws Exception {
+    ThreadFactory threadFactory = createThreadFactory(namePrefix);
+
+    Method executorMethod = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+    return (ExecutorService) executorMethod.invoke(null, threadFactory);
+  }
+
+}
@@ -27,5 +27,15 @@ public interface ClientRequestInterceptor {
    */
   void intercept(ClientRequestContext requestContext);
 
+  /**
+   * Interceptors which add the same headers to each request can declare themselves static, so that
+   * they are invoked only once and the headers they have added are reused for subsequent requests.
+   *
+   * @return {@code true} if the interceptor adds the same headers to each request, {@code false} by default
+   */
+  default boolean isStatic() {
+    return false;
+  }
+
 }
 
@@ -0,0 +1,48 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.interceptor.auth;
+
+/**
+ * <p>Access token which is sent as bearer token by the {@link BearerTokenProvider}</p>
+ *
+ * @author Tassilo Weidner
+ */
+public class AccessToken {
+
+  public static final long NO_EXPIRATION = Long.MAX_VALUE;
+
+  protected String tokenValue;
+  protected long expirationTime;
+
+  /**
+   * @param tokenValue of the access token
+   * @param expirationTime in milliseconds since the epoch, {@link #NO_EXPIRATION} if the token does not expire
+   */
+  public AccessToken(String tokenValue, long expirationTime) {
+    this.tokenValue = tokenValue;
+    this.expirationTime = expirationTime;
+  }
+
+  public String getTokenValue() {
+    return tokenValue;
+  }
+
+  public long getExpirationTime() {
+    return expirationTime;
+  }
+
+  public boolean isExpired(long now) {
+    return expirationTime <= now;
+  }
+
+}
@@ -0,0 +1,32 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.interceptor.auth;
+
+/**
+ * <p>Obtains a new access token, e.g. from the token endpoint of an OAuth2 authorization server</p>
+ *
+ * @author Tassilo Weidner
+ */
+@FunctionalInterface
+public interface AccessTokenSupplier {
+
+  /**
+   * Is invoked by the {@link BearerTokenProvider} whenever the cached token needs to be refreshed,
+   * never concurrently.
+   *
+   * @return a new access token
+   * @throws Exception if no access token could be obtained
+   */
+  AccessToken getAccessToken() throws Exception;
+
+}
@@ -32,6 +32,7 @@ public class BasicAuthProvider implements ClientRequestInterceptor {
 
   protected String username;
   protected String password;
+  protected String authorizationHeader;
 
   public BasicAuthProvider(String username, String password) {
     if (username == null || password == null) {
@@ -40,14 +41,19 @@ public class BasicAuthProvider implements ClientRequestInterceptor {
 
     this.username = username;
     this.password = password;
+
+    String authToken = username + ":" + password;
+    this.authorizationHeader = "Basic " + encodeToBase64(authToken);
   }
 
   @Override
   public void intercept(ClientRequestContext requestContext) {
-    String authToken = username + ":" + password;
-    String encodedAuthToken = encodeToBase64(authToken);
+    requestContext.addHeader(AUTHORIZATION, authorizationHeader);
+  }
 
-    requestContext.addHeader(AUTHORIZATION, "Basic " + encodedAuthToken);
+  @Override
+  public boolean isStatic() {
+    return true;
   }
 
   protected String encodeToBase64(String decodedString) {
@@ -0,0 +1,227 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.interceptor.auth;
+
+import org.camunda.bpm.client.impl.ExternalTaskClientLogger;
+import org.camunda.bpm.client.interceptor.ClientRequestContext;
+import org.camunda.bpm.client.interceptor.ClientRequestInterceptor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.apache.http.HttpHeaders.AUTHORIZATION;
+
+/**
+ * <p>Provides bearer token authentication by using the request interceptor api.</p>
+ *
+ * <p>The access token is cached and refreshed in the background before it expires, so that requests
+ * are not delayed by obtaining a token. Only the first request and requests issued after the cached
+ * token has expired wait for a new token. Concurrent refreshes are deduplicated, so that the
+ * {@link AccessTokenSupplier} is never invoked concurrently.</p>
+ *
+ * <p>If a refresh fails, the cached token is used as long as it is valid and the refresh is retried.</p>
+ *
+ * @author Tassilo Weidner
+ */
+public class BearerTokenProvider implements ClientRequestInterceptor, AutoCloseable {
+
+  protected static final ExternalTaskClientLogger LOG = ExternalTaskClientLogger.CLIENT_LOGGER;
+
+  public static final long DEFAULT_REFRESH_BEFORE_EXPIRATION = 30000L;
+  public static final long DEFAULT_RETRY_INTERVAL = 5000L;
+
+  protected AccessTokenSupplier accessTokenSupplier;
+  protected long refreshBeforeExpiration;
+  protected long retryInterval;
+
+  protected volatile CachedToken cachedToken;
+  protected AtomicReference<CompletableFuture<CachedToken>> pendingRefresh;
+  protected ScheduledThreadPoolExecutor refreshExecutor;
+  protected ScheduledFuture<?> scheduledRefresh;
+
+  public BearerTokenProvider(AccessTokenSupplier accessTokenSupplier) {
+    this(accessTokenSupplier, DEFAULT_REFRESH_BEFORE_EXPIRATION, DEFAULT_RETRY_INTERVAL);
+  }
+
+  /**
+   * @param accessTokenSupplier obtains new access tokens
+   * @param refreshBeforeExpiration in milliseconds, the cached token is refreshed this long before it expires
+   *                                but not earlier than half of its remaining lifetime
+   * @param retryInterval in milliseconds, after which a failed refresh is retried
+   */
+  public BearerTokenProvider(AccessTokenSupplier accessTokenSupplier, long refreshBeforeExpiration, long retryInterval) {
+    if (accessTokenSupplier == null) {
+      throw LOG.accessTokenSupplierNullException();
+    }
+
+    this.accessTokenSupplier = accessTokenSupplier;
+    this.refreshBeforeExpiration = refreshBeforeExpiration;
+    this.retryInterval = retryInterval;
+    this.pendingRefresh = new AtomicReference<>();
+
+    this.refreshExecutor = new ScheduledThreadPoolExecutor(1, runnable -> {
+      Thread thread = new Thread(runnable, "BearerTokenRefresh");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.refreshExecutor.setRemoveOnCancelPolicy(true);
+  }
+
+  @Override
+  public void intercept(ClientRequestContext requestContext) {
+    CachedToken token = cachedToken;
+    long now = System.currentTimeMillis();
+
+    if (token == null || token.isExpired(now)) {
+      token = awaitRefresh();
+    }
+    else if (token.isRefreshDue(now)) {
+      // in case the scheduled refresh has not been executed yet
+      refresh();
+    }
+
+    requestContext.addHeader(AUTHORIZATION, token.getAuthorizationHeader());
+  }
+
+  /**
+   * Stops refreshing the access token in the background.
+   */
+  @Override
+  public void close() {
+    refreshExecutor.shutdownNow();
+  }
+
+  protected CachedToken awaitRefresh() {
+    try {
+      return refresh().join();
+    }
+    catch (CompletionException e) {
+      throw LOG.accessTokenNotAvailableException(e.getCause());
+    }
+  }
+
+  /**
+   * @return the pending refresh, a new refresh is only started if no other refresh is pending
+   */
+  protected CompletableFuture<CachedToken> refresh() {
+    while (true) {
+      CompletableFuture<CachedToken> refresh = pendingRefresh.get();
+      if (refresh != null) {
+        return refresh;
+      }
+
+      refresh = new CompletableFuture<>();
+      if (pendingRefresh.compareAndSet(null, refresh)) {
+        // another refresh might have completed in the meantime
+        CachedToken token = cachedToken;
+        if (token != null && !token.isRefreshDue(System.currentTimeMillis())) {
+          pendingRefresh.set(null);
+          refresh.complete(token);
+          return refresh;
+        }
+
+        CompletableFuture<CachedToken> newRefresh = refresh;
+        refreshExecutor.execute(() -> fetchToken(newRefresh));
+        return newRefresh;
+      }
+    }
+  }
+
+  protected void fetchToken(CompletableFuture<CachedToken> refresh) {
+    try {
+      AccessToken accessToken = accessTokenSupplier.getAccessToken();
+      CachedToken token = new CachedToken(accessToken, System.currentTimeMillis(), refreshBeforeExpiration);
+      cachedToken = token;
+
+      if (token.getRefreshTime() != AccessToken.NO_EXPIRATION) {
+        scheduleRefresh(token.getRefreshTime() - System.currentTimeMillis());
+      }
+
+      pendingRefresh.set(null);
+      refresh.complete(token);
+    }
+    catch (Throwable e) {
+      LOG.accessTokenRefreshFailed(e);
+
+      // keeps retrying as long as the cached token is in use
+      if (cachedToken != null) {
+        scheduleRefresh(retryInterval);
+      }
+
+      pendingRefresh.set(null);
+      refresh.completeExceptionally(e);
+    }
+  }
+
+  protected void scheduleRefresh(long delay) {
+    if (scheduledRefresh != null) {
+      scheduledRefresh.cancel(false);
+    }
+
+    scheduledRefresh = refreshExecutor.schedule(this::refresh, Math.max(delay, 0), TimeUnit.MILLISECONDS);
+  }
+
+  public AccessTokenSupplier getAccessTokenSupplier() {
+    return accessTokenSupplier;
+  }
+
+  public long getRefreshBeforeExpiration() {
+    return refreshBeforeExpiration;
+  }
+
+  public long getRetryInterval() {
+    return retryInterval;
+  }
+
+  protected static class CachedToken {
+
+    protected String authorizationHeader;
+    protected long expirationTime;
+    protected long refreshTime;
+
+    public CachedToken(AccessToken accessToken, long now, long refreshBeforeExpiration) {
+      this.authorizationHeader = "Bearer " + accessToken.getTokenValue();
+      this.expirationTime = accessToken.getExpirationTime();
+
+      if (expirationTime == AccessToken.NO_EXPIRATION) {
+        this.refreshTime = AccessToken.NO_EXPIRATION;
+      }
+      else {
+        long remainingLifetime = expirationTime - now;
+        this.refreshTime = Math.max(expirationTime - refreshBeforeExpiration, now + remainingLifetime / 2);
+      }
+    }
+
+    public String getAuthorizationHeader() {
+      return authorizationHeader;
+    }
+
+    public long getRefreshTime() {
+      return refreshTime;
+    }
+
+    public boolean isExpired(long now) {
+      return expirationTime <= now;
+    }
+
+    public boolean isRefreshDue(long now) {
+      return refreshTime <= now;
+    }
+
+  }
+
+}
@@ -0,0 +1,152 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.interceptor.auth;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.NameValuePair;
+import org.apache.http.client.entity.UrlEncodedFormEntity;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.message.BasicNameValuePair;
+import org.camunda.bpm.client.impl.ExternalTaskClientLogger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.apache.http.HttpHeaders.AUTHORIZATION;
+
+/**
+ * <p>Obtains access tokens from the token endpoint of an OAuth2 authorization server by using
+ * the client credentials grant</p>
+ *
+ * @author Tassilo Weidner
+ */
+public class OAuth2ClientCredentialsTokenSupplier implements AccessTokenSupplier {
+
+  protected static final ExternalTaskClientLogger LOG = ExternalTaskClientLogger.CLIENT_LOGGER;
+
+  protected static final String GRANT_TYPE_CLIENT_CREDENTIALS = "client_credentials";
+
+  protected String tokenEndpointUrl;
+  protected String clientId;
+  protected String clientSecret;
+  protected String scope;
+  protected String authorizationHeader;
+  protected ObjectMapper objectMapper;
+
+  public OAuth2ClientCredentialsTokenSupplier(String tokenEndpointUrl, String clientId, String clientSecret) {
+    this(tokenEndpointUrl, clientId, clientSecret, null);
+  }
+
+  /**
+   * @param scope which is requested, might be {@code null}
+   */
+  public OAuth2ClientCredentialsTokenSupplier(String tokenEndpointUrl, String clientId, String clientSecret, String scope) {
+    if (tokenEndpointUrl == null || clientId == null || clientSecret == null) {
+      throw LOG.oauth2ClientCredentialsNullException();
+    }
+
+    this.tokenEndpointUrl = tokenEndpointUrl;
+    this.clientId = clientId;
+    this.clientSecret = clientSecret;
+    this.scope = scope;
+    this.objectMapper = new ObjectMapper();
+
+    String credentials = clientId + ":" + clientSecret;
+    this.authorizationHeader = "Basic " + Base64.getEncoder()
+      .encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Override
+  public AccessToken getAccessToken() throws Exception {
+    HttpPost tokenRequest = createTokenRequest();
+    long requestTime = System.currentTimeMillis();
+
+    // tokens are requested rarely, a connection is not kept open in between
+    try (CloseableHttpClient httpClient = createHttpClient();
+         CloseableHttpResponse response = httpClient.execute(tokenRequest)) {
+
+      int statusCode = response.getStatusLine().getStatusCode();
+      if (statusCode != 200) {
+        throw LOG.invalidAccessTokenResponseException(tokenEndpointUrl, "unexpected status code " + statusCode);
+      }
+
+      HttpEntity entity = response.getEntity();
+      if (entity == null) {
+        throw LOG.invalidAccessTokenResponseException(tokenEndpointUrl, "response has no body");
+      }
+
+      JsonNode tokenResponse;
+      try (InputStream content = entity.getContent()) {
+        tokenResponse = objectMapper.readTree(content);
+      }
+
+      return parseAccessToken(tokenResponse, requestTime);
+    }
+  }
+
+  protected HttpPost createTokenRequest() {
+    List<NameValuePair> parameters = new ArrayList<>();
+    parameters.add(new BasicNameValuePair("grant_type", GRANT_TYPE_CLIENT_CREDENTIALS));
+    if (scope != null) {
+      parameters.add(new BasicNameValuePair("scope", scope));
+    }
+
+    HttpPost tokenRequest = new HttpPost(tokenEndpointUrl);
+    tokenRequest.setHeader(AUTHORIZATION, authorizationHeader);
+    tokenRequest.setEntity(new UrlEncodedFormEntity(parameters, StandardCharsets.UTF_8));
+    return tokenRequest;
+  }
+
+  protected AccessToken parseAccessToken(JsonNode tokenResponse, long requestTime) {
+    JsonNode accessToken = tokenResponse == null ? null : tokenResponse.get("access_token");
+    if (accessToken == null || !accessToken.isTextual()) {
+      throw LOG.invalidAccessTokenResponseException(tokenEndpointUrl, "response contains no access token");
+    }
+
+    // the lifetime is measured from sending the request on, so that the token is never used too long
+    JsonNode expiresIn = tokenResponse.get("expires_in");
+    long lifetimeInSeconds = expiresIn == null ? -1 : expiresIn.asLong(-1);
+    long expirationTime = AccessToken.NO_EXPIRATION;
+    if (lifetimeInSeconds >= 0) {
+      expirationTime = requestTime + lifetimeInSeconds * 1000;
+    }
+
+    return new AccessToken(accessToken.asText(), expirationTime);
+  }
+
+  protected CloseableHttpClient createHttpClient() {
+    return HttpClients.createSystem();
+  }
+
+  public String getTokenEndpointUrl() {
+    return tokenEndpointUrl;
+  }
+
+  public String getClientId() {
+    return clientId;
+  }
+
+  public String getScope() {
+    return scope;
+  }
+
+}
@@ -12,6 +12,7 @@
  */
 package org.camunda.bpm.client.interceptor.impl;
 
+import org.apache.http.Header;
 import org.apache.http.HttpException;
 import org.apache.http.HttpRequest;
 import org.apache.http.HttpRequestInterceptor;
@@ -24,8 +25,15 @@ import org.camunda.bpm.client.interceptor.ClientRequestInterceptor;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * <p>Adds the headers of the request interceptors to each request.</p>
+ *
+ * <p>Static interceptors are invoked on the first request only, the headers they have added are
+ * reused afterwards. If all interceptors are static, the headers are added without invoking any
+ * interceptor or allocating a request context.</p>
+ *
  * @author Tassilo Weidner
  */
 public class RequestInterceptorHandler implements HttpRequestInterceptor {
@@ -33,20 +41,35 @@ public class RequestInterceptorHandler implements HttpRequestInterceptor {
   protected static final EngineClientLogger LOG = ExternalTaskClientLogger.ENGINE_CLIENT_LOGGER;
 
   protected List<ClientRequestInterceptor> interceptors;
+  protected boolean hasDynamicInterceptors;
+
+  // resolved on the first request whose interceptors succeed
+  protected volatile Header[] staticHeaders;
+  protected Map<ClientRequestInterceptor, Map<String, String>> staticInterceptorHeaders;
 
   public RequestInterceptorHandler(List<ClientRequestInterceptor> interceptors) {
     this.interceptors = interceptors;
+    this.hasDynamicInterceptors = interceptors.stream().anyMatch(interceptor -> !interceptor.isStatic());
+    this.staticInterceptorHeaders = new ConcurrentHashMap<>();
   }
 
   @Override
   public void process(HttpRequest httpRequest, HttpContext context) throws HttpException, IOException {
+    if (!hasDynamicInterceptors) {
+      for (Header header : getStaticHeaders()) {
+        httpRequest.addHeader(header);
+      }
+      return;
+    }
+
     ClientRequestContextImpl interceptedRequest = new ClientRequestContextImpl();
     interceptors.forEach((ClientRequestInterceptor requestInterceptor) -> {
-      try {
-        requestInterceptor.intercept(interceptedRequest);
+      if (requestInterceptor.isStatic()) {
+        // preserves the order in which interceptors override each other's headers
+        interceptedRequest.getHeaders().putAll(getStaticHeaders(requestInterceptor));
       }
-      catch (Throwable e) {
-        LOG.requestInterceptorException(e);
+      else {
+        intercept(requestInterceptor, interceptedRequest);
       }
     });
 
@@ -54,6 +77,57 @@ public class RequestInterceptorHandler implements HttpRequestInterceptor {
     newHeaders.forEach((headerName, headerValue) -> httpRequest.addHeader(new BasicHeader(headerName, headerValue)));
   }
 
+  protected Header[] getStaticHeaders() {
+    Header[] headers = staticHeaders;
+    if (headers == null) {
+      ClientRequestContextImpl interceptedRequest = new ClientRequestContextImpl();
+      boolean isIntercepted = true;
+      for (ClientRequestInterceptor requestInterceptor : interceptors) {
+        isIntercepted &= intercept(requestInterceptor, interceptedRequest);
+      }
+
+      headers = interceptedRequest.getHeaders().entrySet().stream()
+        .map(header -> new BasicHeader(header.getKey(), header.getValue()))
+        .toArray(Header[]::new);
+
+      // a failed interceptor is invoked again on the next request
+      if (isIntercepted) {
+        staticHeaders = headers;
+      }
+    }
+
+    return headers;
+  }
+
+  protected Map<String, String> getStaticHeaders(ClientRequestInterceptor requestInterceptor) {
+    Map<String, String> headers = staticInterceptorHeaders.get(requestInterceptor);
+    if (headers == null) {
+      ClientRequestContextImpl interceptedRequest = new ClientRequestContextImpl();
+      headers = interceptedRequest.getHeaders();
+
+      // a failed interceptor is invoked again on the next request
+      if (intercept(requestInterceptor, interceptedRequest)) {
+        staticInterceptorHeaders.put(requestInterceptor, headers);
+      }
+    }
+
+    return headers;
+  }
+
+  /**
+   * @return {@code false} if the interceptor has thrown an exception
+   */
+  protected boolean intercept(ClientRequestInterceptor requestInterceptor, ClientRequestContextImpl interceptedRequest) {
+    try {
+      requestInterceptor.intercept(interceptedRequest);
+      return true;
+    }
+    catch (Throwable e) {
+      LOG.requestInterceptorException(e);
+      return false;
+    }
+  }
+
   public List<ClientRequestInterceptor> getInterceptors() {
     return interceptors;
   }
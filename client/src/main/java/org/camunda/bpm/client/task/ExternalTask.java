@@ -60,6 +60,15 @@ public interface ExternalTask {
    */
   Date getLockExpirationTime();
 
+  /**
+   * @return the time in milliseconds until the lock of the task expires, which is {@code 0} if the
+   * lock has already expired, or {@code -1} if the implementation does not track the lock.
+   * Lock extensions performed by the client are taken into account.
+   */
+  default long getRemainingLockTime() {
+    return -1;
+  }
+
   /**
    * @return the id of the process definition the external task is defined in
    */
@@ -20,6 +20,8 @@ import org.camunda.bpm.client.exception.UnknownTypeException;
 import org.camunda.bpm.client.exception.UnsupportedTypeException;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 /**
  * <p>Service that provides possibilities to interact with fetched and locked tasks.</p>
@@ -133,4 +135,120 @@ public interface ExternalTaskService {
    */
   void extendLock(ExternalTask externalTask, long newDuration);
 
+  /**
+   * Unlocks a task without waiting for the Workflow Engine to confirm it.
+   * Fails right away if the maximum amount of asynchronous requests in flight is reached.
+   * Implementations which do not support asynchronous calls perform the blocking variant
+   * on the calling thread; this applies to all asynchronous variants.
+   *
+   * @param externalTask which will be unlocked
+   * @return a stage which is completed exceptionally with the exceptions of {@link #unlock(ExternalTask)}
+   */
+  default CompletionStage<Void> unlockAsync(ExternalTask externalTask) {
+    CompletableFuture<Void> result = new CompletableFuture<>();
+    try {
+      unlock(externalTask);
+      result.complete(null);
+    } catch (RuntimeException e) {
+      result.completeExceptionally(e);
+    }
+    return result;
+  }
+
+  /**
+   * Completes a task without waiting for the Workflow Engine to confirm it, so that the handler
+   * thread is free to handle the next task.
+   * Fails right away if the maximum amount of asynchronous requests in flight is reached.
+   *
+   * @param externalTask which will be completed
+   * @return a stage which is completed exceptionally with the exceptions of {@link #complete(ExternalTask)}
+   */
+  default CompletionStage<Void> completeAsync(ExternalTask externalTask) {
+    return completeAsync(externalTask, null, null);
+  }
+
+  /**
+   * Completes a task without waiting for the Workflow Engine to confirm it.
+   *
+   * @param externalTask  which will be completed
+   * @param variables     are set in the task's ancestor execution hierarchy
+   * @return a stage which is completed exceptionally with the exceptions of {@link #complete(ExternalTask, Map)}
+   * @see #completeAsync(ExternalTask)
+   */
+  default CompletionStage<Void> completeAsync(ExternalTask externalTask, Map<String, Object> variables) {
+    return completeAsync(externalTask, variables, null);
+  }
+
+  /**
+   * Completes a task without waiting for the Workflow Engine to confirm it.
+   *
+   * @param externalTask    which will be completed
+   * @param variables       are set in the task's ancestor execution hierarchy
+   * @param localVariables  are set in the execution of the external task instance
+   * @return a stage which is completed exceptionally with the exceptions of {@link #complete(ExternalTask, Map, Map)}
+   * @see #completeAsync(ExternalTask)
+   */
+  default CompletionStage<Void> completeAsync(ExternalTask externalTask, Map<String, Object> variables, Map<String, Object> localVariables) {
+    CompletableFuture<Void> result = new CompletableFuture<>();
+    try {
+      complete(externalTask, variables, localVariables);
+      result.complete(null);
+    } catch (RuntimeException e) {
+      result.completeExceptionally(e);
+    }
+    return result;
+  }
+
+  /**
+   * Reports a failure to execute a task without waiting for the Workflow Engine to confirm it.
+   *
+   * @return a stage which is completed exceptionally with the exceptions of
+   * {@link #handleFailure(ExternalTask, String, String, int, long)}
+   * @see #handleFailure(ExternalTask, String, String, int, long)
+   */
+  default CompletionStage<Void> handleFailureAsync(ExternalTask externalTask, String errorMessage, String errorDetails, int retries, long retryTimeout) {
+    CompletableFuture<Void> result = new CompletableFuture<>();
+    try {
+      handleFailure(externalTask, errorMessage, errorDetails, retries, retryTimeout);
+      result.complete(null);
+    } catch (RuntimeException e) {
+      result.completeExceptionally(e);
+    }
+    return result;
+  }
+
+  /**
+   * Reports a business error without waiting for the Workflow Engine to confirm it.
+   *
+   * @return a stage which is completed exceptionally with the exceptions of {@link #handleBpmnError(ExternalTask, String)}
+   * @see #handleBpmnError(ExternalTask, String)
+   */
+  default CompletionStage<Void> handleBpmnErrorAsync(ExternalTask externalTask, String errorCode) {
+    CompletableFuture<Void> result = new CompletableFuture<>();
+    try {
+      handleBpmnError(externalTask, errorCode);
+      result.complete(null);
+    } catch (RuntimeException e) {
+      result.completeExceptionally(e);
+    }
+    return result;
+  }
+
+  /**
+   * Extends the lock of a task without waiting for the Workflow Engine to confirm it.
+   *
+   * @return a stage which is completed exceptionally with the exceptions of {@link #extendLock(ExternalTask, long)}
+   * @see #extendLock(ExternalTask, long)
+   */
+  default CompletionStage<Void> extendLockAsync(ExternalTask externalTask, long newDuration) {
+    CompletableFuture<Void> result = new CompletableFuture<>();
+    try {
+      extendLock(externalTask, newDuration);
+      result.complete(null);
+    } catch (RuntimeException e) {
+      result.completeExceptionally(e);
+    }
+    return result;
+  }
+
 }
@@ -0,0 +1,260 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.task.impl;
+
+import org.apache.http.client.HttpResponseException;
+import org.camunda.bpm.client.impl.CircuitBreakerOpenException;
+import org.camunda.bpm.client.impl.EngineClientException;
+import org.camunda.bpm.client.impl.ExternalTaskClientLogger;
+import org.camunda.bpm.client.task.ExternalTask;
+
+import java.io.IOException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Retries completing, failure notifications and BPMN errors in the background which have failed
+ * due to a connection problem or an unavailable Workflow Engine, so that the work of a handler
+ * is not lost because of a short outage.</p>
+ *
+ * <p>Retries are performed with exponential backoff as long as the lock of the task can still be
+ * valid. Calls rejected by an open circuit breaker are retried once the circuit breaker permits
+ * requests again. The amount of queued retries is bounded, calls which do not fit into the queue are not retried.</p>
+ *
+ * @author Tassilo Weidner
+ */
+public class CompletionRetryQueue {
+
+  protected static final ExternalTaskClientLogger LOG = ExternalTaskClientLogger.CLIENT_LOGGER;
+
+  public static final long DEFAULT_INITIAL_BACKOFF = 500L;
+  public static final long DEFAULT_MAX_BACKOFF = 30000L;
+
+  protected final Object MONITOR = new Object();
+
+  protected int capacity;
+  protected long initialBackoff;
+  protected long maxBackoff;
+  protected AtomicInteger queuedRetries;
+  protected ScheduledThreadPoolExecutor scheduler;
+
+  public CompletionRetryQueue(int capacity) {
+    this(capacity, DEFAULT_INITIAL_BACKOFF, DEFAULT_MAX_BACKOFF);
+  }
+
+  /**
+   * @param capacity maximum amount of calls which are retried at the same time
+   * @param initialBackoff in milliseconds before the first retry, doubled for each further retry
+   * @param maxBackoff in milliseconds the backoff does not exceed
+   */
+  public CompletionRetryQueue(int capacity, long initialBackoff, long maxBackoff) {
+    this.capacity = capacity;
+    this.initialBackoff = initialBackoff;
+    this.maxBackoff = maxBackoff;
+    this.queuedRetries = new AtomicInteger();
+
+    this.scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+      Thread thread = new Thread(runnable, CompletionRetryQueue.class.getSimpleName());
+      thread.setDaemon(true);
+      return thread;
+    });
+    // the thread is only kept alive while retries are queued
+    this.scheduler.setKeepAliveTime(60L, TimeUnit.SECONDS);
+    this.scheduler.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * Queues a call which has failed for being retried in the background.
+   *
+   * @param externalTask the call refers to
+   * @param actionName describes the call in log messages
+   * @param exception the call has failed with
+   * @param engineCall which is retried
+   * @return {@code true} if the call is retried, {@code false} if the caller needs to handle the exception
+   */
+  public boolean offer(ExternalTask externalTask, String actionName, EngineClientException exception, EngineCall engineCall) {
+    if (!isTransient(exception)) {
+      return false;
+    }
+
+    // tasks whose lock is not tracked are not retried, since the lock might already have expired
+    long now = System.currentTimeMillis();
+    long lockExpiration = now + externalTask.getRemainingLockTime();
+    long delay = calculateDelay(1, exception);
+    if (now + delay >= lockExpiration) {
+      return false;
+    }
+
+    if (queuedRetries.incrementAndGet() > capacity) {
+      queuedRetries.decrementAndGet();
+      LOG.completionRetryQueueFull(actionName, externalTask.getId());
+      return false;
+    }
+
+    RetryAttempt attempt = new RetryAttempt(externalTask.getId(), actionName, engineCall, lockExpiration);
+    schedule(attempt, 1, delay);
+    return true;
+  }
+
+  protected void schedule(RetryAttempt attempt, int retry, long delay) {
+    scheduler.schedule(() -> retry(attempt, retry), delay, TimeUnit.MILLISECONDS);
+  }
+
+  protected void retry(RetryAttempt attempt, int retry) {
+    try {
+      attempt.getEngineCall().perform();
+      onRetryFinished();
+    }
+    catch (EngineClientException e) {
+      // the call is pointless once the lock might have expired
+      long delay = calculateDelay(retry + 1, e);
+      if (isTransient(e) && System.currentTimeMillis() + delay < attempt.getLockExpiration()) {
+        schedule(attempt, retry + 1, delay);
+      }
+      else {
+        onRetryFinished();
+        LOG.completionRetryAbandoned(attempt.getActionName(), attempt.getExternalTaskId(), e);
+      }
+    }
+    catch (Throwable e) {
+      onRetryFinished();
+      LOG.completionRetryAbandoned(attempt.getActionName(), attempt.getExternalTaskId(), e);
+    }
+  }
+
+  protected void onRetryFinished() {
+    if (queuedRetries.decrementAndGet() == 0) {
+      synchronized (MONITOR) {
+        MONITOR.notifyAll();
+      }
+    }
+  }
+
+  /**
+   * Waits until no more calls are retried.
+   *
+   * @param timeout in milliseconds to wait at most
+   * @return the amount of calls which are still retried when the timeout has elapsed
+   * @throws InterruptedException if the calling thread has been interrupted while waiting
+   */
+  public int awaitRetries(long timeout) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + timeout;
+
+    synchronized (MONITOR) {
+      long remainingTime = timeout;
+      while (queuedRetries.get() > 0 && remainingTime > 0) {
+        MONITOR.wait(remainingTime);
+        remainingTime = deadline - System.currentTimeMillis();
+      }
+    }
+
+    return queuedRetries.get();
+  }
+
+  /**
+   * @return the delay in milliseconds before the given retry, at least until an open circuit breaker
+   * permits requests again
+   */
+  protected long calculateDelay(int retry, EngineClientException exception) {
+    long backoff = calculateBackoff(retry);
+
+    if (exception instanceof CircuitBreakerOpenException) {
+      return Math.max(backoff, ((CircuitBreakerOpenException) exception).getRemainingOpenStateDuration());
+    }
+
+    return backoff;
+  }
+
+  /**
+   * @return the backoff in milliseconds before the given retry
+   */
+  protected long calculateBackoff(int retry) {
+    double backoff = initialBackoff * Math.pow(2, retry - 1);
+    return (long) Math.min(backoff, maxBackoff);
+  }
+
+  /**
+   * @return {@code true} if the call has failed due to a connection problem, an unavailable Workflow Engine
+   * or an open circuit breaker; a status code of 500 is not transient since the engine reports so that the
+   * process instance could not be resumed
+   */
+  protected boolean isTransient(EngineClientException exception) {
+    if (exception instanceof CircuitBreakerOpenException) {
+      return true;
+    }
+
+    Throwable cause = exception.getCause();
+
+    if (cause instanceof HttpResponseException) {
+      int statusCode = ((HttpResponseException) cause).getStatusCode();
+      return statusCode == 429 || statusCode == 502 || statusCode == 503 || statusCode == 504;
+    }
+
+    return cause instanceof IOException;
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * @return the amount of calls which are currently retried
+   */
+  public int getQueuedRetries() {
+    return queuedRetries.get();
+  }
+
+  /**
+   * Call to the Workflow Engine which is retried
+   */
+  @FunctionalInterface
+  public interface EngineCall {
+
+    void perform() throws EngineClientException;
+
+  }
+
+  protected static class RetryAttempt {
+
+    protected String externalTaskId;
+    protected String actionName;
+    protected EngineCall engineCall;
+    protected long lockExpiration;
+
+    public RetryAttempt(String externalTaskId, String actionName, EngineCall engineCall, long lockExpiration) {
+      this.externalTaskId = externalTaskId;
+      this.actionName = actionName;
+      this.engineCall = engineCall;
+      this.lockExpiration = lockExpiration;
+    }
+
+    public String getExternalTaskId() {
+      return externalTaskId;
+    }
+
+    public String getActionName() {
+      return actionName;
+    }
+
+    public EngineCall getEngineCall() {
+      return engineCall;
+    }
+
+    public long getLockExpiration() {
+      return lockExpiration;
+    }
+
+  }
+
+}
@@ -52,6 +52,9 @@ public class ExternalTaskImpl implements ExternalTask {
   @JsonIgnore
   protected Map<String, VariableValue> receivedVariableMap;
 
+  @JsonIgnore
+  protected volatile long localLockExpirationTime;
+
   public void setActivityId(String activityId) {
     this.activityId = activityId;
   }
@@ -213,6 +216,34 @@ public class ExternalTaskImpl implements ExternalTask {
     return priority;
   }
 
+  @JsonIgnore
+  @Override
+  public long getRemainingLockTime() {
+    long lockExpiration = getLocalLockExpirationTime();
+    if (lockExpiration == 0) {
+      if (lockExpirationTime == null) {
+        // the lock is not tracked
+        return -1;
+      }
+      lockExpiration = lockExpirationTime.getTime();
+    }
+
+    return Math.max(lockExpiration - System.currentTimeMillis(), 0);
+  }
+
+  /**
+   * @return the point in time (measured by the local clock) the lock expires or {@code 0} if unknown
+   */
+  @JsonIgnore
+  public long getLocalLockExpirationTime() {
+    return localLockExpirationTime;
+  }
+
+  @JsonIgnore
+  public void setLocalLockExpirationTime(long localLockExpirationTime) {
+    this.localLockExpirationTime = localLockExpirationTime;
+  }
+
   @JsonIgnore
   @Override
   public Map<String, Object> getAllVariables() {
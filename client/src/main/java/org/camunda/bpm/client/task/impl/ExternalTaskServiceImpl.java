@@ -12,13 +12,18 @@
  */
 package org.camunda.bpm.client.task.impl;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 
 import org.camunda.bpm.client.impl.EngineClient;
 import org.camunda.bpm.client.impl.EngineClientException;
 import org.camunda.bpm.client.impl.ExternalTaskClientLogger;
 import org.camunda.bpm.client.task.ExternalTask;
 import org.camunda.bpm.client.task.ExternalTaskService;
+import org.camunda.bpm.client.task.impl.CompletionRetryQueue.EngineCall;
 
 /**
  * @author Tassilo Weidner
@@ -29,10 +34,20 @@ public class ExternalTaskServiceImpl implements ExternalTaskService {
 
   protected String taskId;
   protected EngineClient engineClient;
+  protected CompletionRetryQueue retryQueue;
 
   public ExternalTaskServiceImpl(String taskId, EngineClient engineClient) {
+    this(taskId, engineClient, null);
+  }
+
+  /**
+   * @param retryQueue which retries completing, failure notifications and BPMN errors that have failed
+   *                   due to a connection problem, might be {@code null}
+   */
+  public ExternalTaskServiceImpl(String taskId, EngineClient engineClient, CompletionRetryQueue retryQueue) {
     this.taskId = taskId;
     this.engineClient = engineClient;
+    this.retryQueue = retryQueue;
   }
 
   @Override
@@ -56,28 +71,43 @@ public class ExternalTaskServiceImpl implements ExternalTaskService {
 
   @Override
   public void complete(ExternalTask externalTask, Map<String, Object> variables,  Map<String, Object> localVariables) {
+    String actionName = "completing the external task";
     try {
       engineClient.complete(externalTask.getId(), variables, localVariables);
     } catch (EngineClientException e) {
-      throw LOG.externalTaskServiceException("completing the external task", e);
+      // the handler might change the variables after it has returned
+      Map<String, Object> retriedVariables = variables != null ? new HashMap<>(variables) : null;
+      Map<String, Object> retriedLocalVariables = localVariables != null ? new HashMap<>(localVariables) : null;
+
+      if (!offerRetry(externalTask, actionName, e,
+        () -> engineClient.complete(externalTask.getId(), retriedVariables, retriedLocalVariables))) {
+        throw LOG.externalTaskServiceException(actionName, e);
+      }
     }
   }
 
   @Override
   public void handleFailure(ExternalTask externalTask, String errorMessage, String errorDetails, int retries, long retryTimeout) {
+    String actionName = "notifying a failure";
     try {
       engineClient.failure(externalTask.getId(), errorMessage, errorDetails, retries, retryTimeout);
     } catch (EngineClientException e) {
-      throw LOG.externalTaskServiceException("notifying a failure", e);
+      if (!offerRetry(externalTask, actionName, e,
+        () -> engineClient.failure(externalTask.getId(), errorMessage, errorDetails, retries, retryTimeout))) {
+        throw LOG.externalTaskServiceException(actionName, e);
+      }
     }
   }
 
   @Override
   public void handleBpmnError(ExternalTask externalTask, String errorCode) {
+    String actionName = "notifying a BPMN error";
     try {
       engineClient.bpmnError(externalTask.getId(), errorCode);
     } catch (EngineClientException e) {
-      throw LOG.externalTaskServiceException("notifying a BPMN error", e);
+      if (!offerRetry(externalTask, actionName, e, () -> engineClient.bpmnError(externalTask.getId(), errorCode))) {
+        throw LOG.externalTaskServiceException(actionName, e);
+      }
     }
   }
 
@@ -90,4 +120,87 @@ public class ExternalTaskServiceImpl implements ExternalTaskService {
     }
   }
 
+  @Override
+  public CompletionStage<Void> unlockAsync(ExternalTask externalTask) {
+    return handleAsync(engineClient.unlockAsync(externalTask.getId()), "unlocking the external task");
+  }
+
+  @Override
+  public CompletionStage<Void> completeAsync(ExternalTask externalTask) {
+    return completeAsync(externalTask, null, null);
+  }
+
+  @Override
+  public CompletionStage<Void> completeAsync(ExternalTask externalTask, Map<String, Object> variables) {
+    return completeAsync(externalTask, variables, null);
+  }
+
+  @Override
+  public CompletionStage<Void> completeAsync(ExternalTask externalTask, Map<String, Object> variables, Map<String, Object> localVariables) {
+    // the handler might change the variables after it has returned
+    Map<String, Object> retriedVariables = variables != null ? new HashMap<>(variables) : null;
+    Map<String, Object> retriedLocalVariables = localVariables != null ? new HashMap<>(localVariables) : null;
+
+    return handleAsync(engineClient.completeAsync(externalTask.getId(), variables, localVariables), "completing the external task",
+      externalTask, () -> engineClient.complete(externalTask.getId(), retriedVariables, retriedLocalVariables));
+  }
+
+  @Override
+  public CompletionStage<Void> handleFailureAsync(ExternalTask externalTask, String errorMessage, String errorDetails, int retries, long retryTimeout) {
+    return handleAsync(engineClient.failureAsync(externalTask.getId(), errorMessage, errorDetails, retries, retryTimeout), "notifying a failure",
+      externalTask, () -> engineClient.failure(externalTask.getId(), errorMessage, errorDetails, retries, retryTimeout));
+  }
+
+  @Override
+  public CompletionStage<Void> handleBpmnErrorAsync(ExternalTask externalTask, String errorCode) {
+    return handleAsync(engineClient.bpmnErrorAsync(externalTask.getId(), errorCode), "notifying a BPMN error",
+      externalTask, () -> engineClient.bpmnError(externalTask.getId(), errorCode));
+  }
+
+  @Override
+  public CompletionStage<Void> extendLockAsync(ExternalTask externalTask, long newDuration) {
+    return handleAsync(engineClient.extendLockAsync(externalTask.getId(), newDuration), "extending lock");
+  }
+
+  /**
+   * @return {@code true} if the failed call is retried in the background
+   */
+  protected boolean offerRetry(ExternalTask externalTask, String actionName, EngineClientException e, EngineCall engineCall) {
+    return retryQueue != null && retryQueue.offer(externalTask, actionName, e, engineCall);
+  }
+
+  protected CompletionStage<Void> handleAsync(CompletableFuture<Void> engineCall, String actionName) {
+    return handleAsync(engineCall, actionName, null, null);
+  }
+
+  /**
+   * Translates a failed engine call into the exception the blocking variant throws. Like the
+   * blocking variant, the stage completes normally if the failed call is retried in the background.
+   *
+   * @param retriedCall which is retried on a transient failure, {@code null} if the call is not retried
+   */
+  protected CompletionStage<Void> handleAsync(CompletableFuture<Void> engineCall, String actionName, ExternalTask externalTask, EngineCall retriedCall) {
+    CompletableFuture<Void> result = new CompletableFuture<>();
+
+    engineCall.whenComplete((value, exception) -> {
+      Throwable cause = exception instanceof CompletionException ? exception.getCause() : exception;
+
+      if (cause == null) {
+        result.complete(null);
+      }
+      else if (cause instanceof EngineClientException && retriedCall != null
+        && offerRetry(externalTask, actionName, (EngineClientException) cause, retriedCall)) {
+        result.complete(null);
+      }
+      else if (cause instanceof EngineClientException) {
+        result.completeExceptionally(LOG.externalTaskServiceException(actionName, (EngineClientException) cause));
+      }
+      else {
+        result.completeExceptionally(cause);
+      }
+    });
+
+    return result;
+  }
+
 }
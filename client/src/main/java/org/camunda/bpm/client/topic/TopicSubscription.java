@@ -56,4 +56,23 @@ public interface TopicSubscription {
    */
   String getBusinessKey();
 
+  /**
+   * @return <ul>
+   *           <li> the amount of external tasks of the topic which are handled at the same time
+   *           <li> if {@code null}, the amount is only bounded by the client
+   *         </ul>
+   * The default implementation returns {@code null}.
+   */
+  default Integer getMaxConcurrency() {
+    return null;
+  }
+
+  /**
+   * @return the name of the fetch group the topic is fetched with or {@code null} if the topic is
+   * fetched with the client configuration; the default implementation returns {@code null}
+   */
+  default String getFetchGroup() {
+    return null;
+  }
+
 }
@@ -12,6 +12,8 @@
  */
 package org.camunda.bpm.client.topic;
 
+import java.util.concurrent.ExecutorService;
+
 import org.camunda.bpm.client.exception.ExternalTaskClientException;
 import org.camunda.bpm.client.task.ExternalTaskHandler;
 
@@ -51,6 +53,38 @@ public interface TopicSubscriptionBuilder {
    */
   TopicSubscriptionBuilder businessKey(String businessKey);
 
+  /**
+   * Bounds the amount of external tasks of this topic which are handled at the same time.
+   * As long as the limit is reached, the topic is excluded from fetch and lock requests, so that
+   * a slow topic cannot occupy the capacity of the other topics.
+   * This information is optional.
+   *
+   * @param maxConcurrency amount of external tasks of this topic which are handled at the same time
+   * @return the builder
+   */
+  TopicSubscriptionBuilder maxConcurrency(int maxConcurrency);
+
+  /**
+   * Specifies a dedicated executor the handler of this topic is invoked on. Overrides the handler
+   * executor configured on bootstrapping the client. The executor is not shut down by the client.
+   * This information is optional.
+   *
+   * @param handlerExecutor to invoke the handler of this topic on
+   * @return the builder
+   */
+  TopicSubscriptionBuilder handlerExecutor(ExecutorService handlerExecutor);
+
+  /**
+   * Assigns the topic to a fetch group which has been configured on bootstrapping the client.
+   * The topics of a fetch group are fetched by their own task acquisition thread with the request
+   * settings and the back off strategy of the group.
+   * This information is optional, by default topics are fetched together with the client configuration.
+   *
+   * @param fetchGroup name of the fetch group
+   * @return the builder
+   */
+  TopicSubscriptionBuilder fetchGroup(String fetchGroup);
+
   /**
    * Release the topic subscription for being executed asynchronously
    *
@@ -60,6 +94,8 @@ public interface TopicSubscriptionBuilder {
    *   <li> if lock duration is not greater than zero
    *   <li> if external task handler is null
    *   <li> if topic name has already been subscribed
+   *   <li> if maximum concurrency is not greater than zero
+   *   <li> if the fetch group has not been configured
    * </ul>
    * @return the builder
    */
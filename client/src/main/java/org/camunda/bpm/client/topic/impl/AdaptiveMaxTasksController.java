@@ -0,0 +1,164 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.topic.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>Adjusts the amount of tasks which are fetched within one request following an
+ * additive increase/multiplicative decrease (AIMD) scheme:</p>
+ * <ul>
+ *   <li> if the estimated time to handle a full batch (including the fetch round trip) exceeds
+ *        the lock budget, the amount is halved, since the locks of the last tasks of a batch
+ *        would otherwise expire before their handlers are invoked
+ *   <li> if several fetches in a row return no tasks, the amount is halved as well
+ *   <li> if a fetch returns a full batch and the lock budget is not exceeded, the amount is
+ *        increased by one to save round trips
+ * </ul>
+ *
+ * @author Tassilo Weidner
+ */
+public class AdaptiveMaxTasksController {
+
+  protected static final int HISTORY_SIZE = 100;
+  protected static final int EMPTY_FETCH_THRESHOLD = 3;
+  protected static final double LOCK_BUDGET_RATIO = 0.8;
+  protected static final double SMOOTHING_FACTOR = 0.2;
+
+  protected final int minMaxTasks;
+  protected final int maxMaxTasks;
+  protected final int handlerParallelism;
+
+  protected volatile int maxTasks;
+
+  protected double averageHandlerDuration;
+  protected double averageRoundTripTime;
+  protected int consecutiveEmptyFetches;
+
+  protected final int[] history;
+  protected int historyIndex;
+  protected int historySize;
+
+  /**
+   * @param minMaxTasks lower bound of the amount of tasks fetched within one request
+   * @param maxMaxTasks upper bound of the amount of tasks fetched within one request
+   * @param initialMaxTasks amount of tasks fetched within the first request
+   * @param handlerParallelism amount of handlers which are executed in parallel
+   */
+  public AdaptiveMaxTasksController(int minMaxTasks, int maxMaxTasks, int initialMaxTasks, int handlerParallelism) {
+    this.minMaxTasks = minMaxTasks;
+    this.maxMaxTasks = maxMaxTasks;
+    this.handlerParallelism = Math.max(handlerParallelism, 1);
+    this.maxTasks = Math.min(Math.max(initialMaxTasks, minMaxTasks), maxMaxTasks);
+    this.history = new int[HISTORY_SIZE];
+  }
+
+  /**
+   * @return the amount of tasks which is supposed to be fetched within the next request
+   */
+  public int getMaxTasks() {
+    return maxTasks;
+  }
+
+  /**
+   * Is invoked whenever a handler has finished.
+   *
+   * @param duration in milliseconds the handler took
+   */
+  public synchronized void onExternalTaskHandled(long duration) {
+    averageHandlerDuration = smooth(averageHandlerDuration, duration);
+  }
+
+  /**
+   * Is invoked whenever a fetch and lock request has been performed and adjusts the amount of
+   * tasks which is fetched within the next request.
+   *
+   * @param requestedTasks amount of tasks which have been requested
+   * @param fetchedTasks amount of tasks which have been returned
+   * @param roundTripTime in milliseconds the request took
+   * @param lockDuration in milliseconds of the fetched tasks
+   */
+  public synchronized void onFetchAndLockPerformed(int requestedTasks, int fetchedTasks, long roundTripTime, long lockDuration) {
+    if (fetchedTasks > 0) {
+      // long polling requests without tasks do not reflect the round trip time
+      averageRoundTripTime = smooth(averageRoundTripTime, roundTripTime);
+      consecutiveEmptyFetches = 0;
+    }
+    else {
+      consecutiveEmptyFetches++;
+    }
+
+    int currentMaxTasks = maxTasks;
+    int nextMaxTasks = currentMaxTasks;
+
+    if (isExceedingLockBudget(currentMaxTasks, lockDuration)) {
+      nextMaxTasks = currentMaxTasks / 2;
+    }
+    else if (consecutiveEmptyFetches >= EMPTY_FETCH_THRESHOLD) {
+      nextMaxTasks = currentMaxTasks / 2;
+      consecutiveEmptyFetches = 0;
+    }
+    else if (fetchedTasks > 0 && fetchedTasks >= requestedTasks) {
+      nextMaxTasks = currentMaxTasks + 1;
+    }
+
+    nextMaxTasks = Math.min(Math.max(nextMaxTasks, minMaxTasks), maxMaxTasks);
+    maxTasks = nextMaxTasks;
+
+    history[historyIndex] = nextMaxTasks;
+    historyIndex = (historyIndex + 1) % HISTORY_SIZE;
+    historySize = Math.min(historySize + 1, HISTORY_SIZE);
+  }
+
+  protected boolean isExceedingLockBudget(int batchSize, long lockDuration) {
+    double rounds = Math.ceil((double) batchSize / handlerParallelism);
+    double estimatedBatchDuration = rounds * averageHandlerDuration + averageRoundTripTime;
+    return estimatedBatchDuration > lockDuration * LOCK_BUDGET_RATIO;
+  }
+
+  protected double smooth(double average, long sample) {
+    return average == 0 ? sample : average + SMOOTHING_FACTOR * (sample - average);
+  }
+
+  /**
+   * @return the amounts of tasks decided on within the most recent requests, oldest first
+   */
+  public synchronized List<Integer> getHistory() {
+    List<Integer> values = new ArrayList<>(historySize);
+
+    int start = (historyIndex - historySize + HISTORY_SIZE) % HISTORY_SIZE;
+    for (int i = 0; i < historySize; i++) {
+      values.add(history[(start + i) % HISTORY_SIZE]);
+    }
+
+    return values;
+  }
+
+  public int getMinMaxTasks() {
+    return minMaxTasks;
+  }
+
+  public int getMaxMaxTasks() {
+    return maxMaxTasks;
+  }
+
+  public synchronized double getAverageHandlerDuration() {
+    return averageHandlerDuration;
+  }
+
+  public synchronized double getAverageRoundTripTime() {
+    return averageRoundTripTime;
+  }
+
+}
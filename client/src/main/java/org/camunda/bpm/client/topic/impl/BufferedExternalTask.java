@@ -0,0 +1,57 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.topic.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.camunda.bpm.client.task.ExternalTask;
+
+/**
+ * <p>An external task which waits for a thread of a handler executor. Buffered tasks are
+ * ordered by {@link LockDeadlineComparator} and, as a last resort, by their arrival.</p>
+ *
+ * @author Tassilo Weidner
+ */
+public class BufferedExternalTask implements Comparable<BufferedExternalTask> {
+
+  protected static final AtomicLong SEQUENCE = new AtomicLong();
+
+  protected final ExternalTask externalTask;
+  protected final TopicSubscriptionImpl subscription;
+  protected final long sequenceNumber;
+
+  public BufferedExternalTask(ExternalTask externalTask, TopicSubscriptionImpl subscription) {
+    this.externalTask = externalTask;
+    this.subscription = subscription;
+    this.sequenceNumber = SEQUENCE.getAndIncrement();
+  }
+
+  public ExternalTask getExternalTask() {
+    return externalTask;
+  }
+
+  public TopicSubscriptionImpl getSubscription() {
+    return subscription;
+  }
+
+  public int compareTo(BufferedExternalTask other) {
+    int result = LockDeadlineComparator.INSTANCE.compare(externalTask, other.externalTask);
+
+    if (result == 0) {
+      result = Long.compare(sequenceNumber, other.sequenceNumber);
+    }
+
+    return result;
+  }
+
+}
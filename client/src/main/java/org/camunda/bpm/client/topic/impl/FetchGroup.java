@@ -0,0 +1,89 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.topic.impl;
+
+import org.camunda.bpm.client.ClientBackOffStrategy;
+import org.camunda.bpm.client.backoff.ExponentialBackoffStrategy;
+
+/**
+ * <p>A set of topic subscriptions which are fetched together by their own task acquisition
+ * thread, with their own request settings and back off state.</p>
+ *
+ * <p>Subscriptions without a fetch group belong to the default group, which is configured
+ * by the client and has no name.</p>
+ *
+ * @author Tassilo Weidner
+ */
+public class FetchGroup {
+
+  protected String name;
+  protected Integer maxTasks;
+  protected Long asyncResponseTimeout;
+  protected ClientBackOffStrategy backOffStrategy;
+  protected ClientBackOffStrategy errorBackOffStrategy;
+  protected volatile FetchRequest fetchRequest;
+
+  /**
+   * @param name of the group, {@code null} for the default group
+   * @param maxTasks fetched within one request, {@code null} to apply the client configuration
+   * @param asyncResponseTimeout of a request, {@code null} to apply the client configuration
+   * @param backOffStrategy applied between requests, might be {@code null}
+   */
+  public FetchGroup(String name, Integer maxTasks, Long asyncResponseTimeout, ClientBackOffStrategy backOffStrategy) {
+    this.name = name;
+    this.maxTasks = maxTasks;
+    this.asyncResponseTimeout = asyncResponseTimeout;
+    this.backOffStrategy = backOffStrategy;
+    this.errorBackOffStrategy = new ExponentialBackoffStrategy();
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public boolean isDefault() {
+    return name == null;
+  }
+
+  public Integer getMaxTasks() {
+    return maxTasks;
+  }
+
+  public Long getAsyncResponseTimeout() {
+    return asyncResponseTimeout;
+  }
+
+  public ClientBackOffStrategy getBackOffStrategy() {
+    return backOffStrategy;
+  }
+
+  public void setBackOffStrategy(ClientBackOffStrategy backOffStrategy) {
+    this.backOffStrategy = backOffStrategy;
+  }
+
+  public FetchRequest getFetchRequest() {
+    return fetchRequest;
+  }
+
+  public void setFetchRequest(FetchRequest fetchRequest) {
+    this.fetchRequest = fetchRequest;
+  }
+
+  /**
+   * @return the strategy which is applied after failed requests if no back off strategy is configured
+   */
+  public ClientBackOffStrategy getErrorBackOffStrategy() {
+    return errorBackOffStrategy;
+  }
+
+}
@@ -0,0 +1,103 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.topic.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.camunda.bpm.client.topic.impl.dto.TopicRequestDto;
+
+/**
+ * <p>Snapshot of the topic subscriptions which are fetched within one fetch and lock request.</p>
+ *
+ * <p>A snapshot of all subscriptions of a fetch group is reused as long as the subscriptions
+ * do not change, including the serialized request bodies, so that polling does not rebuild
+ * and serialize the same payload over and over again.</p>
+ *
+ * @author Tassilo Weidner
+ */
+public class FetchRequest {
+
+  protected final int subscriptionsVersion;
+  protected final List<TopicSubscriptionImpl> subscriptions;
+  protected final List<TopicRequestDto> topicRequests;
+  protected final Map<String, TopicSubscriptionImpl> topicSubscriptions;
+  protected final long lockDuration;
+
+  // serialized request bodies by maximum amount of tasks
+  protected final Map<Integer, byte[]> payloads;
+
+  public FetchRequest(int subscriptionsVersion, List<TopicSubscriptionImpl> subscriptions, long clientLockDuration) {
+    this.subscriptionsVersion = subscriptionsVersion;
+    this.subscriptions = Collections.unmodifiableList(subscriptions);
+    this.payloads = new ConcurrentHashMap<>();
+
+    List<TopicRequestDto> topicRequests = new ArrayList<>();
+    Map<String, TopicSubscriptionImpl> topicSubscriptions = new HashMap<>();
+    long lockDuration = Long.MAX_VALUE;
+
+    for (TopicSubscriptionImpl subscription : subscriptions) {
+      TopicRequestDto topicRequest = TopicRequestDto.fromTopicSubscription(subscription, clientLockDuration);
+      topicRequests.add(topicRequest);
+      topicSubscriptions.put(subscription.getTopicName(), subscription);
+      lockDuration = Math.min(lockDuration, topicRequest.getLockDuration());
+    }
+
+    this.topicRequests = Collections.unmodifiableList(topicRequests);
+    this.topicSubscriptions = Collections.unmodifiableMap(topicSubscriptions);
+    this.lockDuration = lockDuration;
+  }
+
+  public int getSubscriptionsVersion() {
+    return subscriptionsVersion;
+  }
+
+  public List<TopicSubscriptionImpl> getSubscriptions() {
+    return subscriptions;
+  }
+
+  public boolean isEmpty() {
+    return subscriptions.isEmpty();
+  }
+
+  public List<TopicRequestDto> getTopicRequests() {
+    return topicRequests;
+  }
+
+  public TopicSubscriptionImpl getTopicSubscription(String topicName) {
+    return topicSubscriptions.get(topicName);
+  }
+
+  /**
+   * @return the shortest lock duration of the fetched topics
+   */
+  public long getLockDuration() {
+    return lockDuration;
+  }
+
+  /**
+   * @return the serialized request body or {@code null} if it has not been serialized yet
+   */
+  public byte[] getPayload(int maxTasks) {
+    return payloads.get(maxTasks);
+  }
+
+  public void putPayload(int maxTasks, byte[] payload) {
+    payloads.put(maxTasks, payload);
+  }
+
+}
@@ -0,0 +1,100 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.topic.impl;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * <p>Bounds the amount of external tasks which are handled at the same time</p>
+ *
+ * @author Tassilo Weidner
+ */
+public class HandlerCapacity {
+
+  protected final int maxConcurrentTasks;
+  protected int activeTasks;
+
+  public HandlerCapacity(int maxConcurrentTasks) {
+    this.maxConcurrentTasks = maxConcurrentTasks;
+    this.activeTasks = 0;
+  }
+
+  /**
+   * Blocks until at least one slot is free and occupies as many free slots as possible.
+   *
+   * @param maxSlots the maximum amount of slots to occupy
+   * @param isWaiting is evaluated whenever the calling thread wakes up; stops waiting if {@code false}
+   * @return the amount of occupied slots, {@code 0} if waiting has been stopped or interrupted
+   */
+  public synchronized int reserve(int maxSlots, BooleanSupplier isWaiting) {
+    while (activeTasks >= maxConcurrentTasks) {
+      if (!isWaiting.getAsBoolean()) {
+        return 0;
+      }
+
+      try {
+        wait();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return 0;
+      }
+    }
+
+    if (!isWaiting.getAsBoolean()) {
+      return 0;
+    }
+
+    int reservedSlots = Math.min(maxSlots, maxConcurrentTasks - activeTasks);
+    activeTasks += reservedSlots;
+    return reservedSlots;
+  }
+
+  /**
+   * Frees a slot which has been occupied by {@link #reserve(int, BooleanSupplier)}.
+   */
+  public void release() {
+    release(1);
+  }
+
+  /**
+   * Frees the given amount of slots.
+   *
+   * @param slots to free
+   */
+  public synchronized void release(int slots) {
+    if (slots > 0) {
+      activeTasks -= slots;
+      notifyAll();
+    }
+  }
+
+  /**
+   * Wakes up all threads which are waiting for a free slot to reevaluate their waiting condition.
+   */
+  public synchronized void wakeUp() {
+    notifyAll();
+  }
+
+  public int getMaxConcurrentTasks() {
+    return maxConcurrentTasks;
+  }
+
+  public synchronized int getActiveTasks() {
+    return activeTasks;
+  }
+
+  public synchronized int getAvailableSlots() {
+    return Math.max(0, maxConcurrentTasks - activeTasks);
+  }
+
+}
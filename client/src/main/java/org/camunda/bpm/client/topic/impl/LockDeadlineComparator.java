@@ -0,0 +1,53 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.topic.impl;
+
+import java.util.Comparator;
+import java.util.Date;
+
+import org.camunda.bpm.client.task.ExternalTask;
+import org.camunda.bpm.client.task.impl.ExternalTaskImpl;
+
+/**
+ * <p>Orders external tasks by the expiration of their locks (earliest deadline first)
+ * and, if the locks expire at the same time, by their priority (highest first).</p>
+ *
+ * @author Tassilo Weidner
+ */
+public class LockDeadlineComparator implements Comparator<ExternalTask> {
+
+  public static final LockDeadlineComparator INSTANCE = new LockDeadlineComparator();
+
+  public int compare(ExternalTask externalTask, ExternalTask otherExternalTask) {
+    int result = Long.compare(getLockDeadline(externalTask), getLockDeadline(otherExternalTask));
+
+    if (result == 0) {
+      result = Long.compare(otherExternalTask.getPriority(), externalTask.getPriority());
+    }
+
+    return result;
+  }
+
+  protected long getLockDeadline(ExternalTask externalTask) {
+    if (externalTask instanceof ExternalTaskImpl) {
+      long localLockExpirationTime = ((ExternalTaskImpl) externalTask).getLocalLockExpirationTime();
+      if (localLockExpirationTime > 0) {
+        return localLockExpirationTime;
+      }
+    }
+
+    Date lockExpirationTime = externalTask.getLockExpirationTime();
+    return lockExpirationTime != null ? lockExpirationTime.getTime() : Long.MAX_VALUE;
+  }
+
+}
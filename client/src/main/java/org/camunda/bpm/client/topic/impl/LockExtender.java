@@ -0,0 +1,173 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.topic.impl;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.client.HttpResponseException;
+import org.camunda.bpm.client.impl.EngineClient;
+import org.camunda.bpm.client.impl.EngineClientException;
+import org.camunda.bpm.client.impl.ExternalTaskClientLogger;
+import org.camunda.bpm.client.task.ExternalTask;
+import org.camunda.bpm.client.task.impl.ExternalTaskImpl;
+
+/**
+ * <p>Extends the locks of fetched external tasks in the background as long as they are
+ * waiting for or being handled by a handler, so that short lock durations can be used
+ * for topics whose handlers occasionally take longer.</p>
+ *
+ * <p>All tasks are served by a single scheduler thread. A lock is extended after two thirds
+ * of its duration have passed, and only until the lock has been held for the configured
+ * maximum lock duration in total. Lock expiration is tracked by the local clock from the
+ * moment the fetch and lock request has been sent, so that clock skew towards the engine
+ * does not matter.</p>
+ *
+ * @author Tassilo Weidner
+ */
+public class LockExtender {
+
+  protected static final TopicSubscriptionManagerLogger LOG = ExternalTaskClientLogger.TOPIC_SUBSCRIPTION_MANAGER_LOGGER;
+
+  protected static final double RENEWAL_RATIO = 2.0 / 3.0;
+
+  protected EngineClient engineClient;
+  protected long maxLockDuration;
+  protected ScheduledThreadPoolExecutor scheduler;
+  protected Map<String, Future<?>> scheduledExtensions;
+
+  public LockExtender(EngineClient engineClient, long maxLockDuration) {
+    this.engineClient = engineClient;
+    this.maxLockDuration = maxLockDuration;
+    this.scheduledExtensions = new ConcurrentHashMap<>();
+
+    this.scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+      Thread thread = new Thread(runnable, LockExtender.class.getSimpleName());
+      thread.setDaemon(true);
+      return thread;
+    });
+    // the thread is only kept alive while locks are tracked
+    this.scheduler.setKeepAliveTime(60L, TimeUnit.SECONDS);
+    this.scheduler.allowCoreThreadTimeOut(true);
+    this.scheduler.setRemoveOnCancelPolicy(true);
+  }
+
+  /**
+   * Starts tracking the lock of an external task which has just been received.
+   *
+   * @param externalTask whose lock is extended
+   * @param lockDuration in milliseconds the task has been locked for
+   * @param lockedSince the time the fetch and lock request has been sent, since the lock has been acquired afterwards
+   */
+  public void register(ExternalTask externalTask, long lockDuration, long lockedSince) {
+    String externalTaskId = externalTask.getId();
+
+    // tracked before scheduling, so that an extension which is due right away finds the task
+    Future<?> placeholder = new CompletableFuture<>();
+    scheduledExtensions.put(externalTaskId, placeholder);
+
+    ScheduledFuture<?> extension = schedule(externalTask, lockDuration, lockedSince, lockedSince + lockDuration);
+    if (!scheduledExtensions.replace(externalTaskId, placeholder, extension)) {
+      // unregistered or already extended in the meantime
+      extension.cancel(false);
+    }
+  }
+
+  /**
+   * Stops tracking the lock of an external task, e.g. because its handler has finished.
+   */
+  public void unregister(ExternalTask externalTask) {
+    Future<?> extension = scheduledExtensions.remove(externalTask.getId());
+    if (extension != null) {
+      extension.cancel(false);
+    }
+  }
+
+  protected ScheduledFuture<?> schedule(ExternalTask externalTask, long lockDuration, long lockedSince, long lockExpiration) {
+    long renewalTime = lockExpiration - (long) (lockDuration * (1 - RENEWAL_RATIO));
+    long delay = Math.max(renewalTime - System.currentTimeMillis(), 0);
+
+    return scheduler.schedule(() -> extendLock(externalTask, lockDuration, lockedSince), delay, TimeUnit.MILLISECONDS);
+  }
+
+  protected void extendLock(ExternalTask externalTask, long lockDuration, long lockedSince) {
+    String externalTaskId = externalTask.getId();
+    if (!scheduledExtensions.containsKey(externalTaskId)) {
+      return;
+    }
+
+    long now = System.currentTimeMillis();
+    long newDuration = Math.min(lockDuration, lockedSince + maxLockDuration - now);
+
+    if (newDuration <= 0) {
+      scheduledExtensions.remove(externalTaskId);
+      LOG.maxLockDurationReached(externalTaskId, maxLockDuration);
+      return;
+    }
+
+    try {
+      engineClient.extendLock(externalTaskId, newDuration);
+    } catch (EngineClientException e) {
+      boolean isRegistered = scheduledExtensions.remove(externalTaskId) != null;
+
+      // the handler might have completed the task or its lock might have been lost in the meantime
+      if (isRegistered && !isTaskReleased(e)) {
+        LOG.exceptionWhileExtendingLock(externalTaskId, e);
+      }
+      else {
+        LOG.lockOfReleasedExternalTaskNotExtended(externalTaskId, e);
+      }
+      return;
+    }
+
+    if (externalTask instanceof ExternalTaskImpl) {
+      ((ExternalTaskImpl) externalTask).setLocalLockExpirationTime(now + newDuration);
+    }
+
+    ScheduledFuture<?> extension = schedule(externalTask, newDuration, lockedSince, now + newDuration);
+    if (scheduledExtensions.replace(externalTaskId, extension) == null) {
+      // unregistered in the meantime
+      extension.cancel(false);
+    }
+  }
+
+  /**
+   * @return {@code true} if the task does not exist anymore (404) or is not locked by the client
+   * anymore (400), which happens if the handler finishes the task while its lock is extended
+   */
+  protected boolean isTaskReleased(EngineClientException exception) {
+    Throwable cause = exception.getCause();
+    if (cause instanceof HttpResponseException) {
+      int statusCode = ((HttpResponseException) cause).getStatusCode();
+      return statusCode == 400 || statusCode == 404;
+    }
+    return false;
+  }
+
+  public long getMaxLockDuration() {
+    return maxLockDuration;
+  }
+
+  /**
+   * @return the amount of external tasks whose locks are currently tracked
+   */
+  public int getTrackedTasks() {
+    return scheduledExtensions.size();
+  }
+
+}
@@ -0,0 +1,108 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.topic.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
+
+import org.camunda.bpm.client.task.ExternalTask;
+
+/**
+ * <p>Isolates the handler executions of a single topic by bounding the amount of its
+ * external tasks which are handled at the same time. Tasks exceeding the limit are
+ * kept back until a running handler of the same topic has finished.</p>
+ *
+ * @author Tassilo Weidner
+ */
+public class TopicBulkhead {
+
+  protected final int maxConcurrency;
+  protected int activeTasks;
+  protected Queue<ExternalTask> pendingTasks;
+
+  public TopicBulkhead(int maxConcurrency) {
+    this.maxConcurrency = maxConcurrency;
+    this.activeTasks = 0;
+    this.pendingTasks = new PriorityQueue<>(LockDeadlineComparator.INSTANCE);
+  }
+
+  /**
+   * @param externalTask which is supposed to be handled
+   * @return {@code true} if the task can be handled right away, otherwise the task is kept back as pending
+   */
+  public synchronized boolean tryAcquire(ExternalTask externalTask) {
+    if (activeTasks < maxConcurrency) {
+      activeTasks++;
+      return true;
+    }
+
+    pendingTasks.add(externalTask);
+    return false;
+  }
+
+  /**
+   * Is invoked when a handler of the topic has finished.
+   *
+   * @return the pending task with the earliest lock expiration which takes over the freed slot,
+   * or {@code null} if no task is pending
+   */
+  public synchronized ExternalTask release() {
+    ExternalTask pendingTask = pendingTasks.poll();
+
+    if (pendingTask == null) {
+      activeTasks--;
+    }
+
+    return pendingTask;
+  }
+
+  /**
+   * Removes all pending tasks, e.g. to unlock them since they will not be handled anymore.
+   *
+   * @return the removed tasks
+   */
+  public synchronized List<ExternalTask> drainPendingTasks() {
+    List<ExternalTask> drainedTasks = new ArrayList<>(pendingTasks);
+    pendingTasks.clear();
+    return drainedTasks;
+  }
+
+  /**
+   * @return {@code true} if further tasks of the topic can be handled right away
+   */
+  public synchronized boolean hasHeadroom() {
+    return activeTasks < maxConcurrency && pendingTasks.isEmpty();
+  }
+
+  /**
+   * @return the amount of further tasks of the topic which can be handled right away
+   */
+  public synchronized int getAvailableSlots() {
+    return pendingTasks.isEmpty() ? maxConcurrency - activeTasks : 0;
+  }
+
+  public int getMaxConcurrency() {
+    return maxConcurrency;
+  }
+
+  public synchronized int getActiveTasks() {
+    return activeTasks;
+  }
+
+  public synchronized int getPendingTasks() {
+    return pendingTasks.size();
+  }
+
+}
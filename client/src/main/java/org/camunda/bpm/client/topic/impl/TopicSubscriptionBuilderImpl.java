@@ -19,6 +19,7 @@ import org.camunda.bpm.client.topic.TopicSubscriptionBuilder;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 /**
  * @author Tassilo Weidner
@@ -32,6 +33,9 @@ public class TopicSubscriptionBuilderImpl implements TopicSubscriptionBuilder {
   protected List<String> variableNames;
   protected String businessKey;
   protected ExternalTaskHandler externalTaskHandler;
+  protected Integer maxConcurrency;
+  protected ExecutorService handlerExecutor;
+  protected String fetchGroup;
   protected TopicSubscriptionManager topicSubscriptionManager;
 
   public TopicSubscriptionBuilderImpl(String topicName, TopicSubscriptionManager topicSubscriptionManager) {
@@ -61,6 +65,21 @@ public class TopicSubscriptionBuilderImpl implements TopicSubscriptionBuilder {
     return this;
   }
 
+  public TopicSubscriptionBuilder maxConcurrency(int maxConcurrency) {
+    this.maxConcurrency = maxConcurrency;
+    return this;
+  }
+
+  public TopicSubscriptionBuilder handlerExecutor(ExecutorService handlerExecutor) {
+    this.handlerExecutor = handlerExecutor;
+    return this;
+  }
+
+  public TopicSubscriptionBuilder fetchGroup(String fetchGroup) {
+    this.fetchGroup = fetchGroup;
+    return this;
+  }
+
   public TopicSubscription open() {
     if (topicName == null) {
       throw LOG.topicNameNullException();
@@ -74,7 +93,15 @@ public class TopicSubscriptionBuilderImpl implements TopicSubscriptionBuilder {
       throw LOG.externalTaskHandlerNullException();
     }
 
+    if (maxConcurrency != null && maxConcurrency <= 0) {
+      throw LOG.maxConcurrencyNotGreaterThanZeroException();
+    }
+
     TopicSubscriptionImpl subscription = new TopicSubscriptionImpl(topicName, lockDuration, externalTaskHandler, topicSubscriptionManager, variableNames, businessKey);
+    subscription.setMaxConcurrency(maxConcurrency);
+    subscription.setHandlerExecutor(handlerExecutor);
+    subscription.setFetchGroup(fetchGroup);
+
     topicSubscriptionManager.subscribe(subscription);
 
     return subscription;
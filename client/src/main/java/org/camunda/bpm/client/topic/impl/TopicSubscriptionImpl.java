@@ -16,6 +16,8 @@ import org.camunda.bpm.client.task.ExternalTaskHandler;
 import org.camunda.bpm.client.topic.TopicSubscription;
 
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.PriorityBlockingQueue;
 
 /**
  * @author Tassilo Weidner
@@ -28,6 +30,11 @@ public class TopicSubscriptionImpl implements TopicSubscription {
   protected TopicSubscriptionManager topicSubscriptionManager;
   protected List<String> variableNames;
   protected String businessKey;
+  protected Integer maxConcurrency;
+  protected ExecutorService handlerExecutor;
+  protected TopicBulkhead bulkhead;
+  protected String fetchGroup;
+  protected PriorityBlockingQueue<BufferedExternalTask> taskBuffer;
 
   public TopicSubscriptionImpl(String topicName, Long lockDuration, ExternalTaskHandler externalTaskHandler,
                                TopicSubscriptionManager topicSubscriptionManager, List<String> variableNames,
@@ -65,4 +72,48 @@ public class TopicSubscriptionImpl implements TopicSubscription {
     return businessKey;
   }
 
+  public Integer getMaxConcurrency() {
+    return maxConcurrency;
+  }
+
+  public void setMaxConcurrency(Integer maxConcurrency) {
+    this.maxConcurrency = maxConcurrency;
+    this.bulkhead = maxConcurrency != null ? new TopicBulkhead(maxConcurrency) : null;
+  }
+
+  public ExecutorService getHandlerExecutor() {
+    return handlerExecutor;
+  }
+
+  public void setHandlerExecutor(ExecutorService handlerExecutor) {
+    this.handlerExecutor = handlerExecutor;
+    this.taskBuffer = handlerExecutor != null ? new PriorityBlockingQueue<>() : null;
+  }
+
+  /**
+   * @return the tasks of the topic which wait for a thread of the dedicated handler executor
+   */
+  public PriorityBlockingQueue<BufferedExternalTask> getTaskBuffer() {
+    return taskBuffer;
+  }
+
+  public String getFetchGroup() {
+    return fetchGroup;
+  }
+
+  public void setFetchGroup(String fetchGroup) {
+    this.fetchGroup = fetchGroup;
+  }
+
+  public TopicBulkhead getBulkhead() {
+    return bulkhead;
+  }
+
+  /**
+   * @return {@code true} if further external tasks of this topic can be handled right away
+   */
+  public boolean hasHeadroom() {
+    return bulkhead == null || bulkhead.hasHeadroom();
+  }
+
 }
@@ -13,13 +13,25 @@
 package org.camunda.bpm.client.topic.impl;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import org.camunda.bpm.client.ClientBackOffStrategy;
+import org.camunda.bpm.client.DrainResult;
+import org.camunda.bpm.client.backoff.ExponentialBackoffStrategy;
+import org.camunda.bpm.client.circuitbreaker.CircuitBreaker;
 import org.camunda.bpm.client.exception.ExternalTaskClientException;
 import org.camunda.bpm.client.impl.EngineClient;
 import org.camunda.bpm.client.impl.EngineClientException;
@@ -30,10 +42,10 @@ import org.camunda.bpm.client.impl.variable.VariableValue;
 import org.camunda.bpm.client.task.ExternalTask;
 import org.camunda.bpm.client.task.ExternalTaskHandler;
 import org.camunda.bpm.client.task.ExternalTaskService;
+import org.camunda.bpm.client.task.impl.CompletionRetryQueue;
 import org.camunda.bpm.client.task.impl.ExternalTaskImpl;
 import org.camunda.bpm.client.task.impl.ExternalTaskServiceImpl;
 import org.camunda.bpm.client.topic.TopicSubscription;
-import org.camunda.bpm.client.topic.impl.dto.TopicRequestDto;
 
 /**
  * @author Tassilo Weidner
@@ -42,32 +54,72 @@ public class TopicSubscriptionManager implements Runnable {
 
   protected static final TopicSubscriptionManagerLogger LOG = ExternalTaskClientLogger.TOPIC_SUBSCRIPTION_MANAGER_LOGGER;
 
+  protected static final long TOPIC_HEADROOM_WAIT_TIME = 1000;
+  protected static final long CIRCUIT_BREAKER_TRIAL_WAIT_TIME = 100;
+
   protected final Object MONITOR = new Object();
+  protected final Object TOPIC_HEADROOM_MONITOR = new Object();
+  protected final Object CIRCUIT_BREAKER_MONITOR = new Object();
 
   protected EngineClient engineClient;
   protected List<TopicSubscription> subscriptions;
+  protected volatile int subscriptionsVersion;
 
-  protected boolean isRunning;
-  protected Thread thread;
+  protected volatile boolean isRunning;
+  protected List<Thread> threads;
+  protected int concurrentFetches;
 
-  protected ClientBackOffStrategy backOffStrategy;
+  protected FetchGroup defaultFetchGroup;
+  protected Map<String, FetchGroup> fetchGroups;
 
   protected TypedValues typedValues;
 
   protected long clientLockDuration;
 
+  protected ExecutorService handlerExecutor;
+  protected Supplier<ExecutorService> handlerExecutorFactory;
+  protected HandlerCapacity handlerCapacity;
+  protected ThreadFactory acquisitionThreadFactory;
+  protected boolean isPipelinedFetching;
+  protected boolean isStreamingFetch;
+  protected AdaptiveMaxTasksController adaptiveMaxTasksController;
+  protected LockExtender lockExtender;
+  protected Long staleTaskThreshold;
+  protected CircuitBreaker circuitBreaker;
+  protected CompletionRetryQueue completionRetryQueue;
+  protected PriorityBlockingQueue<BufferedExternalTask> taskBuffer;
+
+  protected final Object DRAIN_MONITOR = new Object();
+  protected volatile boolean isDraining;
+  protected final AtomicInteger runningTasks;
+  protected final AtomicInteger completedTasksWhileDraining;
+  protected final AtomicInteger unlockedTasksWhileDraining;
+  protected final AtomicInteger abandonedTasksWhileDraining;
+
   public TopicSubscriptionManager(EngineClient engineClient, TypedValues typedValues, long clientLockDuration) {
     this.engineClient = engineClient;
     this.subscriptions = new CopyOnWriteArrayList<>();
     this.isRunning = false;
+    this.threads = new ArrayList<>();
+    this.concurrentFetches = 1;
     this.clientLockDuration = clientLockDuration;
     this.typedValues = typedValues;
+    this.defaultFetchGroup = new FetchGroup(null, null, null, null);
+    this.fetchGroups = new LinkedHashMap<>();
+    this.runningTasks = new AtomicInteger();
+    this.completedTasksWhileDraining = new AtomicInteger();
+    this.unlockedTasksWhileDraining = new AtomicInteger();
+    this.abandonedTasksWhileDraining = new AtomicInteger();
   }
 
   public void run() {
+    run(defaultFetchGroup);
+  }
+
+  protected void run(FetchGroup fetchGroup) {
     while (isRunning) {
       try {
-        acquire();
+        acquire(fetchGroup);
       }
       catch (Throwable e) {
         // TODO: log exception
@@ -76,55 +128,507 @@ public class TopicSubscriptionManager implements Runnable {
   }
 
   protected void acquire() {
-    List<TopicRequestDto> taskTopicRequests = new ArrayList<>();
-    Map<String, ExternalTaskHandler> externalTaskHandlers = new HashMap<>();
+    acquire(defaultFetchGroup);
+  }
 
-    subscriptions.forEach(subscription -> {
-      TopicRequestDto taskTopicRequest = TopicRequestDto.fromTopicSubscription(subscription, clientLockDuration);
-      taskTopicRequests.add(taskTopicRequest);
+  protected void acquire(FetchGroup fetchGroup) {
+    if (circuitBreaker != null && !circuitBreaker.isRequestPermitted()) {
+      // the engine is not bothered with fetch and lock requests while it is degraded
+      waitForCircuitBreaker();
+      return;
+    }
 
-      String topicName = subscription.getTopicName();
-      ExternalTaskHandler externalTaskHandler = subscription.getExternalTaskHandler();
-      externalTaskHandlers.put(topicName, externalTaskHandler);
-    });
+    FetchRequest fetchRequest = getFetchRequest(fetchGroup);
+    int topicHeadroom = 0;
+    boolean isTopicExhausted = false;
+
+    for (TopicSubscriptionImpl subscription : fetchRequest.getSubscriptions()) {
+      TopicBulkhead bulkhead = subscription.getBulkhead();
 
-    if (!taskTopicRequests.isEmpty()) {
-      List<ExternalTask> externalTasks = fetchAndLock(taskTopicRequests);
+      int availableSlots = bulkhead != null ? bulkhead.getAvailableSlots() : Integer.MAX_VALUE;
+      isTopicExhausted |= availableSlots == 0;
+      topicHeadroom = (int) Math.min((long) topicHeadroom + availableSlots, Integer.MAX_VALUE);
+    }
+
+    if (isTopicExhausted) {
+      // exhausted topics are not fetched until one of their handlers has finished
+      List<TopicSubscriptionImpl> subscriptionsWithHeadroom = fetchRequest.getSubscriptions().stream()
+        .filter(TopicSubscriptionImpl::hasHeadroom)
+        .collect(Collectors.toList());
+      fetchRequest = new FetchRequest(fetchRequest.getSubscriptionsVersion(), subscriptionsWithHeadroom, clientLockDuration);
+    }
+
+    if (fetchRequest.isEmpty()) {
+      // waits until a topic of the group is subscribed or has finished a handler
+      waitForTopicHeadroom(fetchGroup);
+    }
+    else {
+      // do not lock more tasks than the fetched topics are able to handle
+      int batchSize = getMaxTasks(fetchGroup);
+      int maxTasks = Math.min(batchSize, topicHeadroom);
 
-      externalTasks.forEach(externalTask -> {
-        String topicName = externalTask.getTopicName();
-        ExternalTaskHandler taskHandler = externalTaskHandlers.get(topicName);
+      if (isPipelinedFetching) {
+        // only fetch as many tasks as there are free handler slots
+        maxTasks = handlerCapacity.reserve(maxTasks, this::isRunning);
+        if (maxTasks == 0) {
+          return;
+        }
+      }
+
+      long fetchStartTime = System.currentTimeMillis();
+      AtomicLong firstTaskReceivedTime = new AtomicLong(0L);
+      FetchRequest performedRequest = fetchRequest;
+      List<ExternalTask> externalTasks = new ArrayList<>();
+      boolean isFetchFailed = false;
 
-        if (taskHandler != null) {
-          handleExternalTask(externalTask, taskHandler);
+      try {
+        if (isStreamingFetch) {
+          // each task is dispatched as soon as it has been parsed from the response
+          fetchAndLock(performedRequest, maxTasks, fetchGroup, externalTask -> {
+            firstTaskReceivedTime.compareAndSet(0L, System.currentTimeMillis());
+            externalTasks.add(externalTask);
+            recordLockExpiration(externalTask, performedRequest, fetchStartTime);
+            dispatchFetchedExternalTask(externalTask, performedRequest, fetchStartTime, !isRunning);
+          });
         }
         else {
-          // TODO: log
+          externalTasks.addAll(fetchAndLock(performedRequest, maxTasks, fetchGroup));
         }
-      });
+      } catch (EngineClientException e) {
+        // pending requests are aborted on stop
+        if (isRunning) {
+          LOG.exceptionWhilePerformingFetchAndLock(e);
+        }
+        isFetchFailed = true;
+      }
 
-      try {
-        if (backOffStrategy != null && externalTasks.isEmpty()) {
-          backOffStrategy.startWaiting();
-        } else if (backOffStrategy != null && !externalTasks.isEmpty()) {
-          backOffStrategy.reset();
+      if (adaptiveMaxTasksController != null && fetchGroup.getMaxTasks() == null && !isFetchFailed) {
+        // the time spent on dispatching streamed tasks does not count
+        long fetchEndTime = isStreamingFetch && !externalTasks.isEmpty() ? firstTaskReceivedTime.get() : System.currentTimeMillis();
+        long roundTripTime = fetchEndTime - fetchStartTime;
+        // a request limited by free handler slots or topic headroom must not count as a full batch
+        adaptiveMaxTasksController.onFetchAndLockPerformed(batchSize, externalTasks.size(), roundTripTime, fetchRequest.getLockDuration());
+      }
+
+      if (isPipelinedFetching) {
+        handlerCapacity.release(maxTasks - externalTasks.size());
+      }
+
+      if (!isStreamingFetch) {
+        // a batch which has been received before stopping is still handled as a whole
+        boolean isReceivedWhileStopping = !isRunning;
+        prioritizeExternalTasks(externalTasks, performedRequest, fetchStartTime)
+          .forEach(externalTask -> dispatchFetchedExternalTask(externalTask, performedRequest, fetchStartTime, isReceivedWhileStopping));
+      }
+
+      if (isFetchFailed && isRunning) {
+        backOffAfterError(fetchGroup);
+      }
+      else if (!isFetchFailed) {
+        backOff(externalTasks, fetchGroup);
+      }
+    }
+  }
+
+  protected void dispatchFetchedExternalTask(ExternalTask externalTask, FetchRequest fetchRequest, long lockedSince, boolean isReceivedWhileStopping) {
+    TopicSubscriptionImpl topicSubscription = fetchRequest.getTopicSubscription(externalTask.getTopicName());
+
+    if (isReceivedWhileStopping) {
+      // received while stopping, other clients can fetch the task right away
+      releaseUnstartedExternalTask(externalTask);
+      if (isPipelinedFetching) {
+        releaseHandlerCapacity();
+      }
+      return;
+    }
+
+    if (topicSubscription == null) {
+      // the topic has been unsubscribed while the fetch request was pending
+      LOG.externalTaskOfUnsubscribedTopicUnlocked(externalTask.getId(), externalTask.getTopicName());
+      unlockExternalTask(externalTask);
+      if (isPipelinedFetching) {
+        releaseHandlerCapacity();
+      }
+      return;
+    }
+
+    if (lockExtender != null) {
+      lockExtender.register(externalTask, getLockDuration(topicSubscription), lockedSince);
+    }
+
+    if (isPipelinedFetching) {
+      executeExternalTask(externalTask, topicSubscription);
+    }
+    else {
+      dispatchExternalTask(externalTask, topicSubscription);
+    }
+  }
+
+  protected void backOff(List<ExternalTask> externalTasks, FetchGroup fetchGroup) {
+    ClientBackOffStrategy backOffStrategy = fetchGroup.getBackOffStrategy();
+
+    try {
+      if (backOffStrategy != null && externalTasks.isEmpty()) {
+        backOffStrategy.startWaiting();
+      } else if (backOffStrategy != null && !externalTasks.isEmpty()) {
+        backOffStrategy.reset();
+      }
+
+      fetchGroup.getErrorBackOffStrategy().reset();
+    } catch (Throwable e) {
+      LOG.exceptionWhileExecutingBackOffStrategyMethod(e);
+    }
+  }
+
+  protected void backOffAfterError(FetchGroup fetchGroup) {
+    ClientBackOffStrategy backOffStrategy = fetchGroup.getBackOffStrategy();
+
+    try {
+      if (backOffStrategy != null) {
+        backOffStrategy.startWaitingAfterError();
+      } else {
+        // avoids polling an unavailable engine in a tight loop
+        fetchGroup.getErrorBackOffStrategy().startWaitingAfterError();
+      }
+    } catch (Throwable e) {
+      LOG.exceptionWhileExecutingBackOffStrategyMethod(e);
+    }
+  }
+
+  protected int getMaxTasks(FetchGroup fetchGroup) {
+    if (fetchGroup.getMaxTasks() != null) {
+      return fetchGroup.getMaxTasks();
+    }
+    else if (adaptiveMaxTasksController != null) {
+      return adaptiveMaxTasksController.getMaxTasks();
+    }
+
+    return engineClient.getMaxTasks();
+  }
+
+  protected boolean isInFetchGroup(TopicSubscriptionImpl subscription, FetchGroup fetchGroup) {
+    return Objects.equals(subscription.getFetchGroup(), fetchGroup.getName());
+  }
+
+  protected void waitForTopicHeadroom(FetchGroup fetchGroup) {
+    synchronized (TOPIC_HEADROOM_MONITOR) {
+      boolean hasTopicHeadroom = subscriptions.stream()
+        .map(subscription -> (TopicSubscriptionImpl) subscription)
+        .anyMatch(subscription -> isInFetchGroup(subscription, fetchGroup) && subscription.hasHeadroom());
+
+      if (isRunning && !hasTopicHeadroom) {
+        try {
+          TOPIC_HEADROOM_MONITOR.wait(TOPIC_HEADROOM_WAIT_TIME);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
         }
-      } catch (Throwable e) {
-        LOG.exceptionWhileExecutingBackOffStrategyMethod(e);
       }
     }
   }
 
-  protected List<ExternalTask> fetchAndLock(List<TopicRequestDto> subscriptions) {
-    List<ExternalTask> externalTasks = Collections.emptyList();
+  protected void waitForCircuitBreaker() {
+    // determined outside of the monitor, since state transitions notify the monitor while holding the circuit breaker
+    long remainingOpenStateDuration = circuitBreaker.getRemainingOpenStateDuration();
+    // while half-open, waits for the trial requests of other threads to finish
+    long waitTime = remainingOpenStateDuration > 0 ? remainingOpenStateDuration : CIRCUIT_BREAKER_TRIAL_WAIT_TIME;
+
+    synchronized (CIRCUIT_BREAKER_MONITOR) {
+      if (isRunning) {
+        try {
+          CIRCUIT_BREAKER_MONITOR.wait(waitTime);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    }
+  }
+
+  protected void notifyCircuitBreakerWaiters() {
+    synchronized (CIRCUIT_BREAKER_MONITOR) {
+      CIRCUIT_BREAKER_MONITOR.notifyAll();
+    }
+  }
+
+  protected void notifyTopicHeadroom() {
+    synchronized (TOPIC_HEADROOM_MONITOR) {
+      TOPIC_HEADROOM_MONITOR.notifyAll();
+    }
+  }
+
+  /**
+   * @return the cached request of all subscriptions of the fetch group, rebuilt whenever a topic is subscribed or unsubscribed
+   */
+  protected FetchRequest getFetchRequest(FetchGroup fetchGroup) {
+    int version = subscriptionsVersion;
+    FetchRequest fetchRequest = fetchGroup.getFetchRequest();
+
+    if (fetchRequest == null || fetchRequest.getSubscriptionsVersion() != version) {
+      List<TopicSubscriptionImpl> groupSubscriptions = subscriptions.stream()
+        .map(subscription -> (TopicSubscriptionImpl) subscription)
+        .filter(subscription -> isInFetchGroup(subscription, fetchGroup))
+        .collect(Collectors.toList());
+
+      fetchRequest = new FetchRequest(version, groupSubscriptions, clientLockDuration);
+      fetchGroup.setFetchRequest(fetchRequest);
+    }
+
+    return fetchRequest;
+  }
+
+  protected List<ExternalTask> fetchAndLock(FetchRequest fetchRequest, int maxTasks, FetchGroup fetchGroup) throws EngineClientException {
+    byte[] payload = getFetchAndLockPayload(fetchRequest, maxTasks, fetchGroup);
+    return engineClient.fetchAndLock(payload);
+  }
+
+  protected void fetchAndLock(FetchRequest fetchRequest, int maxTasks, FetchGroup fetchGroup, Consumer<ExternalTask> externalTaskConsumer) throws EngineClientException {
+    byte[] payload = getFetchAndLockPayload(fetchRequest, maxTasks, fetchGroup);
+    engineClient.fetchAndLock(payload, externalTaskConsumer);
+  }
+
+  protected byte[] getFetchAndLockPayload(FetchRequest fetchRequest, int maxTasks, FetchGroup fetchGroup) throws EngineClientException {
+    byte[] payload = fetchRequest.getPayload(maxTasks);
+
+    if (payload == null) {
+      Long asyncResponseTimeout = fetchGroup.getAsyncResponseTimeout() != null ?
+        fetchGroup.getAsyncResponseTimeout() : engineClient.getAsyncResponseTimeout();
+
+      payload = engineClient.serializeFetchAndLockRequest(fetchRequest.getTopicRequests(), maxTasks, asyncResponseTimeout);
+      fetchRequest.putPayload(maxTasks, payload);
+    }
+
+    return payload;
+  }
+
+  /**
+   * Records when the locks of the received tasks expire and orders the tasks by their lock
+   * expiration (earliest first) and their priority.
+   */
+  protected List<ExternalTask> prioritizeExternalTasks(List<ExternalTask> externalTasks, FetchRequest fetchRequest, long lockedSince) {
+    externalTasks.forEach(externalTask -> recordLockExpiration(externalTask, fetchRequest, lockedSince));
+
+    if (externalTasks.size() < 2) {
+      return externalTasks;
+    }
+
+    List<ExternalTask> prioritizedTasks = new ArrayList<>(externalTasks);
+    prioritizedTasks.sort(LockDeadlineComparator.INSTANCE);
+    return prioritizedTasks;
+  }
+
+  protected void recordLockExpiration(ExternalTask externalTask, FetchRequest fetchRequest, long lockedSince) {
+    TopicSubscriptionImpl subscription = fetchRequest.getTopicSubscription(externalTask.getTopicName());
+    if (subscription != null) {
+      // the lock has been acquired after the request was sent
+      ((ExternalTaskImpl) externalTask).setLocalLockExpirationTime(lockedSince + getLockDuration(subscription));
+    }
+  }
+
+  protected long getLockDuration(TopicSubscription subscription) {
+    Long lockDuration = subscription.getLockDuration();
+    return lockDuration != null ? lockDuration : clientLockDuration;
+  }
+
+  protected void dispatchExternalTask(ExternalTask externalTask, TopicSubscriptionImpl subscription) {
+    // a received batch is handled completely when stopping, but unlocked when draining
+    if (handlerCapacity != null && handlerCapacity.reserve(1, this::isWaitingForHandlerCapacity) == 0) {
+      releaseUnstartedExternalTask(externalTask);
+      return;
+    }
+
+    executeExternalTask(externalTask, subscription);
+  }
+
+  protected boolean isWaitingForHandlerCapacity() {
+    return isRunning || !isDraining;
+  }
+
+  /**
+   * Executes the handler of an external task for which a handler slot has already been occupied.
+   * If the topic has reached its maximum concurrency, the task keeps the handler slot and is
+   * executed as soon as a handler of the same topic has finished.
+   */
+  protected void executeExternalTask(ExternalTask externalTask, TopicSubscriptionImpl subscription) {
+    TopicBulkhead bulkhead = subscription.getBulkhead();
+    if (bulkhead != null && !bulkhead.tryAcquire(externalTask)) {
+      return;
+    }
+
+    submitExternalTask(externalTask, subscription);
+  }
+
+  protected void submitExternalTask(ExternalTask externalTask, TopicSubscriptionImpl subscription) {
+    if (isDraining) {
+      releaseUnstartedExternalTask(externalTask);
+      onExternalTaskHandled(subscription);
+      return;
+    }
+
+    ExecutorService executor = subscription.getHandlerExecutor();
+    PriorityBlockingQueue<BufferedExternalTask> taskBuffer = subscription.getTaskBuffer();
+
+    if (executor == null) {
+      executor = handlerExecutor;
+      taskBuffer = this.taskBuffer;
+    }
+
+    if (executor == null) {
+      runExternalTask(externalTask, subscription);
+      return;
+    }
+
+    if (executor.isShutdown()) {
+      // the client has been stopped by now
+      releaseUnstartedExternalTask(externalTask);
+      onExternalTaskHandled(subscription);
+      return;
+    }
+
+    // the executor runs the most urgent buffered task rather than the submitted one
+    BufferedExternalTask bufferedTask = new BufferedExternalTask(externalTask, subscription);
+    taskBuffer.add(bufferedTask);
+    PriorityBlockingQueue<BufferedExternalTask> buffer = taskBuffer;
+
+    try {
+      executor.execute(() -> {
+        BufferedExternalTask nextTask = buffer.poll();
+        if (nextTask != null) {
+          runExternalTask(nextTask.getExternalTask(), nextTask.getSubscription());
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      BufferedExternalTask rejectedTask = buffer.remove(bufferedTask) ? bufferedTask : buffer.poll();
+
+      if (rejectedTask != null) {
+        ExternalTask rejectedExternalTask = rejectedTask.getExternalTask();
+        LOG.exceptionWhileDispatchingExternalTask(rejectedExternalTask.getId(), e);
+        unlockExternalTask(rejectedExternalTask);
+        onExternalTaskHandled(rejectedTask.getSubscription());
+      }
+    }
+  }
+
+  protected void runExternalTask(ExternalTask externalTask, TopicSubscriptionImpl subscription) {
+    // counted before checking the drain mode, so that draining does not miss a starting handler
+    runningTasks.incrementAndGet();
+
+    if (isDraining) {
+      releaseUnstartedExternalTask(externalTask);
+      onExternalTaskFinished(subscription);
+      return;
+    }
+
+    if (isStale(externalTask)) {
+      dropStaleExternalTask(externalTask);
+      onExternalTaskFinished(subscription);
+      return;
+    }
+
+    long startTime = System.currentTimeMillis();
+    try {
+      handleExternalTask(externalTask, subscription.getExternalTaskHandler());
+    } finally {
+      if (lockExtender != null) {
+        lockExtender.unregister(externalTask);
+      }
+
+      if (adaptiveMaxTasksController != null) {
+        adaptiveMaxTasksController.onExternalTaskHandled(System.currentTimeMillis() - startTime);
+      }
+
+      if (isDraining) {
+        completedTasksWhileDraining.incrementAndGet();
+      }
+
+      onExternalTaskFinished(subscription);
+    }
+  }
+
+  protected void onExternalTaskFinished(TopicSubscriptionImpl subscription) {
+    onExternalTaskHandled(subscription);
+
+    if (runningTasks.decrementAndGet() == 0 && isDraining) {
+      synchronized (DRAIN_MONITOR) {
+        DRAIN_MONITOR.notifyAll();
+      }
+    }
+  }
+
+  protected boolean isStale(ExternalTask externalTask) {
+    if (staleTaskThreshold == null) {
+      return false;
+    }
+
+    // a negative remaining lock time means that the lock is not tracked
+    long remainingLockTime = externalTask.getRemainingLockTime();
+    return remainingLockTime >= 0 && remainingLockTime < staleTaskThreshold;
+  }
+
+  /**
+   * Hands a task back to the engine whose lock expires too soon to be handled, or skips it if
+   * the lock has already expired, since another worker might be handling it by now.
+   */
+  protected void dropStaleExternalTask(ExternalTask externalTask) {
+    long remainingLockTime = externalTask.getRemainingLockTime();
+    LOG.staleExternalTaskDropped(externalTask.getId(), remainingLockTime);
+
+    if (remainingLockTime > 0) {
+      unlockExternalTask(externalTask);
+    }
+    else if (lockExtender != null) {
+      lockExtender.unregister(externalTask);
+    }
+  }
+
+  protected void onExternalTaskHandled(TopicSubscriptionImpl subscription) {
+    TopicBulkhead bulkhead = subscription.getBulkhead();
+    ExternalTask pendingTask = bulkhead != null ? bulkhead.release() : null;
+
+    if (pendingTask != null) {
+      // the pending task takes over both the topic and the handler slot
+      submitExternalTask(pendingTask, subscription);
+    }
+    else {
+      releaseHandlerCapacity();
+
+      if (bulkhead != null) {
+        notifyTopicHeadroom();
+      }
+    }
+  }
+
+  protected void releaseHandlerCapacity() {
+    if (handlerCapacity != null) {
+      handlerCapacity.release();
+    }
+  }
+
+  /**
+   * @return {@code true} if the task has been unlocked successfully
+   */
+  protected boolean unlockExternalTask(ExternalTask externalTask) {
+    if (lockExtender != null) {
+      lockExtender.unregister(externalTask);
+    }
 
     try {
-      externalTasks = engineClient.fetchAndLock(subscriptions);
+      engineClient.unlock(externalTask.getId());
+      return true;
     } catch (EngineClientException e) {
-      LOG.exceptionWhilePerformingFetchAndLock(e);
+      LOG.exceptionWhileUnlockingExternalTask(externalTask.getId(), e);
+      return false;
     }
+  }
 
-    return externalTasks;
+  /**
+   * Unlocks a fetched task whose handler is not started anymore since the client is stopping or draining.
+   */
+  protected void releaseUnstartedExternalTask(ExternalTask externalTask) {
+    if (unlockExternalTask(externalTask)) {
+      unlockedTasksWhileDraining.incrementAndGet();
+    }
+    else {
+      abandonedTasksWhileDraining.incrementAndGet();
+    }
   }
 
   protected void handleExternalTask(ExternalTask externalTask, ExternalTaskHandler taskHandler) {
@@ -134,7 +638,7 @@ public class TopicSubscriptionManager implements Runnable {
     Map<String, VariableValue> deserializeVariables = typedValues.deserializeVariables(variables);
     task.setReceivedVariableMap(deserializeVariables);
 
-    ExternalTaskService service = new ExternalTaskServiceImpl(externalTask.getId(), engineClient);
+    ExternalTaskService service = new ExternalTaskServiceImpl(externalTask.getId(), engineClient, completionRetryQueue);
 
     try {
       taskHandler.execute(task, service);
@@ -147,45 +651,228 @@ public class TopicSubscriptionManager implements Runnable {
 
   public void stop() {
     synchronized (MONITOR) {
-      if (!isRunning || thread == null) {
+      if (!isRunning || threads.isEmpty()) {
         return;
       }
 
       isRunning = false;
 
-      if (backOffStrategy != null) {
-        try {
-          backOffStrategy.stopWaiting();
-        } catch (Throwable e) {
-          LOG.exceptionWhileExecutingBackOffStrategyMethod(e);
-        }
+      if (handlerCapacity != null) {
+        handlerCapacity.wakeUp();
+      }
+
+      notifyTopicHeadroom();
+      notifyCircuitBreakerWaiters();
+
+      // long polling requests would otherwise block until their response timeout
+      engineClient.abortFetchAndLock();
+
+      // each fetch loop might be waiting
+      for (int i = 0; i < concurrentFetches; i++) {
+        stopWaiting(defaultFetchGroup);
       }
+      fetchGroups.values().forEach(this::stopWaiting);
 
       try {
-        thread.join();
+        for (Thread thread : threads) {
+          thread.join();
+        }
       } catch (InterruptedException e) {
         Thread.currentThread().interrupt();
         LOG.exceptionWhileShuttingDown(e);
       }
+
+      threads.clear();
+      shutdownHandlerExecutor();
+      engineClient.shutdownAsyncExecutor();
+    }
+  }
+
+  /**
+   * Shuts down the handler executor if it has been created by the client. Running and queued
+   * handlers are still executed. Executors which have been passed to the client are left untouched.
+   */
+  protected void shutdownHandlerExecutor() {
+    if (handlerExecutorFactory != null && handlerExecutor != null) {
+      handlerExecutor.shutdown();
+    }
+  }
+
+  /**
+   * Stops fetching and locking of tasks, waits for the running handlers and the calls which are
+   * retried in the background to finish within the given timeout and unlocks all fetched tasks
+   * whose handlers have not been started yet, so that other clients can fetch them right away
+   * instead of waiting for their locks to expire.
+   *
+   * @param timeout in milliseconds to wait for the running handlers and the retried calls
+   * @return the amounts of completed, unlocked and abandoned tasks and of pending retries
+   */
+  public DrainResult drain(long timeout) {
+    synchronized (DRAIN_MONITOR) {
+      completedTasksWhileDraining.set(0);
+      unlockedTasksWhileDraining.set(0);
+      abandonedTasksWhileDraining.set(0);
+      isDraining = true;
+    }
+
+    if (handlerCapacity != null) {
+      // tasks which are waiting for a free slot are unlocked from now on
+      handlerCapacity.wakeUp();
+    }
+
+    int pendingRetries = 0;
+
+    try {
+      long deadline = System.currentTimeMillis() + timeout;
+
+      // fetched tasks which are dispatched from now on are unlocked right away
+      stop();
+      releaseWaitingExternalTasks();
+
+      synchronized (DRAIN_MONITOR) {
+        long remainingTime = deadline - System.currentTimeMillis();
+        while (runningTasks.get() > 0 && remainingTime > 0) {
+          DRAIN_MONITOR.wait(remainingTime);
+          remainingTime = deadline - System.currentTimeMillis();
+        }
+      }
+
+      // tasks of topics whose handlers are still running are waiting until the timeout
+      releaseWaitingExternalTasks();
+
+      // handlers might have queued retries until they finished
+      if (completionRetryQueue != null) {
+        pendingRetries = completionRetryQueue.awaitRetries(deadline - System.currentTimeMillis());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOG.exceptionWhileShuttingDown(e);
+    } finally {
+      isDraining = false;
+    }
+
+    int abandonedTasks = abandonedTasksWhileDraining.get() + runningTasks.get();
+    if (abandonedTasks > 0) {
+      LOG.externalTasksAbandonedWhileDraining(abandonedTasks);
+    }
+
+    if (pendingRetries > 0) {
+      LOG.completionRetriesPendingAfterDraining(pendingRetries);
+    }
+
+    // handlers which were still running might have performed asynchronous calls after stopping
+    engineClient.shutdownAsyncExecutor();
+
+    return new DrainResult(completedTasksWhileDraining.get(), unlockedTasksWhileDraining.get(), abandonedTasks, pendingRetries);
+  }
+
+  /**
+   * Unlocks the tasks which are waiting for a handler thread or for a free slot of their topic.
+   */
+  protected void releaseWaitingExternalTasks() {
+    releaseBufferedExternalTasks(taskBuffer);
+
+    for (TopicSubscription subscription : subscriptions) {
+      TopicSubscriptionImpl topicSubscription = (TopicSubscriptionImpl) subscription;
+      releaseBufferedExternalTasks(topicSubscription.getTaskBuffer());
+
+      TopicBulkhead bulkhead = topicSubscription.getBulkhead();
+      if (bulkhead != null) {
+        // each pending task occupies a handler slot but not a slot of its topic
+        bulkhead.drainPendingTasks().forEach(pendingTask -> {
+          releaseUnstartedExternalTask(pendingTask);
+          releaseHandlerCapacity();
+        });
+      }
+    }
+  }
+
+  protected void releaseBufferedExternalTasks(PriorityBlockingQueue<BufferedExternalTask> taskBuffer) {
+    if (taskBuffer == null) {
+      return;
+    }
+
+    BufferedExternalTask bufferedTask;
+    while ((bufferedTask = taskBuffer.poll()) != null) {
+      releaseUnstartedExternalTask(bufferedTask.getExternalTask());
+      onExternalTaskHandled(bufferedTask.getSubscription());
+    }
+  }
+
+  protected void clearStopRequests(FetchGroup fetchGroup) {
+    clearStopRequests(fetchGroup.getBackOffStrategy());
+    clearStopRequests(fetchGroup.getErrorBackOffStrategy());
+  }
+
+  protected void clearStopRequests(ClientBackOffStrategy backOffStrategy) {
+    if (backOffStrategy instanceof ExponentialBackoffStrategy) {
+      ((ExponentialBackoffStrategy) backOffStrategy).clearStopRequests();
+    }
+  }
+
+  protected void stopWaiting(FetchGroup fetchGroup) {
+    if (fetchGroup.getBackOffStrategy() != null) {
+      try {
+        fetchGroup.getBackOffStrategy().stopWaiting();
+      } catch (Throwable e) {
+        LOG.exceptionWhileExecutingBackOffStrategyMethod(e);
+      }
     }
+
+    fetchGroup.getErrorBackOffStrategy().stopWaiting();
   }
 
   public void start() {
     synchronized (MONITOR) {
-      if (isRunning && thread != null) {
+      if (isRunning && !threads.isEmpty()) {
         return;
       }
 
       isRunning = true;
-      thread = new Thread(this, TopicSubscriptionManager.class.getSimpleName());
-      thread.start();
+
+      // stop requests which no fetch loop has consumed would otherwise cut the next waits short
+      clearStopRequests(defaultFetchGroup);
+      fetchGroups.values().forEach(this::clearStopRequests);
+
+      if (handlerExecutorFactory != null && (handlerExecutor == null || handlerExecutor.isShutdown())) {
+        setHandlerExecutor(handlerExecutorFactory.get());
+      }
+
+      String threadName = TopicSubscriptionManager.class.getSimpleName();
+      for (int i = 1; i <= concurrentFetches; i++) {
+        String suffix = concurrentFetches > 1 ? "-" + i : "";
+        startAcquisitionThread(this, threadName + suffix);
+      }
+
+      fetchGroups.values().forEach(fetchGroup ->
+        startAcquisitionThread(() -> run(fetchGroup), threadName + "-" + fetchGroup.getName()));
+    }
+  }
+
+  protected void startAcquisitionThread(Runnable runnable, String threadName) {
+    Thread thread = createAcquisitionThread(runnable, threadName);
+    threads.add(thread);
+    thread.start();
+  }
+
+  protected Thread createAcquisitionThread(Runnable runnable, String threadName) {
+    if (acquisitionThreadFactory == null) {
+      return new Thread(runnable, threadName);
     }
+
+    Thread acquisitionThread = acquisitionThreadFactory.newThread(runnable);
+    acquisitionThread.setName(threadName);
+    return acquisitionThread;
   }
 
   protected synchronized void subscribe(TopicSubscriptionImpl subscription) {
     checkTopicNameAlreadySubscribed(subscription.getTopicName());
+    checkFetchGroupConfigured(subscription.getFetchGroup());
 
     subscriptions.add(subscription);
+    subscriptionsVersion++;
+
+    notifyTopicHeadroom();
   }
 
   protected void checkTopicNameAlreadySubscribed(String topicName) {
@@ -196,8 +883,15 @@ public class TopicSubscriptionManager implements Runnable {
     });
   }
 
-  protected void unsubscribe(TopicSubscriptionImpl subscription) {
+  protected void checkFetchGroupConfigured(String fetchGroupName) {
+    if (fetchGroupName != null && !fetchGroups.containsKey(fetchGroupName)) {
+      throw LOG.fetchGroupNotConfiguredException(fetchGroupName);
+    }
+  }
+
+  protected synchronized void unsubscribe(TopicSubscriptionImpl subscription) {
     subscriptions.remove(subscription);
+    subscriptionsVersion++;
   }
 
   public EngineClient getEngineClient() {
@@ -212,8 +906,163 @@ public class TopicSubscriptionManager implements Runnable {
     return isRunning;
   }
 
+  public boolean isDraining() {
+    return isDraining;
+  }
+
+  /**
+   * @return the amount of handlers which are running right now
+   */
+  public int getRunningTasks() {
+    return runningTasks.get();
+  }
+
   public void setBackOffStrategy(ClientBackOffStrategy backOffStrategy) {
-    this.backOffStrategy = backOffStrategy;
+    defaultFetchGroup.setBackOffStrategy(backOffStrategy);
+  }
+
+  public FetchGroup getDefaultFetchGroup() {
+    return defaultFetchGroup;
+  }
+
+  public Map<String, FetchGroup> getFetchGroups() {
+    return fetchGroups;
+  }
+
+  /**
+   * Registers a fetch group which is fetched by its own task acquisition thread. Takes effect on the next start.
+   */
+  public void addFetchGroup(FetchGroup fetchGroup) {
+    fetchGroups.put(fetchGroup.getName(), fetchGroup);
+  }
+
+  public ExecutorService getHandlerExecutor() {
+    return handlerExecutor;
+  }
+
+  public void setHandlerExecutor(ExecutorService handlerExecutor) {
+    this.handlerExecutor = handlerExecutor;
+    this.taskBuffer = handlerExecutor != null ? new PriorityBlockingQueue<>() : null;
+  }
+
+  public Supplier<ExecutorService> getHandlerExecutorFactory() {
+    return handlerExecutorFactory;
+  }
+
+  /**
+   * @param handlerExecutorFactory creates the handler executor whenever the client is started;
+   *                               the created executor is shut down when the client is stopped
+   */
+  public void setHandlerExecutorFactory(Supplier<ExecutorService> handlerExecutorFactory) {
+    this.handlerExecutorFactory = handlerExecutorFactory;
+  }
+
+  public HandlerCapacity getHandlerCapacity() {
+    return handlerCapacity;
+  }
+
+  public void setHandlerCapacity(HandlerCapacity handlerCapacity) {
+    this.handlerCapacity = handlerCapacity;
+  }
+
+  public void setAcquisitionThreadFactory(ThreadFactory acquisitionThreadFactory) {
+    this.acquisitionThreadFactory = acquisitionThreadFactory;
+  }
+
+  public boolean isPipelinedFetching() {
+    return isPipelinedFetching;
+  }
+
+  /**
+   * Enables fetching on demand: a fetch and lock request is performed as soon as a handler slot
+   * is free and asks for at most as many tasks as there are free slots. Requires a handler capacity.
+   */
+  public void setPipelinedFetching(boolean isPipelinedFetching) {
+    this.isPipelinedFetching = isPipelinedFetching;
+  }
+
+  public AdaptiveMaxTasksController getAdaptiveMaxTasksController() {
+    return adaptiveMaxTasksController;
+  }
+
+  /**
+   * Replaces the fixed amount of tasks fetched within one request by an amount which is
+   * adjusted after each request.
+   */
+  public void setAdaptiveMaxTasksController(AdaptiveMaxTasksController adaptiveMaxTasksController) {
+    this.adaptiveMaxTasksController = adaptiveMaxTasksController;
+  }
+
+  public LockExtender getLockExtender() {
+    return lockExtender;
+  }
+
+  /**
+   * Extends the locks of received external tasks in the background until their handlers have finished.
+   */
+  public void setLockExtender(LockExtender lockExtender) {
+    this.lockExtender = lockExtender;
+  }
+
+  public boolean isStreamingFetch() {
+    return isStreamingFetch;
+  }
+
+  /**
+   * Parses fetched tasks one by one and dispatches each task as soon as it has been parsed.
+   */
+  public void setStreamingFetch(boolean isStreamingFetch) {
+    this.isStreamingFetch = isStreamingFetch;
+  }
+
+  public Long getStaleTaskThreshold() {
+    return staleTaskThreshold;
+  }
+
+  /**
+   * Tasks whose remaining lock time is below the threshold (in milliseconds) are not handled anymore.
+   */
+  public void setStaleTaskThreshold(Long staleTaskThreshold) {
+    this.staleTaskThreshold = staleTaskThreshold;
+  }
+
+  public CircuitBreaker getCircuitBreaker() {
+    return circuitBreaker;
+  }
+
+  /**
+   * Pauses fetching and locking of tasks while the circuit breaker rejects requests.
+   */
+  public void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+    this.circuitBreaker = circuitBreaker;
+
+    if (circuitBreaker != null) {
+      // fetching resumes as soon as the circuit is half-open or closed again
+      circuitBreaker.addListener((fromState, toState) -> notifyCircuitBreakerWaiters());
+    }
+  }
+
+  public CompletionRetryQueue getCompletionRetryQueue() {
+    return completionRetryQueue;
+  }
+
+  /**
+   * Retries completing, failure notifications and BPMN errors of handlers in the background.
+   */
+  public void setCompletionRetryQueue(CompletionRetryQueue completionRetryQueue) {
+    this.completionRetryQueue = completionRetryQueue;
+  }
+
+  public int getConcurrentFetches() {
+    return concurrentFetches;
+  }
+
+  /**
+   * Specifies the amount of threads which perform fetch and lock requests over the same
+   * topic subscriptions at the same time. Takes effect on the next start.
+   */
+  public void setConcurrentFetches(int concurrentFetches) {
+    this.concurrentFetches = concurrentFetches;
   }
 
 }
@@ -51,6 +51,53 @@ public class TopicSubscriptionManagerLogger extends ExternalTaskClientLogger {
       "006", "Exception while executing back off strategy method: {}", e);
   }
 
+  protected void exceptionWhileDispatchingExternalTask(String externalTaskId, Throwable e) {
+    logError(
+      "007", "Exception while dispatching external task '{}' to the handler executor: {}", externalTaskId, e);
+  }
+
+  protected void exceptionWhileUnlockingExternalTask(String externalTaskId, EngineClientException e) {
+    logError(
+      "008", "Exception while unlocking external task '{}': {}", externalTaskId, e);
+  }
+
+  protected void exceptionWhileExtendingLock(String externalTaskId, EngineClientException e) {
+    logError(
+      "009", "Exception while extending the lock of external task '{}': {}", externalTaskId, e);
+  }
+
+  protected void maxLockDurationReached(String externalTaskId, long maxLockDuration) {
+    logWarn(
+      "010", "Lock of external task '{}' is not extended anymore since it has been held for the maximum lock duration of {} milliseconds",
+      externalTaskId, maxLockDuration);
+  }
+
+  protected void staleExternalTaskDropped(String externalTaskId, long remainingLockTime) {
+    logWarn(
+      "011", "External task '{}' is not handled since its lock expires in {} milliseconds", externalTaskId, remainingLockTime);
+  }
+
+  protected void externalTasksAbandonedWhileDraining(int abandonedTasks) {
+    logWarn(
+      "012", "{} external tasks keep their locks until they expire since they could not be finished or unlocked while draining", abandonedTasks);
+  }
+
+  protected void completionRetriesPendingAfterDraining(int pendingRetries) {
+    logWarn(
+      "013", "{} failed calls are still retried in the background after draining", pendingRetries);
+  }
+
+  protected void externalTaskOfUnsubscribedTopicUnlocked(String externalTaskId, String topicName) {
+    logWarn(
+      "014", "External task '{}' is unlocked since the client is not subscribed to its topic '{}' anymore", externalTaskId, topicName);
+  }
+
+  protected void lockOfReleasedExternalTaskNotExtended(String externalTaskId, EngineClientException e) {
+    logDebug(
+      "015", "Lock of external task '{}' has not been extended since the task has been finished or unlocked in the meantime: {}",
+      externalTaskId, e.getMessage());
+  }
+
   protected void exceptionWhileDeserializingVariables(String message) {
     delegateLogger.error(message);
   }
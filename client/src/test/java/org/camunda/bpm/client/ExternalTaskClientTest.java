@@ -15,28 +15,56 @@ package org.camunda.bpm.client;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.camunda.bpm.client.helper.MockProvider.BASE_URL;
 import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.isA;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.powermock.api.mockito.PowerMockito.mock;
 import static org.powermock.api.mockito.PowerMockito.mockStatic;
 import static org.powermock.api.mockito.PowerMockito.whenNew;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
 import org.apache.http.StatusLine;
+import org.apache.http.client.ResponseHandler;
 import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpExecutionAware;
+import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.InputStreamEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.protocol.HttpContext;
+import org.camunda.bpm.client.backoff.ExponentialBackoffStrategy;
+import org.camunda.bpm.client.circuitbreaker.CircuitBreaker;
+import org.camunda.bpm.client.circuitbreaker.CircuitBreakerState;
+import org.camunda.bpm.client.codec.EngineDtoCodec;
 import org.camunda.bpm.client.exception.ExternalTaskClientException;
 import org.camunda.bpm.client.helper.ClosableHttpClientMock;
 import org.camunda.bpm.client.helper.MockProvider;
@@ -45,13 +73,19 @@ import org.camunda.bpm.client.impl.ExternalTaskClientBuilderImpl;
 import org.camunda.bpm.client.impl.ExternalTaskClientImpl;
 import org.camunda.bpm.client.task.ExternalTask;
 import org.camunda.bpm.client.task.ExternalTaskHandler;
+import org.camunda.bpm.client.task.impl.ExternalTaskImpl;
+import org.camunda.bpm.client.task.impl.dto.ExtendLockRequestDto;
+import org.camunda.bpm.client.topic.TopicSubscription;
 import org.camunda.bpm.client.topic.TopicSubscriptionBuilder;
+import org.camunda.bpm.client.topic.impl.AdaptiveMaxTasksController;
+import org.camunda.bpm.client.topic.impl.TopicSubscriptionManager;
 import org.camunda.bpm.client.topic.impl.dto.FetchAndLockRequestDto;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
@@ -63,10 +97,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
  */
 @RunWith(PowerMockRunner.class)
 @PrepareForTest({HttpClients.class, ExternalTaskClientBuilderImpl.class})
+@PowerMockIgnore("javax.net.ssl.*")
 public class ExternalTaskClientTest {
 
   protected ExternalTaskClient client;
   protected CloseableHttpResponse closeableHttpResponse;
+  protected CloseableHttpClient httpClient;
 
   @Before
   public void setUp() {
@@ -80,7 +116,7 @@ public class ExternalTaskClientTest {
     when(closeableHttpResponse.getStatusLine())
       .thenReturn(mock(StatusLine.class));
 
-    CloseableHttpClient httpClient = spy(new ClosableHttpClientMock(closeableHttpResponse));
+    httpClient = spy(new ClosableHttpClientMock(closeableHttpResponse));
     when(httpClientBuilderMock.build())
       .thenReturn(httpClient);
   }
@@ -734,8 +770,1335 @@ public class ExternalTaskClientTest {
     assertThat(resetInvoke.get()).isTrue();
   }
 
+  @Test(timeout = 10000)
+  public void shouldInvokeBackOffStrategyStartWaitingAfterErrorMethod() throws Exception {
+    // given
+    AtomicBoolean startWaitAfterErrorInvoke = new AtomicBoolean(false);
+    ClientBackOffStrategy backOffStrategy = new ClientBackOffStrategy() {
+
+      @Override public void startWaiting() {
+      }
+
+      @Override public void startWaitingAfterError() {
+        startWaitAfterErrorInvoke.set(true);
+      }
+
+      @Override public void reset() {
+      }
+
+      @Override public void stopWaiting() {
+      }
+    };
+
+    StatusLine statusLine = mock(StatusLine.class);
+    when(statusLine.getStatusCode())
+      .thenReturn(503);
+    when(closeableHttpResponse.getStatusLine())
+      .thenReturn(statusLine);
+
+    client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .backOff(backOffStrategy)
+      .build();
+
+    TopicSubscriptionBuilder topicSubscriptionBuilder =
+      client.subscribe(MockProvider.TOPIC_NAME)
+        .handler((externalTask, externalTaskService) -> {});
+
+    // when
+    topicSubscriptionBuilder.open();
+    while (!startWaitAfterErrorInvoke.get()) {
+      // busy waiting
+    }
+    client.stop();
+
+    // then
+    assertThat(startWaitAfterErrorInvoke.get()).isTrue();
+  }
+
+  @Test(timeout = 10000)
+  public void shouldInterruptExponentialBackoffOnStop() throws Exception {
+    // given
+    mockFetchAndLockResponse(Collections.emptyList());
+
+    ExponentialBackoffStrategy backOffStrategy = spy(new ExponentialBackoffStrategy(60_000L, 2, 60_000L));
+
+    client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .backOff(backOffStrategy)
+      .build();
+
+    TopicSubscriptionBuilder topicSubscriptionBuilder =
+      client.subscribe(MockProvider.TOPIC_NAME)
+        .handler((externalTask, externalTaskService) -> {});
+
+    // when
+    topicSubscriptionBuilder.open();
+    verify(backOffStrategy, timeout(5000)).startWaiting();
+    client.stop();
+
+    // then
+    assertThat(client.isFetching()).isFalse();
+  }
+
+  @Test(timeout = 10000)
+  public void shouldDiscardUnconsumedStopRequestsOnRestart() throws Exception {
+    // given
+    mockFetchAndLockResponse(Collections.emptyList());
+
+    ExponentialBackoffStrategy backOffStrategy = spy(new ExponentialBackoffStrategy(60_000L, 2, 60_000L));
+
+    client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .backOff(backOffStrategy)
+      .build();
+
+    client.subscribe(MockProvider.TOPIC_NAME)
+      .handler((externalTask, externalTaskService) -> {})
+      .open();
+
+    verify(backOffStrategy, timeout(5000)).startWaiting();
+
+    // the fetch loop has not been waiting on the error back off strategy
+    TopicSubscriptionManager topicSubscriptionManager = ((ExternalTaskClientImpl) client).getTopicSubscriptionManager();
+    ExponentialBackoffStrategy errorBackOffStrategy = (ExponentialBackoffStrategy) topicSubscriptionManager.getDefaultFetchGroup()
+      .getErrorBackOffStrategy();
+    client.stop();
+    assertThat(errorBackOffStrategy.getPendingStopRequests()).isEqualTo(1);
+
+    // when
+    client.start();
+
+    // then
+    assertThat(errorBackOffStrategy.getPendingStopRequests()).isZero();
+    assertThat(backOffStrategy.getPendingStopRequests()).isZero();
+  }
+
+  @Test(timeout = 10000)
+  public void shouldExecuteHandlerOnHandlerThreadPool() throws Exception {
+    // given
+    mockFetchAndLockResponse(Collections.singletonList(MockProvider.createExternalTaskWithoutVariables()));
+
+    // tasks beyond the queue capacity would be handled by the fetching thread
+    client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .handlerThreadPool(2, 10)
+      .maxConcurrentTasks(2)
+      .build();
+
+    AtomicReference<String> handlerThreadName = new AtomicReference<>();
+    TopicSubscriptionBuilder topicSubscriptionBuilder =
+      client.subscribe(MockProvider.TOPIC_NAME)
+        .lockDuration(5000)
+        .handler((externalTask, externalTaskService) -> handlerThreadName.compareAndSet(null, Thread.currentThread().getName()));
+
+    // when
+    topicSubscriptionBuilder.open();
+    while (handlerThreadName.get() == null) {
+      // busy waiting
+    }
+    client.stop();
+
+    // then
+    assertThat(handlerThreadName.get()).startsWith("ExternalTaskHandler-");
+  }
+
+  @Test(timeout = 10000)
+  public void shouldShutDownHandlerThreadPoolOnStopAndRecreateItOnStart() throws Exception {
+    // given
+    mockFetchAndLockResponse(Collections.singletonList(MockProvider.createExternalTaskWithoutVariables()));
+
+    client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .handlerThreadPool(2, 10)
+      .maxConcurrentTasks(2)
+      .build();
+
+    TopicSubscriptionManager topicSubscriptionManager = ((ExternalTaskClientImpl) client).getTopicSubscriptionManager();
+    AtomicInteger handlerInvocations = new AtomicInteger();
+
+    client.subscribe(MockProvider.TOPIC_NAME)
+      .handler((externalTask, externalTaskService) -> handlerInvocations.incrementAndGet())
+      .open();
+
+    while (handlerInvocations.get() == 0) {
+      Thread.sleep(10);
+    }
+    ExecutorService stoppedHandlerExecutor = topicSubscriptionManager.getHandlerExecutor();
+
+    // when
+    client.stop();
+
+    // then
+    assertThat(stoppedHandlerExecutor.isShutdown()).isTrue();
+
+    // when
+    int handlerInvocationsBeforeRestart = handlerInvocations.get();
+    client.start();
+    while (handlerInvocations.get() == handlerInvocationsBeforeRestart) {
+      Thread.sleep(10);
+    }
+
+    // then
+    assertThat(topicSubscriptionManager.getHandlerExecutor()).isNotSameAs(stoppedHandlerExecutor);
+    assertThat(topicSubscriptionManager.getHandlerExecutor().isShutdown()).isFalse();
+  }
+
+  @Test(timeout = 10000)
+  public void shouldNotShutDownCustomHandlerExecutorOnStop() throws Exception {
+    // given
+    mockFetchAndLockResponse(Collections.singletonList(MockProvider.createExternalTaskWithoutVariables()));
+
+    ExecutorService handlerExecutor = Executors.newSingleThreadExecutor();
+
+    client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .handlerExecutor(handlerExecutor)
+      .build();
+
+    CountDownLatch handlerInvoked = new CountDownLatch(1);
+    client.subscribe(MockProvider.TOPIC_NAME)
+      .handler((externalTask, externalTaskService) -> handlerInvoked.countDown())
+      .open();
+
+    handlerInvoked.await();
+
+    // when
+    client.stop();
+
+    // then
+    assertThat(handlerExecutor.isShutdown()).isFalse();
+    handlerExecutor.shutdownNow();
+  }
+
+  @Test(timeout = 10000)
+  public void shouldExecuteHandlerOnCustomHandlerExecutor() throws Exception {
+    // given
+    mockFetchAndLockResponse(Collections.singletonList(MockProvider.createExternalTaskWithoutVariables()));
+
+    ExecutorService handlerExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "customHandlerThread"));
+
+    client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .handlerExecutor(handlerExecutor)
+      .build();
+
+    AtomicReference<String> handlerThreadName = new AtomicReference<>();
+    TopicSubscriptionBuilder topicSubscriptionBuilder =
+      client.subscribe(MockProvider.TOPIC_NAME)
+        .lockDuration(5000)
+        .handler((externalTask, externalTaskService) -> handlerThreadName.compareAndSet(null, Thread.currentThread().getName()));
+
+    // when
+    topicSubscriptionBuilder.open();
+    while (handlerThreadName.get() == null) {
+      // busy waiting
+    }
+    client.stop();
+    handlerExecutor.shutdownNow();
+
+    // then
+    assertThat(handlerThreadName.get()).isEqualTo("customHandlerThread");
+  }
+
+  @Test
+  public void shouldThrowExceptionDueToHandlerThreadCountNotGreaterThanZero() {
+    // given
+    ExternalTaskClientBuilder clientBuilder = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .handlerThreadPool(0, 10);
+
+    // then
+    assertBuildFails(clientBuilder, "Thread count of the handler thread pool must be greater than zero");
+  }
+
+  @Test
+  public void shouldThrowExceptionDueToHandlerExecutorAndThreadPoolConfigured() {
+    // given
+    ExternalTaskClientBuilder clientBuilder = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .handlerExecutor(mock(ExecutorService.class))
+      .handlerThreadPool(2, 10);
+
+    // then
+    assertBuildFails(clientBuilder, "Handler executor and handler thread pool cannot be configured at the same time");
+  }
+
+  @Test(timeout = 10000)
+  public void shouldExecuteHandlerWhenUsingVirtualThreads() throws Exception {
+    // given
+    mockFetchAndLockResponse(Collections.singletonList(MockProvider.createExternalTaskWithoutVariables()));
+
+    client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .useVirtualThreads(true)
+      .maxConcurrentTasks(5)
+      .build();
+
+    AtomicReference<String> handlerThreadName = new AtomicReference<>();
+    TopicSubscriptionBuilder topicSubscriptionBuilder =
+      client.subscribe(MockProvider.TOPIC_NAME)
+        .lockDuration(5000)
+        .handler((externalTask, externalTaskService) -> handlerThreadName.compareAndSet(null, Thread.currentThread().getName()));
+
+    // when
+    topicSubscriptionBuilder.open();
+    while (handlerThreadName.get() == null) {
+      // busy waiting
+    }
+    client.stop();
+
+    // then
+    assertThat(handlerThreadName.get()).startsWith("ExternalTaskHandler-");
+  }
+
+  @Test(timeout = 10000)
+  public void shouldNotExceedMaxConcurrentTasks() throws Exception {
+    // given
+    mockFetchAndLockResponse(createExternalTasks("task-1", "task-2", "task-3", "task-4", "task-5"));
+
+    client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .handlerThreadPool(4, 10)
+      .maxConcurrentTasks(2)
+      .build();
+
+    AtomicInteger activeHandlers = new AtomicInteger();
+    AtomicInteger maxActiveHandlers = new AtomicInteger();
+    AtomicInteger handledTasks = new AtomicInteger();
+    TopicSubscriptionBuilder topicSubscriptionBuilder =
+      client.subscribe(MockProvider.TOPIC_NAME)
+        .lockDuration(5000)
+        .handler((externalTask, externalTaskService) -> {
+          int active = activeHandlers.incrementAndGet();
+          maxActiveHandlers.accumulateAndGet(active, Math::max);
+          sleep(10);
+          activeHandlers.decrementAndGet();
+          handledTasks.incrementAndGet();
+        });
+
+    // when
+    topicSubscriptionBuilder.open();
+    while (handledTasks.get() < 20) {
+      // busy waiting
+    }
+    client.stop();
+
+    // then
+    assertThat(maxActiveHandlers.get()).isLessThanOrEqualTo(2);
+  }
+
+  @Test
+  public void shouldThrowExceptionDueToVirtualThreadsAndHandlerExecutorConfigured() {
+    // given
+    ExternalTaskClientBuilder clientBuilder = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .handlerThreadPool(2, 10)
+      .useVirtualThreads();
+
+    // then
+    assertBuildFails(clientBuilder, "Virtual threads cannot be combined with a handler executor or a handler thread pool");
+  }
+
+  @Test
+  public void shouldThrowExceptionDueToMaxConcurrentTasksNotGreaterThanZero() {
+    // given
+    ExternalTaskClientBuilder clientBuilder = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .maxConcurrentTasks(0);
+
+    // then
+    assertBuildFails(clientBuilder, "Maximum amount of concurrently handled tasks must be greater than zero");
+  }
+
+  @Test(timeout = 10000)
+  public void shouldOnlyFetchTasksForFreeHandlerSlotsWhenPipelinedFetching() throws Exception {
+    // given
+    mockFetchAndLockResponse(Collections.singletonList(MockProvider.createExternalTaskWithoutVariables()));
+
+    ObjectMapper objectMapper = spyObjectMapper();
+
+    client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .handlerThreadPool(3, 0)
+      .maxConcurrentTasks(3)
+      .pipelinedFetching()
+      .build();
+
+    AtomicInteger handledTasks = new AtomicInteger();
+    TopicSubscriptionBuilder topicSubscriptionBuilder =
+      client.subscribe(MockProvider.TOPIC_NAME)
+        .lockDuration(5000)
+        .handler((externalTask, externalTaskService) -> {
+          sleep(10);
+          handledTasks.incrementAndGet();
+        });
+
+    // when
+    topicSubscriptionBuilder.open();
+    while (handledTasks.get() < 10) {
+      // busy waiting
+    }
+    client.stop();
+
+    // then
+    captureFetchAndLockPayloads(objectMapper)
+      .forEach(payload -> assertThat(payload.getMaxTasks()).isBetween(1, 3));
+  }
+
+  @Test
+  public void shouldNotExceedMaxConcurrencyOfTopic() throws Exception {
+    // given
+    mockFetchAndLockResponse(createExternalTasks("task-1", "task-2", "task-3"));
+
+    ObjectMapper objectMapper = spyObjectMapper();
+
+    client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .handlerThreadPool(5, 0)
+      .build();
+
+    AtomicInteger activeTasks = new AtomicInteger();
+    AtomicInteger maxActiveTasks = new AtomicInteger();
+    AtomicInteger handledTasks = new AtomicInteger();
+    TopicSubscriptionBuilder topicSubscriptionBuilder =
+      client.subscribe(MockProvider.TOPIC_NAME)
+        .lockDuration(5000)
+        .maxConcurrency(2)
+        .handler((externalTask, externalTaskService) -> {
+          maxActiveTasks.accumulateAndGet(activeTasks.incrementAndGet(), Math::max);
+          sleep(10);
+          activeTasks.decrementAndGet();
+          handledTasks.incrementAndGet();
+        });
+
+    // when
+    TopicSubscription topicSubscription = topicSubscriptionBuilder.open();
+    while (handledTasks.get() < 10) {
+      // busy waiting
+    }
+    client.stop();
+
+    // then
+    assertThat(topicSubscription.getMaxConcurrency()).isEqualTo(2);
+    assertThat(maxActiveTasks.get()).isLessThanOrEqualTo(2);
+
+    captureFetchAndLockPayloads(objectMapper)
+      .forEach(payload -> assertThat(payload.getMaxTasks()).isBetween(1, 2));
+  }
+
+  @Test
+  public void shouldThrowExceptionDueToMaxConcurrencyOfTopicNotGreaterThanZero() {
+    // given
+    client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .build();
+
+    TopicSubscriptionBuilder topicSubscriptionBuilder =
+      client.subscribe(MockProvider.TOPIC_NAME)
+        .handler((externalTask, externalTaskService) -> { })
+        .maxConcurrency(0);
+
+    try {
+      // when
+      topicSubscriptionBuilder.open();
+
+      fail("No ExternalTaskClientException thrown!");
+    } catch (ExternalTaskClientException e) {
+      // then
+      assertThat(e.getMessage()).contains("Maximum concurrency of a topic subscription must be greater than zero");
+    }
+  }
+
+  @Test
+  public void shouldIncreaseMaxTasksAdaptivelyWhileFullBatchesAreFetched() throws Exception {
+    // given
+    mockFetchAndLockResponse(createExternalTasks("task-1", "task-2", "task-3"));
+
+    ObjectMapper objectMapper = spyObjectMapper();
+
+    client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .maxTasks(2)
+      .adaptiveMaxTasks(1, 5)
+      .build();
+
+    AtomicInteger handledTasks = new AtomicInteger();
+    TopicSubscriptionBuilder topicSubscriptionBuilder =
+      client.subscribe(MockProvider.TOPIC_NAME)
+        .lockDuration(5000)
+        .handler((externalTask, externalTaskService) -> handledTasks.incrementAndGet());
+
+    // when
+    topicSubscriptionBuilder.open();
+    while (handledTasks.get() < 10) {
+      // busy waiting
+    }
+    client.stop();
+
+    // then
+    AdaptiveMaxTasksController controller = ((ExternalTaskClientImpl) client).getTopicSubscriptionManager()
+      .getAdaptiveMaxTasksController();
+
+    // the mocked response never returns more than three tasks, so the last full batch is fetched with three tasks
+    assertThat(controller.getHistory()).startsWith(3, 4);
+    assertThat(controller.getHistory()).containsOnly(3, 4);
+    assertThat(controller.getMaxTasks()).isEqualTo(4);
+
+    captureFetchAndLockPayloads(objectMapper)
+      .forEach(payload -> assertThat(payload.getMaxTasks()).isBetween(2, 4));
+  }
+
+  @Test
+  public void shouldNotIncreaseMaxTasksAdaptivelyWhenBatchIsLimitedByHandlerCapacity() throws Exception {
+    // given
+    mockFetchAndLockResponse(createExternalTasks("1", "2"));
+
+    client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .maxTasks(3)
+      .adaptiveMaxTasks(1, 5)
+      .maxConcurrentTasks(2)
+      .pipelinedFetching()
+      .build();
+
+    AtomicInteger handledTasks = new AtomicInteger();
+    TopicSubscriptionBuilder topicSubscriptionBuilder =
+      client.subscribe(MockProvider.TOPIC_NAME)
+        .lockDuration(5000)
+        .handler((externalTask, externalTaskService) -> handledTasks.incrementAndGet());
+
+    // when
+    topicSubscriptionBuilder.open();
+    while (handledTasks.get() < 10) {
+      // busy waiting
+    }
+    client.stop();
+
+    // then the batches are limited to two free handler slots and never reach the requested three tasks
+    AdaptiveMaxTasksController controller = ((ExternalTaskClientImpl) client).getTopicSubscriptionManager()
+      .getAdaptiveMaxTasksController();
+
+    assertThat(controller.getHistory()).containsOnly(3);
+    assertThat(controller.getMaxTasks()).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldThrowExceptionDueToInvalidAdaptiveMaxTasksBounds() {
+    // given
+    ExternalTaskClientBuilder clientBuilder = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .adaptiveMaxTasks(5, 1);
+
+    // then
+    assertBuildFails(clientBuilder, "Bounds of adaptive maximum amount of tasks are invalid");
+  }
+
+  @Test(timeout = 10000)
+  public void shouldFetchConcurrently() throws Exception {
+    // given
+    mockFetchAndLockResponse(Collections.singletonList(MockProvider.createExternalTaskWithoutVariables()));
+
+    client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .concurrentFetches(3)
+      .maxConcurrentTasks(2)
+      .build();
+
+    Set<String> acquisitionThreadNames = ConcurrentHashMap.newKeySet();
+    AtomicInteger activeTasks = new AtomicInteger();
+    AtomicInteger maxActiveTasks = new AtomicInteger();
+    TopicSubscriptionBuilder topicSubscriptionBuilder =
+      client.subscribe(MockProvider.TOPIC_NAME)
+        .handler((externalTask, externalTaskService) -> {
+          maxActiveTasks.accumulateAndGet(activeTasks.incrementAndGet(), Math::max);
+          // handlers are executed on the task acquisition threads
+          acquisitionThreadNames.add(Thread.currentThread().getName());
+          activeTasks.decrementAndGet();
+        });
+
+    // when
+    topicSubscriptionBuilder.open();
+    while (acquisitionThreadNames.size() < 3) {
+      // busy waiting
+    }
+    client.stop();
+
+    // then
+    assertThat(acquisitionThreadNames).containsOnly("TopicSubscriptionManager-1", "TopicSubscriptionManager-2",
+      "TopicSubscriptionManager-3");
+    assertThat(maxActiveTasks.get()).isLessThanOrEqualTo(2);
+    assertThat(client.isFetching()).isFalse();
+  }
+
+  @Test
+  public void shouldThrowExceptionDueToConcurrentFetchesNotGreaterThanZero() {
+    // given
+    ExternalTaskClientBuilder clientBuilder = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .concurrentFetches(0);
+
+    // then
+    assertBuildFails(clientBuilder, "Amount of concurrent fetch and lock requests must be greater than zero");
+  }
+
+  @Test(timeout = 10000)
+  public void shouldFetchTopicWithFetchGroup() throws Exception {
+    // given
+    mockFetchAndLockResponse(Collections.singletonList(MockProvider.createExternalTaskWithoutVariables()));
+
+    ObjectMapper objectMapper = spyObjectMapper();
+
+    client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .fetchGroup("batch", 5, 1000L)
+      .build();
+
+    AtomicReference<String> acquisitionThreadName = new AtomicReference<>();
+    TopicSubscriptionBuilder topicSubscriptionBuilder =
+      client.subscribe(MockProvider.TOPIC_NAME)
+        .fetchGroup("batch")
+        .handler((externalTask, externalTaskService) -> acquisitionThreadName.set(Thread.currentThread().getName()));
+
+    // when
+    TopicSubscription topicSubscription = topicSubscriptionBuilder.open();
+    while (acquisitionThreadName.get() == null) {
+      // busy waiting
+    }
+    client.stop();
+
+    // then
+    assertThat(topicSubscription.getFetchGroup()).isEqualTo("batch");
+    assertThat(acquisitionThreadName.get()).isEqualTo("TopicSubscriptionManager-batch");
+    assertMaxTasksAccordingToFetchAndLockPayload(objectMapper, 5);
+    assertAsyncResponseTimeoutAccordingToFetchAndLockPayload(objectMapper, 1000L);
+  }
+
+  @Test
+  public void shouldThrowExceptionDueToFetchGroupNotConfigured() {
+    // given
+    client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .build();
+
+    TopicSubscriptionBuilder topicSubscriptionBuilder =
+      client.subscribe(MockProvider.TOPIC_NAME)
+        .fetchGroup("unknown")
+        .handler((externalTask, externalTaskService) -> { });
+
+    try {
+      // when
+      topicSubscriptionBuilder.open();
+
+      fail("No ExternalTaskClientException thrown!");
+    } catch (ExternalTaskClientException e) {
+      // then
+      assertThat(e.getMessage()).contains("Fetch group 'unknown' has not been configured");
+    }
+  }
+
+  @Test
+  public void shouldThrowExceptionDueToFetchGroupAlreadyConfigured() {
+    // given
+    ExternalTaskClientBuilder clientBuilder = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .fetchGroup("batch", 5, 1000L)
+      .fetchGroup("batch", 10, 1000L);
+
+    // then
+    assertBuildFails(clientBuilder, "Fetch group 'batch' has already been configured");
+  }
+
+  @Test(timeout = 10000)
+  public void shouldSerializeFetchAndLockPayloadOncePerSubscriptionSet() throws Exception {
+    // given
+    mockFetchAndLockResponse(Collections.singletonList(MockProvider.createExternalTaskWithoutVariables()));
+
+    ObjectMapper objectMapper = spyObjectMapper();
+
+    client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .build();
+
+    AtomicInteger handledTasks = new AtomicInteger();
+    TopicSubscriptionBuilder topicSubscriptionBuilder =
+      client.subscribe(MockProvider.TOPIC_NAME)
+        .handler((externalTask, externalTaskService) -> handledTasks.incrementAndGet());
+
+    // when
+    topicSubscriptionBuilder.open();
+    while (handledTasks.get() < 5) {
+      // busy waiting
+    }
+
+    client.subscribe("anotherTopicName")
+      .handler((externalTask, externalTaskService) -> { })
+      .open();
+
+    int handledTasksBeforeResubscription = handledTasks.get();
+    while (handledTasks.get() < handledTasksBeforeResubscription + 5) {
+      // busy waiting
+    }
+    client.stop();
+
+    // then
+    List<FetchAndLockRequestDto> fetchAndLockPayloads = captureFetchAndLockPayloads(objectMapper);
+
+    assertThat(fetchAndLockPayloads).hasSize(2);
+    assertThat(fetchAndLockPayloads.get(0).getTopics()).hasSize(1);
+    assertThat(fetchAndLockPayloads.get(1).getTopics()).hasSize(2);
+  }
+
+  @Test(timeout = 10000)
+  public void shouldExtendLockOfRunningHandlerAutomatically() throws Exception {
+    // given
+    mockFetchAndLockResponse(Collections.singletonList(MockProvider.createExternalTaskWithoutVariables()));
+
+    ObjectMapper objectMapper = spyObjectMapper();
+
+    client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .autoExtendLock(10_000)
+      .build();
+
+    TopicSubscriptionBuilder topicSubscriptionBuilder =
+      client.subscribe(MockProvider.TOPIC_NAME)
+        .lockDuration(150)
+        .handler((externalTask, externalTaskService) -> {
+          sleep(300);
+        });
+
+    // when
+    topicSubscriptionBuilder.open();
+
+    // then
+    verify(objectMapper, timeout(5000).atLeastOnce()).writeValueAsBytes(isA(ExtendLockRequestDto.class));
+    client.stop();
+
+    ArgumentCaptor<Object> payloads = ArgumentCaptor.forClass(Object.class);
+    verify(objectMapper, atLeastOnce()).writeValueAsBytes(payloads.capture());
+
+    payloads.getAllValues().stream()
+      .filter(payload -> payload instanceof ExtendLockRequestDto)
+      .forEach(payload -> assertThat(((ExtendLockRequestDto) payload).getNewDuration()).isEqualTo(150L));
+  }
+
+  @Test
+  public void shouldThrowExceptionDueToMaxLockDurationNotGreaterThanZero() {
+    // given
+    ExternalTaskClientBuilder clientBuilder = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .autoExtendLock(0);
+
+    // then
+    assertBuildFails(clientBuilder, "Maximum lock duration of automatic lock extension must be greater than zero");
+  }
+
+  @Test(timeout = 10000)
+  public void shouldProvideRemainingLockTimeToHandler() throws Exception {
+    // given
+    mockFetchAndLockResponse(Collections.singletonList(MockProvider.createExternalTaskWithoutVariables()));
+
+    client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .build();
+
+    AtomicReference<Long> remainingLockTime = new AtomicReference<>();
+    CountDownLatch handlerInvoked = new CountDownLatch(1);
+
+    // when
+    client.subscribe(MockProvider.TOPIC_NAME)
+      .lockDuration(5000)
+      .handler((externalTask, externalTaskService) -> {
+        remainingLockTime.compareAndSet(null, externalTask.getRemainingLockTime());
+        handlerInvoked.countDown();
+      })
+      .open();
+
+    handlerInvoked.await();
+    client.stop();
+
+    // then
+    // the lock expiration of the engine lies in the past, the local one is derived from the lock duration
+    assertThat(remainingLockTime.get()).isGreaterThan(0L);
+    assertThat(remainingLockTime.get()).isLessThanOrEqualTo(5000L);
+  }
+
+  @Test(timeout = 10000)
+  public void shouldNotInvokeHandlerOfStaleTask() throws Exception {
+    // given
+    mockFetchAndLockResponse(Collections.singletonList(MockProvider.createExternalTaskWithoutVariables()));
+
+    client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .staleTaskThreshold(5000)
+      .build();
+
+    AtomicInteger handlerInvocations = new AtomicInteger();
+
+    // when
+    client.subscribe(MockProvider.TOPIC_NAME)
+      .lockDuration(1000)
+      .handler((externalTask, externalTaskService) -> handlerInvocations.incrementAndGet())
+      .open();
+
+    Thread.sleep(500);
+    client.stop();
+
+    // then
+    assertThat(handlerInvocations.get()).isZero();
+  }
+
+  @Test
+  public void shouldThrowExceptionDueToStaleTaskThresholdNotGreaterThanZero() {
+    // given
+    ExternalTaskClientBuilder clientBuilder = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .staleTaskThreshold(0);
+
+    // then
+    assertBuildFails(clientBuilder, "Stale task threshold must be greater than zero");
+  }
+
+  @Test(timeout = 10000)
+  public void shouldDrainByFinishingRunningHandlerAndUnlockingWaitingTask() throws Exception {
+    // given
+    // the second task of the batch waits for the only handler slot
+    mockFetchAndLockResponse(createExternalTasks("task-1", "task-2"));
+
+    client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .handlerThreadPool(1, 10)
+      .maxConcurrentTasks(1)
+      .build();
+
+    CountDownLatch handlerStarted = new CountDownLatch(1);
+    AtomicInteger handlerInvocations = new AtomicInteger();
+
+    client.subscribe(MockProvider.TOPIC_NAME)
+      .handler((externalTask, externalTaskService) -> {
+        handlerInvocations.incrementAndGet();
+        handlerStarted.countDown();
+        sleep(300);
+      })
+      .open();
+
+    handlerStarted.await();
+
+    // when
+    DrainResult drainResult = client.drain(5000);
+
+    // then
+    assertThat(client.isFetching()).isFalse();
+    assertThat(handlerInvocations.get()).isEqualTo(1);
+    assertThat(drainResult.getCompletedTasks()).isEqualTo(1);
+    assertThat(drainResult.getUnlockedTasks()).isEqualTo(1);
+    assertThat(drainResult.getAbandonedTasks()).isZero();
+  }
+
+  @Test(timeout = 10000)
+  public void shouldAbandonRunningHandlerWhenDrainTimesOut() throws Exception {
+    // given
+    // the second task of the batch waits for the only handler slot
+    mockFetchAndLockResponse(createExternalTasks("task-1", "task-2"));
+
+    client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .handlerThreadPool(1, 10)
+      .maxConcurrentTasks(1)
+      .build();
+
+    CountDownLatch handlerStarted = new CountDownLatch(1);
+    CountDownLatch handlerReleased = new CountDownLatch(1);
+
+    client.subscribe(MockProvider.TOPIC_NAME)
+      .handler((externalTask, externalTaskService) -> {
+        handlerStarted.countDown();
+        try {
+          handlerReleased.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      })
+      .open();
+
+    handlerStarted.await();
+
+    // when
+    DrainResult drainResult = client.drain(100);
+    handlerReleased.countDown();
+
+    // then
+    assertThat(drainResult.getCompletedTasks()).isZero();
+    assertThat(drainResult.getUnlockedTasks()).isEqualTo(1);
+    assertThat(drainResult.getAbandonedTasks()).isEqualTo(1);
+  }
+
+  @Test(timeout = 10000)
+  public void shouldReportCompletionsStillRetriedWhenDrainTimesOut() throws Exception {
+    // given
+    mockFetchAndLockResponse(Collections.singletonList(MockProvider.createExternalTaskWithoutVariables()));
+    mockHttpClient(new ClosableHttpClientMock(closeableHttpResponse) {
+      @Override
+      protected CloseableHttpResponse doExecute(HttpHost target, HttpRequest request, HttpContext context) throws IOException {
+        if (request.getRequestLine().getUri().endsWith("/complete")) {
+          throw new IOException("Connection refused");
+        }
+
+        return super.doExecute(target, request, context);
+      }
+    });
+
+    client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .completionRetries(10)
+      .build();
+
+    CountDownLatch handlerFinished = new CountDownLatch(1);
+    client.subscribe(MockProvider.TOPIC_NAME)
+      .handler((externalTask, externalTaskService) -> {
+        externalTaskService.complete(externalTask);
+        handlerFinished.countDown();
+      })
+      .open();
+
+    handlerFinished.await();
+
+    // when
+    DrainResult drainResult = client.drain(200);
+
+    // then
+    assertThat(drainResult.getPendingRetries()).isPositive();
+  }
+
+  @Test(timeout = 10000)
+  public void shouldAbortPendingFetchAndLockRequestOnStop() throws Exception {
+    // given
+    mockFetchAndLockResponse(Collections.singletonList(MockProvider.createExternalTaskWithoutVariables()));
+
+    CountDownLatch fetchAndLockPending = new CountDownLatch(1);
+    AtomicInteger unlockRequests = new AtomicInteger();
+
+    // the long polling request returns its tasks as soon as it is aborted
+    CloseableHttpClient httpClient = new ClosableHttpClientMock(closeableHttpResponse) {
+      @Override
+      protected CloseableHttpResponse doExecute(HttpHost target, HttpRequest request, HttpContext context) throws IOException {
+        String uri = request.getRequestLine().getUri();
+        if (uri.endsWith("/unlock")) {
+          unlockRequests.incrementAndGet();
+        }
+        else if (uri.endsWith("/fetchAndLock")) {
+          CountDownLatch fetchAndLockAborted = new CountDownLatch(1);
+          ((HttpExecutionAware) request).setCancellable(() -> {
+            fetchAndLockAborted.countDown();
+            return true;
+          });
+          fetchAndLockPending.countDown();
+
+          try {
+            fetchAndLockAborted.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
+
+        return super.doExecute(target, request, context);
+      }
+    };
+    mockHttpClient(httpClient);
+
+    client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .asyncResponseTimeout(60_000)
+      .build();
+
+    AtomicInteger handlerInvocations = new AtomicInteger();
+
+    client.subscribe(MockProvider.TOPIC_NAME)
+      .handler((externalTask, externalTaskService) -> handlerInvocations.incrementAndGet())
+      .open();
+
+    fetchAndLockPending.await();
+
+    // when
+    client.stop();
+
+    // then
+    assertThat(client.isFetching()).isFalse();
+    assertThat(handlerInvocations.get()).isZero();
+    assertThat(unlockRequests.get()).isEqualTo(1);
+  }
+
+  @Test(timeout = 10000)
+  public void shouldUnlockRemainingStreamedTasksOnStop() throws Exception {
+    // given
+    byte[] fetchAndLockResponse = new ObjectMapper().writeValueAsBytes(createExternalTasks("task-1", "task-2", "task-3"));
+
+    AtomicReference<HttpUriRequest> fetchAndLockRequest = new AtomicReference<>();
+    List<String> unlockedTaskIds = new CopyOnWriteArrayList<>();
+
+    // the response body can only be read as long as the request has not been aborted
+    CloseableHttpResponse streamedResponse = mock(CloseableHttpResponse.class);
+    when(streamedResponse.getStatusLine())
+      .thenReturn(mock(StatusLine.class));
+    doReturn(new InputStreamEntity(new ByteArrayInputStream(fetchAndLockResponse) {
+      @Override
+      public synchronized int read(byte[] buffer, int offset, int length) {
+        if (fetchAndLockRequest.get().isAborted()) {
+          throw new IllegalStateException("Fetch and lock request has been aborted");
+        }
+        return super.read(buffer, offset, Math.min(length, 1));
+      }
+    })).when(streamedResponse).getEntity();
+
+    mockHttpClient(new ClosableHttpClientMock(closeableHttpResponse) {
+      @Override
+      protected CloseableHttpResponse doExecute(HttpHost target, HttpRequest request, HttpContext context) throws IOException {
+        String uri = request.getRequestLine().getUri();
+        if (uri.endsWith("/unlock")) {
+          unlockedTaskIds.add(getExternalTaskId(uri));
+        }
+        else if (uri.endsWith("/fetchAndLock") && fetchAndLockRequest.compareAndSet(null, (HttpUriRequest) request)) {
+          return streamedResponse;
+        }
+
+        return super.doExecute(target, request, context);
+      }
+    });
+
+    client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .streamingFetch()
+      .build();
+
+    TopicSubscriptionManager topicSubscriptionManager = ((ExternalTaskClientImpl) client).getTopicSubscriptionManager();
+    List<String> handledTaskIds = new CopyOnWriteArrayList<>();
+    Thread stoppingThread = new Thread(() -> client.stop());
+
+    // when the client is stopped while the first task of the batch is handled
+    client.subscribe(MockProvider.TOPIC_NAME)
+      .handler((externalTask, externalTaskService) -> {
+        handledTaskIds.add(externalTask.getId());
+
+        if (handledTaskIds.size() == 1) {
+          stoppingThread.start();
+          try {
+            while (topicSubscriptionManager.isRunning()) {
+              Thread.sleep(10);
+            }
+            // gives the stopping thread the chance to abort pending requests
+            Thread.sleep(200);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
+      })
+      .open();
+
+    while (stoppingThread.getState() == Thread.State.NEW) {
+      Thread.sleep(10);
+    }
+    stoppingThread.join();
+
+    // then
+    assertThat(handledTaskIds).containsExactly("task-1");
+    assertThat(unlockedTaskIds).containsExactly("task-2", "task-3");
+  }
+
+  @Test(timeout = 10000)
+  public void shouldHandleReceivedBatchCompletelyOnStop() throws Exception {
+    // given
+    // the second task of the batch waits for the only handler slot
+    mockFetchAndLockResponse(createExternalTasks("task-1", "task-2"));
+
+    List<String> unlockedTaskIds = new CopyOnWriteArrayList<>();
+    mockHttpClient(new ClosableHttpClientMock(closeableHttpResponse) {
+      @Override
+      protected CloseableHttpResponse doExecute(HttpHost target, HttpRequest request, HttpContext context) throws IOException {
+        String uri = request.getRequestLine().getUri();
+        if (uri.endsWith("/unlock")) {
+          unlockedTaskIds.add(getExternalTaskId(uri));
+        }
+
+        return super.doExecute(target, request, context);
+      }
+    });
+
+    client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .handlerThreadPool(1, 10)
+      .maxConcurrentTasks(1)
+      .build();
+
+    TopicSubscriptionManager topicSubscriptionManager = ((ExternalTaskClientImpl) client).getTopicSubscriptionManager();
+    CountDownLatch handlerStarted = new CountDownLatch(1);
+    CountDownLatch handlerReleased = new CountDownLatch(1);
+    CountDownLatch handlersFinished = new CountDownLatch(2);
+    List<String> handledTaskIds = new CopyOnWriteArrayList<>();
+
+    client.subscribe(MockProvider.TOPIC_NAME)
+      .handler((externalTask, externalTaskService) -> {
+        handledTaskIds.add(externalTask.getId());
+        handlerStarted.countDown();
+        try {
+          handlerReleased.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        handlersFinished.countDown();
+      })
+      .open();
+
+    handlerStarted.await();
+
+    // when the client is stopped while the second task waits for a handler slot
+    Thread stoppingThread = new Thread(() -> client.stop());
+    stoppingThread.start();
+    while (topicSubscriptionManager.isRunning()) {
+      Thread.sleep(10);
+    }
+    handlerReleased.countDown();
+
+    stoppingThread.join();
+    handlersFinished.await();
+
+    // then
+    assertThat(handledTaskIds).containsExactly("task-1", "task-2");
+    assertThat(unlockedTaskIds).isEmpty();
+  }
+
+  @Test
+  public void shouldProvideConnectionPoolStats() {
+    // given
+    client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .maxConnections(50)
+      .connectionTimeToLive(60_000)
+      .keepAliveDuration(30_000)
+      .evictIdleConnections(10_000)
+      .validateAfterInactivity(1_000)
+      .build();
+
+    // when
+    ConnectionPoolStats connectionPoolStats = client.getConnectionPoolStats();
+
+    // then
+    assertThat(connectionPoolStats.getMaxConnections()).isEqualTo(50);
+    assertThat(connectionPoolStats.getLeasedConnections()).isZero();
+    assertThat(connectionPoolStats.getAvailableConnections()).isZero();
+    assertThat(connectionPoolStats.getPendingRequests()).isZero();
+  }
+
+  @Test
+  public void shouldThrowExceptionDueToMaxConnectionsPerRouteNotGreaterThanZero() {
+    // given
+    ExternalTaskClientBuilder clientBuilder = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .maxConnectionsPerRoute(0);
+
+    // then
+    assertBuildFails(clientBuilder, "Connection pool setting 'maxConnectionsPerRoute' must be greater than zero");
+  }
+
+  @Test
+  public void shouldUseSeparateConnectionPoolForFetchAndLock() {
+    // given
+    client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .maxConnections(50)
+      .concurrentFetches(2)
+      .fetchGroup("slow", 5, 30_000)
+      .commandTimeout(10_000)
+      .build();
+
+    // when
+    ConnectionPoolStats connectionPoolStats = client.getConnectionPoolStats();
+    ConnectionPoolStats fetchConnectionPoolStats = client.getFetchConnectionPoolStats();
+
+    // then
+    assertThat(connectionPoolStats.getMaxConnections()).isEqualTo(50);
+    // one connection per task acquisition thread
+    assertThat(fetchConnectionPoolStats.getMaxConnections()).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldThrowExceptionDueToMaxAsyncRequestsNotGreaterThanZero() {
+    // given
+    ExternalTaskClientBuilder clientBuilder = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .maxAsyncRequests(0);
+
+    // then
+    assertBuildFails(clientBuilder, "Maximum amount of asynchronous requests must be greater than zero");
+  }
+
+  @Test(timeout = 10000)
+  public void shouldDispatchEachTaskWhenStreamingFetch() throws Exception {
+    // given
+    mockFetchAndLockResponse(Arrays.asList(MockProvider.createExternalTaskWithoutVariables(), MockProvider.createExternalTaskWithoutVariables()));
+
+    client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .streamingFetch()
+      .build();
+
+    AtomicInteger handledTasksWithLockTime = new AtomicInteger();
+    CountDownLatch handlerInvoked = new CountDownLatch(2);
+
+    // when
+    client.subscribe(MockProvider.TOPIC_NAME)
+      .lockDuration(5000)
+      .handler((externalTask, externalTaskService) -> {
+        if (MockProvider.ID.equals(externalTask.getId()) && externalTask.getRemainingLockTime() > 0) {
+          handledTasksWithLockTime.incrementAndGet();
+        }
+        handlerInvoked.countDown();
+      })
+      .open();
+
+    handlerInvoked.await();
+    client.stop();
+
+    // then
+    assertThat(handledTasksWithLockTime.get()).isGreaterThanOrEqualTo(2);
+  }
+
+  @Test
+  public void shouldThrowExceptionDueToNegativeRequestCompressionThreshold() {
+    // given
+    ExternalTaskClientBuilder clientBuilder = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .requestCompression(-1);
+
+    // then
+    assertBuildFails(clientBuilder, "Request compression threshold must not be negative");
+  }
+
+  @Test
+  public void shouldThrowExceptionDueToCompletionRetryQueueCapacityNotGreaterThanZero() {
+    // given
+    ExternalTaskClientBuilder clientBuilder = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .completionRetries(0);
+
+    // then
+    assertBuildFails(clientBuilder, "Capacity of the completion retry queue must be greater than zero");
+  }
+
+  @Test(timeout = 10000)
+  public void shouldFetchAndLockWithJsonCodec() throws Exception {
+    // given
+    mockFetchAndLockResponse(Collections.singletonList(MockProvider.createExternalTaskWithoutVariables()));
+
+    client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .jsonCodec(new EngineDtoCodec())
+      .build();
+
+    AtomicReference<String> handledTaskId = new AtomicReference<>();
+    CountDownLatch handlerInvoked = new CountDownLatch(1);
+
+    // when
+    client.subscribe(MockProvider.TOPIC_NAME)
+      .handler((externalTask, externalTaskService) -> {
+        handledTaskId.compareAndSet(null, externalTask.getId());
+        handlerInvoked.countDown();
+      })
+      .open();
+
+    handlerInvoked.await();
+    client.stop();
+
+    // then
+    assertThat(handledTaskId.get()).isEqualTo(MockProvider.ID);
+  }
+
+  @Test(timeout = 10000)
+  public void shouldPauseFetchingWhileCircuitBreakerIsOpen() throws Exception {
+    // given
+    StatusLine statusLine = mock(StatusLine.class);
+    when(statusLine.getStatusCode())
+      .thenReturn(503);
+    when(closeableHttpResponse.getStatusLine())
+      .thenReturn(statusLine);
+
+    CircuitBreaker circuitBreaker = new CircuitBreaker(2, 0.5f, 10000, 60000, 1);
+    List<CircuitBreakerState> transitions = new CopyOnWriteArrayList<>();
+    CountDownLatch circuitOpened = new CountDownLatch(1);
+    circuitBreaker.addListener((fromState, toState) -> {
+      transitions.add(toState);
+      circuitOpened.countDown();
+    });
+
+    client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .backOff(new ExponentialBackoffStrategy(0L, 1, 0L))
+      .circuitBreaker(circuitBreaker)
+      .build();
+
+    // when
+    client.subscribe(MockProvider.TOPIC_NAME)
+      .handler(mock(ExternalTaskHandler.class))
+      .open();
+
+    circuitOpened.await();
+    Thread.sleep(500);
+
+    // then
+    assertThat(transitions).containsExactly(CircuitBreakerState.OPEN);
+    verify(httpClient, times(2)).execute(any(HttpUriRequest.class), any(ResponseHandler.class));
+  }
+
   // helper /////////////////////////////////////////
 
+  protected ObjectMapper spyObjectMapper() throws Exception {
+    ObjectMapper objectMapper = spy(ObjectMapper.class);
+    whenNew(ObjectMapper.class).withNoArguments()
+      .thenReturn(objectMapper);
+    return objectMapper;
+  }
+
+  protected void assertBuildFails(ExternalTaskClientBuilder clientBuilder, String expectedMessage) {
+    try {
+      clientBuilder.build();
+
+      fail("No ExternalTaskClientException thrown!");
+    } catch (ExternalTaskClientException e) {
+      assertThat(e.getMessage()).contains(expectedMessage);
+    }
+  }
+
+  protected void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  protected String getExternalTaskId(String uri) {
+    String[] segments = uri.split("/");
+    return segments[segments.length - 2];
+  }
+
+  protected void mockHttpClient(CloseableHttpClient httpClient) {
+    HttpClientBuilder httpClientBuilderMock = mock(HttpClientBuilder.class, RETURNS_DEEP_STUBS);
+    when(HttpClients.custom())
+      .thenReturn(httpClientBuilderMock);
+    when(httpClientBuilderMock.build())
+      .thenReturn(httpClient);
+  }
+
+  protected List<ExternalTask> createExternalTasks(String... ids) {
+    List<ExternalTask> externalTasks = new ArrayList<>();
+    for (String id : ids) {
+      ExternalTaskImpl externalTask = (ExternalTaskImpl) MockProvider.createExternalTaskWithoutVariables();
+      externalTask.setId(id);
+      externalTasks.add(externalTask);
+    }
+    return externalTasks;
+  }
+
   protected void mockFetchAndLockResponse(List<ExternalTask> externalTasks) throws JsonProcessingException {
     ObjectMapper objectMapper = new ObjectMapper();
     byte[] externalTasksAsBytes = objectMapper.writeValueAsBytes(externalTasks);
@@ -768,6 +2131,16 @@ public class ExternalTaskClientTest {
     assertThat(assertAccordingToFetchAndLockPayload(objectMapper).getTopics().get(0).getBusinessKey()).isEqualTo(businessKey);
   }
 
+  protected List<FetchAndLockRequestDto> captureFetchAndLockPayloads(ObjectMapper objectMapper) throws JsonProcessingException {
+    ArgumentCaptor<Object> payloads = ArgumentCaptor.forClass(Object.class);
+    verify(objectMapper, atLeastOnce()).writeValueAsBytes(payloads.capture());
+
+    return payloads.getAllValues().stream()
+      .filter(payload -> payload instanceof FetchAndLockRequestDto)
+      .map(payload -> (FetchAndLockRequestDto) payload)
+      .collect(Collectors.toList());
+  }
+
   protected FetchAndLockRequestDto assertAccordingToFetchAndLockPayload(ObjectMapper objectMapper) throws JsonProcessingException {
     ArgumentCaptor<Object> payloads = ArgumentCaptor.forClass(Object.class);
     verify(objectMapper, atLeastOnce()).writeValueAsBytes(payloads.capture());
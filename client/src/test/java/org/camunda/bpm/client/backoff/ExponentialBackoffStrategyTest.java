@@ -0,0 +1,131 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.backoff;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.camunda.bpm.client.exception.ExternalTaskClientException;
+import org.junit.Test;
+
+/**
+ * @author Tassilo Weidner
+ */
+public class ExponentialBackoffStrategyTest {
+
+  @Test
+  public void shouldLimitExponentialBackoffTime() {
+    // given
+    ExponentialBackoffStrategy backOffStrategy = new ExponentialBackoffStrategy(500L, 2, 3_000L);
+
+    // then
+    assertThat(backOffStrategy.calculateBackoffTime(0)).isEqualTo(500L);
+    assertThat(backOffStrategy.calculateBackoffTime(1)).isEqualTo(1_000L);
+    assertThat(backOffStrategy.calculateBackoffTime(2)).isEqualTo(2_000L);
+    assertThat(backOffStrategy.calculateBackoffTime(3)).isEqualTo(3_000L);
+    assertThat(backOffStrategy.calculateBackoffTime(100)).isEqualTo(3_000L);
+  }
+
+  @Test(timeout = 10000)
+  public void shouldKeepPendingStopRequestOnReset() {
+    // given
+    ExponentialBackoffStrategy backOffStrategy = new ExponentialBackoffStrategy(60_000L, 2, 60_000L);
+    backOffStrategy.stopWaiting();
+
+    // when
+    backOffStrategy.reset();
+
+    // then the next wait is interrupted right away
+    backOffStrategy.startWaiting();
+    assertThat(backOffStrategy.getLevel()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldClearPendingStopRequests() {
+    // given
+    ExponentialBackoffStrategy backOffStrategy = new ExponentialBackoffStrategy();
+    backOffStrategy.stopWaiting();
+    backOffStrategy.stopWaiting();
+
+    // when
+    backOffStrategy.clearStopRequests();
+
+    // then
+    assertThat(backOffStrategy.getPendingStopRequests()).isZero();
+  }
+
+  @Test(timeout = 10000)
+  public void shouldTrackLevelsPerThread() throws Exception {
+    // given
+    ExponentialBackoffStrategy backOffStrategy = new ExponentialBackoffStrategy(0L, 2, 0L);
+    AtomicInteger otherThreadLevel = new AtomicInteger();
+
+    // when
+    backOffStrategy.startWaiting();
+    backOffStrategy.startWaitingAfterError();
+
+    Thread otherThread = new Thread(() -> {
+      backOffStrategy.startWaiting();
+      otherThreadLevel.set(backOffStrategy.getLevel());
+    });
+    otherThread.start();
+    otherThread.join();
+
+    // then
+    assertThat(backOffStrategy.getLevel()).isEqualTo(1);
+    assertThat(backOffStrategy.getErrorLevel()).isEqualTo(1);
+    assertThat(otherThreadLevel.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldThrowExceptionDueToNegativeInitTime() {
+    try {
+      // when
+      new ExponentialBackoffStrategy(-1L, 2, 60_000L);
+
+      fail("No ExternalTaskClientException thrown!");
+    } catch (ExternalTaskClientException e) {
+      // then
+      assertThat(e.getMessage()).contains("Exponential backoff setting 'initTime' must not be negative");
+    }
+  }
+
+  @Test
+  public void shouldThrowExceptionDueToFactorLessThanOne() {
+    try {
+      // when
+      new ExponentialBackoffStrategy(500L, 0.5f, 60_000L);
+
+      fail("No ExternalTaskClientException thrown!");
+    } catch (ExternalTaskClientException e) {
+      // then
+      assertThat(e.getMessage()).contains("Exponential backoff setting 'factor'");
+    }
+  }
+
+  @Test
+  public void shouldThrowExceptionDueToNegativeMaxTime() {
+    try {
+      // when
+      new ExponentialBackoffStrategy(500L, 2, -1L);
+
+      fail("No ExternalTaskClientException thrown!");
+    } catch (ExternalTaskClientException e) {
+      // then
+      assertThat(e.getMessage()).contains("Exponential backoff setting 'maxTime' must not be negative");
+    }
+  }
+
+}
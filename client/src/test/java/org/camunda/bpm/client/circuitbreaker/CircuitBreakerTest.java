@@ -0,0 +1,205 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.circuitbreaker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.client.exception.ExternalTaskClientException;
+import org.junit.Test;
+
+/**
+ * @author Tassilo Weidner
+ */
+public class CircuitBreakerTest {
+
+  @Test
+  public void shouldOpenWhenFailureRateIsReached() {
+    // given
+    CircuitBreaker circuitBreaker = new CircuitBreaker(4, 0.5f, 1000, 60000, 1);
+    List<CircuitBreakerState> transitions = new ArrayList<>();
+    circuitBreaker.addListener((fromState, toState) -> transitions.add(toState));
+
+    // when
+    performRequest(circuitBreaker, true);
+    performRequest(circuitBreaker, false);
+    performRequest(circuitBreaker, false);
+
+    // then the window is not full yet
+    assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreakerState.CLOSED);
+
+    // when
+    performRequest(circuitBreaker, true);
+
+    // then
+    assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreakerState.OPEN);
+    assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+    assertThat(circuitBreaker.isRequestPermitted()).isFalse();
+    assertThat(circuitBreaker.getRemainingOpenStateDuration()).isPositive();
+    assertThat(transitions).containsExactly(CircuitBreakerState.OPEN);
+  }
+
+  @Test
+  public void shouldOnlyConsiderMostRecentRequests() {
+    // given
+    CircuitBreaker circuitBreaker = new CircuitBreaker(2, 1f, 1000, 60000, 1);
+
+    // when
+    performRequest(circuitBreaker, true);
+    performRequest(circuitBreaker, false);
+    performRequest(circuitBreaker, true);
+
+    // then
+    assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreakerState.CLOSED);
+
+    // when
+    performRequest(circuitBreaker, true);
+
+    // then
+    assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreakerState.OPEN);
+  }
+
+  @Test
+  public void shouldOpenWhenRequestsAreSlow() {
+    // given
+    CircuitBreaker circuitBreaker = new CircuitBreaker(2, 1f, 1000, 60000, 1);
+
+    // when
+    assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+    circuitBreaker.onSuccess(1000);
+    assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+    circuitBreaker.onSuccess(5000);
+
+    // then
+    assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreakerState.OPEN);
+  }
+
+  @Test
+  public void shouldCloseAfterHealthyTrialRequests() throws Exception {
+    // given
+    CircuitBreaker circuitBreaker = new CircuitBreaker(1, 1f, 1000, 50, 2);
+    List<CircuitBreakerState> transitions = new ArrayList<>();
+    circuitBreaker.addListener((fromState, toState) -> transitions.add(toState));
+
+    performRequest(circuitBreaker, true);
+    Thread.sleep(100);
+
+    // when
+    assertThat(circuitBreaker.isRequestPermitted()).isTrue();
+    assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+    assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+
+    // then only the configured amount of trial requests is permitted
+    assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreakerState.HALF_OPEN);
+    assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+
+    // when
+    circuitBreaker.onSuccess(10);
+    circuitBreaker.onSuccess(10);
+
+    // then
+    assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreakerState.CLOSED);
+    assertThat(transitions).containsExactly(CircuitBreakerState.OPEN, CircuitBreakerState.HALF_OPEN, CircuitBreakerState.CLOSED);
+  }
+
+  @Test
+  public void shouldOpenAgainWhenTrialRequestFails() throws Exception {
+    // given
+    CircuitBreaker circuitBreaker = new CircuitBreaker(1, 1f, 1000, 50, 2);
+    performRequest(circuitBreaker, true);
+    Thread.sleep(100);
+
+    // when
+    performRequest(circuitBreaker, true);
+
+    // then
+    assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreakerState.OPEN);
+    assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+  }
+
+  @Test
+  public void shouldReleasePermissionOfIgnoredTrialRequest() throws Exception {
+    // given
+    CircuitBreaker circuitBreaker = new CircuitBreaker(1, 1f, 1000, 50, 1);
+    performRequest(circuitBreaker, true);
+    Thread.sleep(100);
+
+    assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+    assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+
+    // when
+    circuitBreaker.onIgnored();
+
+    // then
+    assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreakerState.HALF_OPEN);
+    assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+  }
+
+  @Test
+  public void shouldNotFailDueToFailingListener() {
+    // given
+    CircuitBreaker circuitBreaker = new CircuitBreaker(1, 1f, 1000, 60000, 1);
+    circuitBreaker.addListener((fromState, toState) -> {
+      throw new RuntimeException("foo");
+    });
+
+    // when
+    performRequest(circuitBreaker, true);
+
+    // then
+    assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreakerState.OPEN);
+  }
+
+  @Test
+  public void shouldThrowExceptionDueToInvalidFailureRateThreshold() {
+    try {
+      // when
+      new CircuitBreaker(10, 1.5f, 1000, 1000, 1);
+
+      fail("No ExternalTaskClientException thrown!");
+    } catch (ExternalTaskClientException e) {
+      // then
+      assertThat(e.getMessage()).contains("Circuit breaker setting 'failureRateThreshold'");
+    }
+  }
+
+  @Test
+  public void shouldThrowExceptionDueToSlidingWindowSizeNotGreaterThanZero() {
+    try {
+      // when
+      new CircuitBreaker(0, 0.5f, 1000, 1000, 1);
+
+      fail("No ExternalTaskClientException thrown!");
+    } catch (ExternalTaskClientException e) {
+      // then
+      assertThat(e.getMessage()).contains("Circuit breaker setting 'slidingWindowSize'");
+    }
+  }
+
+  // helper ////////////////////////////////////////////////
+
+  protected void performRequest(CircuitBreaker circuitBreaker, boolean isFailing) {
+    assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+
+    if (isFailing) {
+      circuitBreaker.onFailure();
+    }
+    else {
+      circuitBreaker.onSuccess(10);
+    }
+  }
+
+}
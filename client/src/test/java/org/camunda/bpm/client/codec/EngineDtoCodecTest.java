@@ -0,0 +1,143 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.camunda.bpm.client.helper.MockProvider;
+import org.camunda.bpm.client.impl.RequestDto;
+import org.camunda.bpm.client.impl.variable.TypedValueField;
+import org.camunda.bpm.client.task.impl.ExternalTaskImpl;
+import org.camunda.bpm.client.task.impl.dto.BpmnErrorRequestDto;
+import org.camunda.bpm.client.task.impl.dto.CompleteRequestDto;
+import org.camunda.bpm.client.task.impl.dto.ExtendLockRequestDto;
+import org.camunda.bpm.client.task.impl.dto.FailureRequestDto;
+import org.camunda.bpm.client.topic.impl.dto.FetchAndLockRequestDto;
+import org.camunda.bpm.client.topic.impl.dto.TopicRequestDto;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * @author Tassilo Weidner
+ */
+public class EngineDtoCodecTest {
+
+  protected ObjectMapper objectMapper;
+  protected EngineDtoCodec codec;
+
+  @Before
+  public void setUp() {
+    objectMapper = new ObjectMapper();
+    objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    codec = new EngineDtoCodec();
+  }
+
+  @Test
+  public void shouldWriteRequestsLikeObjectMapper() throws IOException {
+    // given
+    TopicRequestDto topicRequest = new TopicRequestDto(MockProvider.TOPIC_NAME, 5000L, Arrays.asList("aVariable", "anotherVariable"), null);
+    TopicRequestDto topicRequestWithoutVariables = new TopicRequestDto(MockProvider.TOPIC_NAME, 1000L, null, MockProvider.BUSINESS_KEY);
+
+    Map<String, Object> valueInfo = new HashMap<>();
+    valueInfo.put("objectTypeName", "java.util.ArrayList");
+    valueInfo.put("transient", true);
+    TypedValueField objectVariable = new TypedValueField();
+    objectVariable.setType("Object");
+    objectVariable.setValue("[\"aValue\"]");
+    objectVariable.setValueInfo(valueInfo);
+
+    RequestDto[] requests = {
+      new FetchAndLockRequestDto(MockProvider.WORKER_ID, 10, null, Arrays.asList(topicRequest, topicRequestWithoutVariables)),
+      new FetchAndLockRequestDto(MockProvider.WORKER_ID, 10, 20000L, Collections.emptyList()),
+      new CompleteRequestDto(MockProvider.WORKER_ID, MockProvider.VARIABLES, Collections.singletonMap("anObject", objectVariable)),
+      new CompleteRequestDto(MockProvider.WORKER_ID, null, null),
+      new FailureRequestDto(MockProvider.WORKER_ID, MockProvider.ERROR_MESSAGE, null, MockProvider.RETRIES, MockProvider.RETRY_TIMEOUT),
+      new BpmnErrorRequestDto(MockProvider.WORKER_ID, "anErrorCode"),
+      new ExtendLockRequestDto(MockProvider.WORKER_ID, 3000L)
+    };
+
+    for (RequestDto request : requests) {
+      // when
+      byte[] encodedRequest = encode(request);
+
+      // then
+      assertThat(codec.canEncode(request.getClass())).isTrue();
+      assertThat(objectMapper.readTree(encodedRequest)).isEqualTo(objectMapper.readTree(objectMapper.writeValueAsBytes(request)));
+    }
+  }
+
+  @Test
+  public void shouldReadExternalTasksLikeObjectMapper() throws IOException {
+    // given
+    byte[] response = objectMapper.writeValueAsBytes(Arrays.asList(MockProvider.createExternalTask(),
+      MockProvider.createExternalTaskWithoutVariables()));
+
+    // when
+    ExternalTaskImpl[] externalTasks = decode(response, ExternalTaskImpl[].class);
+
+    // then
+    assertThat(externalTasks).hasSize(2);
+    JsonNode expectedExternalTasks = objectMapper.valueToTree(objectMapper.readValue(response, ExternalTaskImpl[].class));
+    JsonNode decodedExternalTasks = objectMapper.valueToTree(externalTasks);
+    assertThat(decodedExternalTasks).isEqualTo(expectedExternalTasks);
+  }
+
+  @Test
+  public void shouldReadDateGivenAsTextAndIgnoreUnknownProperties() throws IOException {
+    // given
+    String response = "[{\"id\":\"anId\",\"lockExpirationTime\":\"2018-01-01T10:00:00.000+0100\",\"unknown\":{\"nested\":[1,2]},"
+      + "\"retries\":null,\"variables\":{\"aVariable\":{\"value\":{\"aKey\":1.5},\"type\":\"Json\",\"valueInfo\":{}}}}]";
+
+    // when
+    ExternalTaskImpl[] externalTasks = decode(response.getBytes("UTF-8"), ExternalTaskImpl[].class);
+
+    // then
+    ExternalTaskImpl expectedExternalTask = objectMapper.readValue(response, ExternalTaskImpl[].class)[0];
+    assertThat(externalTasks[0].getId()).isEqualTo("anId");
+    assertThat(externalTasks[0].getLockExpirationTime()).isEqualTo(expectedExternalTask.getLockExpirationTime());
+    assertThat(externalTasks[0].getRetries()).isNull();
+    assertThat(externalTasks[0].getVariables().get("aVariable").getValue())
+      .isEqualTo(expectedExternalTask.getVariables().get("aVariable").getValue());
+  }
+
+  // helper ////////////////////////////////////////////////
+
+  protected byte[] encode(Object value) throws IOException {
+    ByteArrayOutputStream encodedValue = new ByteArrayOutputStream();
+    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(encodedValue)) {
+      codec.encode(value, generator);
+    }
+    return encodedValue.toByteArray();
+  }
+
+  protected <T> T decode(byte[] value, Class<T> type) throws IOException {
+    try (JsonParser parser = objectMapper.getFactory().createParser(value)) {
+      parser.nextToken();
+      return codec.decode(parser, type);
+    }
+  }
+
+}
@@ -13,10 +13,15 @@
 package org.camunda.bpm.client.impl;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.powermock.api.mockito.PowerMockito.mock;
 import static org.powermock.api.mockito.PowerMockito.mockStatic;
@@ -27,7 +32,13 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.http.HttpEntity;
@@ -46,11 +57,13 @@ import org.camunda.bpm.client.helper.ClosableHttpClientMock;
 import org.camunda.bpm.client.helper.MockProvider;
 import org.camunda.bpm.client.task.ExternalTask;
 import org.camunda.bpm.client.task.ExternalTaskHandler;
+import org.camunda.bpm.client.task.impl.dto.CompleteRequestDto;
 import org.camunda.bpm.client.topic.TopicSubscriptionBuilder;
 import org.camunda.bpm.client.topic.impl.dto.FetchAndLockRequestDto;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
@@ -310,6 +323,150 @@ public class EngineClientTest {
     return objectMapper;
   }
 
+  @Test
+  public void shouldPerformEngineCallsAsynchronously() throws Exception {
+    // given
+    ExternalTaskClient client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .build();
+
+    EngineClient engineClient = ((ExternalTaskClientImpl) client).getTopicSubscriptionManager().getEngineClient();
+
+    // when
+    CompletableFuture<List<ExternalTask>> externalTasks = engineClient.fetchAndLockAsync(Collections.emptyList(), 1, null);
+    CompletableFuture<Void> completion = engineClient.completeAsync(MockProvider.ID, Collections.emptyMap(), Collections.emptyMap());
+
+    // then
+    assertThat(externalTasks.get(5, TimeUnit.SECONDS)).hasSize(1);
+    assertThat(externalTasks.get().get(0).getId()).isEqualTo(MockProvider.ID);
+
+    completion.get(5, TimeUnit.SECONDS);
+    assertThat(completion.isCompletedExceptionally()).isFalse();
+  }
+
+  @Test
+  public void shouldCompleteAsynchronousEngineCallExceptionally() throws Exception {
+    // given
+    mockHttpRequestException(IOException.class);
+
+    ExternalTaskClient client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .build();
+
+    EngineClient engineClient = ((ExternalTaskClientImpl) client).getTopicSubscriptionManager().getEngineClient();
+
+    // when
+    CompletableFuture<Void> unlock = engineClient.unlockAsync(MockProvider.ID);
+
+    try {
+      unlock.get(5, TimeUnit.SECONDS);
+      fail("No ExecutionException thrown!");
+    } catch (ExecutionException e) {
+      // then
+      assertThat(e.getCause()).isInstanceOf(EngineClientException.class);
+    }
+  }
+
+  @Test
+  public void shouldFailAsynchronousEngineCallWithoutBlockingWhenMaxAsyncRequestsAreInFlight() throws Exception {
+    // given
+    // the executor never performs the first call, so that it stays in flight
+    ExternalTaskClient client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .asyncExecutor(mock(ExecutorService.class))
+      .maxAsyncRequests(1)
+      .build();
+
+    EngineClient engineClient = ((ExternalTaskClientImpl) client).getTopicSubscriptionManager().getEngineClient();
+    CompletableFuture<Void> pendingUnlock = engineClient.unlockAsync(MockProvider.ID);
+
+    // when
+    CompletableFuture<Void> unlock = engineClient.unlockAsync(MockProvider.ID);
+
+    // then
+    assertThat(pendingUnlock.isDone()).isFalse();
+    assertThat(unlock.isCompletedExceptionally()).isTrue();
+
+    try {
+      unlock.get();
+      fail("No ExecutionException thrown!");
+    } catch (ExecutionException e) {
+      assertThat(e.getCause()).isInstanceOf(EngineClientException.class);
+      assertThat(e.getCause().getMessage()).contains("the maximum amount of 1 requests is in flight");
+    }
+  }
+
+  @Test
+  public void shouldSerializeVariablesOnCallingThreadWhenCompletingAsynchronously() throws Exception {
+    // given
+    ExecutorService asyncExecutor = mock(ExecutorService.class);
+    ExternalTaskClient client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .asyncExecutor(asyncExecutor)
+      .build();
+
+    EngineClient engineClient = ((ExternalTaskClientImpl) client).getTopicSubscriptionManager().getEngineClient();
+    engineClient.engineInteraction = mock(RequestExecutor.class);
+
+    Map<String, Object> variables = new HashMap<>();
+    variables.put("aVariableName", "aVariableValue");
+
+    // when
+    engineClient.completeAsync(MockProvider.ID, variables, null);
+    variables.put("aVariableName", "anotherVariableValue");
+
+    // the call is performed once the caller has changed the variables
+    ArgumentCaptor<Runnable> asyncCall = ArgumentCaptor.forClass(Runnable.class);
+    verify(asyncExecutor).execute(asyncCall.capture());
+    asyncCall.getValue().run();
+
+    // then
+    ArgumentCaptor<RequestDto> payload = ArgumentCaptor.forClass(RequestDto.class);
+    verify(engineClient.engineInteraction).postRequest(anyString(), payload.capture(), eq(Void.class));
+    assertThat(((CompleteRequestDto) payload.getValue()).getVariables().get("aVariableName").getValue())
+      .isEqualTo("aVariableValue");
+  }
+
+  @Test
+  public void shouldShutDownCreatedAsyncExecutorOnStopAndRecreateItOnDemand() {
+    // given
+    ExternalTaskClient client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .build();
+
+    EngineClient engineClient = ((ExternalTaskClientImpl) client).getTopicSubscriptionManager().getEngineClient();
+    ExecutorService asyncExecutor = engineClient.getAsyncExecutor();
+
+    // when
+    client.stop();
+
+    // then
+    assertThat(asyncExecutor.isShutdown()).isTrue();
+    assertThat(engineClient.getAsyncExecutor()).isNotSameAs(asyncExecutor);
+    assertThat(engineClient.getAsyncExecutor().isShutdown()).isFalse();
+
+    engineClient.shutdownAsyncExecutor();
+  }
+
+  @Test
+  public void shouldNotShutDownPassedAsyncExecutor() {
+    // given
+    ExecutorService asyncExecutor = mock(ExecutorService.class);
+    ExternalTaskClient client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .asyncExecutor(asyncExecutor)
+      .build();
+
+    EngineClient engineClient = ((ExternalTaskClientImpl) client).getTopicSubscriptionManager().getEngineClient();
+
+    // when
+    engineClient.shutdownAsyncExecutor();
+
+    // then
+    verify(asyncExecutor, never()).shutdown();
+    assertThat(engineClient.getAsyncExecutor()).isSameAs(asyncExecutor);
+  }
+
   private void mockDeserializationException(Class<? extends Throwable> exception) throws Exception {
     ObjectMapper objectMapper = mockObjectMapper();
     when(objectMapper.readValue(any(InputStream.class), (Class<?>) any(Class.class)))
@@ -81,6 +81,7 @@ import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
@@ -92,6 +93,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
  */
 @RunWith(PowerMockRunner.class)
 @PrepareForTest({HttpClients.class, ExternalTaskClientBuilderImpl.class})
+@PowerMockIgnore("javax.net.ssl.*")
 public class VariableTest {
 
   private CloseableHttpResponse closeableHttpResponse;
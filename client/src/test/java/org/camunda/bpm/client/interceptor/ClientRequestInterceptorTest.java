@@ -20,12 +20,16 @@ import static org.mockito.Mockito.verify;
 import static org.powermock.api.mockito.PowerMockito.mock;
 import static org.powermock.api.mockito.PowerMockito.whenNew;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.http.Header;
 import org.apache.http.HttpHeaders;
 import org.apache.http.HttpRequest;
+import org.apache.http.message.BasicHttpRequest;
+import org.apache.http.protocol.BasicHttpContext;
 import org.apache.http.protocol.HttpContext;
 import org.camunda.bpm.client.ExternalTaskClient;
 import org.camunda.bpm.client.exception.ExternalTaskClientException;
@@ -95,6 +99,108 @@ public class ClientRequestInterceptorTest {
     assertThat(headers[0].getValue()).isEqualTo("Basic ZGVtbzpkZW1v");
   }
 
+  @Test
+  public void shouldInvokeStaticInterceptorOnce() throws Exception {
+    // given
+    AtomicInteger interceptorInvocations = new AtomicInteger();
+    ClientRequestInterceptor staticInterceptor = new ClientRequestInterceptor() {
+
+      @Override
+      public void intercept(ClientRequestContext requestContext) {
+        interceptorInvocations.incrementAndGet();
+        requestContext.addHeader("X-Static", "aValue");
+      }
+
+      @Override
+      public boolean isStatic() {
+        return true;
+      }
+
+    };
+
+    RequestInterceptorHandler requestInterceptorHandler = new RequestInterceptorHandler(Arrays.asList(staticInterceptor,
+      new BasicAuthProvider("demo", "demo")));
+
+    HttpRequest firstRequest = new BasicHttpRequest("POST", MockProvider.BASE_URL);
+    HttpRequest secondRequest = new BasicHttpRequest("POST", MockProvider.BASE_URL);
+
+    // when
+    requestInterceptorHandler.process(firstRequest, new BasicHttpContext());
+    requestInterceptorHandler.process(secondRequest, new BasicHttpContext());
+
+    // then
+    assertThat(interceptorInvocations.get()).isEqualTo(1);
+    for (HttpRequest request : Arrays.asList(firstRequest, secondRequest)) {
+      assertThat(request.getFirstHeader("X-Static").getValue()).isEqualTo("aValue");
+      assertThat(request.getFirstHeader(HttpHeaders.AUTHORIZATION).getValue()).isEqualTo("Basic ZGVtbzpkZW1v");
+    }
+  }
+
+  @Test
+  public void shouldInvokeFailedStaticInterceptorAgain() throws Exception {
+    // given
+    AtomicInteger interceptorInvocations = new AtomicInteger();
+    ClientRequestInterceptor staticInterceptor = new ClientRequestInterceptor() {
+
+      @Override
+      public void intercept(ClientRequestContext requestContext) {
+        if (interceptorInvocations.incrementAndGet() == 1) {
+          throw new IllegalStateException("Credentials not available yet");
+        }
+        requestContext.addHeader("X-Static", "aValue");
+      }
+
+      @Override
+      public boolean isStatic() {
+        return true;
+      }
+
+    };
+
+    RequestInterceptorHandler requestInterceptorHandler = new RequestInterceptorHandler(Collections.singletonList(staticInterceptor));
+
+    HttpRequest firstRequest = new BasicHttpRequest("POST", MockProvider.BASE_URL);
+    HttpRequest secondRequest = new BasicHttpRequest("POST", MockProvider.BASE_URL);
+    HttpRequest thirdRequest = new BasicHttpRequest("POST", MockProvider.BASE_URL);
+
+    // when
+    requestInterceptorHandler.process(firstRequest, new BasicHttpContext());
+    requestInterceptorHandler.process(secondRequest, new BasicHttpContext());
+    requestInterceptorHandler.process(thirdRequest, new BasicHttpContext());
+
+    // then
+    assertThat(interceptorInvocations.get()).isEqualTo(2);
+    assertThat(firstRequest.getFirstHeader("X-Static")).isNull();
+    assertThat(secondRequest.getFirstHeader("X-Static").getValue()).isEqualTo("aValue");
+    assertThat(thirdRequest.getFirstHeader("X-Static").getValue()).isEqualTo("aValue");
+  }
+
+  @Test
+  public void shouldLetLaterInterceptorOverrideStaticHeader() throws Exception {
+    // given
+    AtomicInteger interceptorInvocations = new AtomicInteger();
+    ClientRequestInterceptor dynamicInterceptor = requestContext -> {
+      int invocation = interceptorInvocations.incrementAndGet();
+      requestContext.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + invocation);
+    };
+
+    RequestInterceptorHandler requestInterceptorHandler = new RequestInterceptorHandler(Arrays.asList(
+      new BasicAuthProvider("demo", "demo"), dynamicInterceptor));
+
+    HttpRequest firstRequest = new BasicHttpRequest("POST", MockProvider.BASE_URL);
+    HttpRequest secondRequest = new BasicHttpRequest("POST", MockProvider.BASE_URL);
+
+    // when
+    requestInterceptorHandler.process(firstRequest, new BasicHttpContext());
+    requestInterceptorHandler.process(secondRequest, new BasicHttpContext());
+
+    // then
+    assertThat(interceptorInvocations.get()).isEqualTo(2);
+    assertThat(firstRequest.getHeaders(HttpHeaders.AUTHORIZATION)).hasSize(1);
+    assertThat(firstRequest.getFirstHeader(HttpHeaders.AUTHORIZATION).getValue()).isEqualTo("Bearer 1");
+    assertThat(secondRequest.getFirstHeader(HttpHeaders.AUTHORIZATION).getValue()).isEqualTo("Bearer 2");
+  }
+
   @Test
   public void shouldThrowExternalTaskClientExceptionDueToUsernameNull() {
     // given
@@ -0,0 +1,225 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.interceptor.auth;
+
+import static org.apache.http.HttpHeaders.AUTHORIZATION;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.camunda.bpm.client.exception.ExternalTaskClientException;
+import org.junit.After;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * @author Tassilo Weidner
+ */
+public class BearerTokenProviderTest {
+
+  protected HttpServer tokenEndpoint;
+  protected BearerTokenProvider bearerTokenProvider;
+
+  @After
+  public void tearDown() {
+    if (bearerTokenProvider != null) {
+      bearerTokenProvider.close();
+    }
+
+    if (tokenEndpoint != null) {
+      tokenEndpoint.stop(0);
+    }
+  }
+
+  @Test
+  public void shouldAddCachedAccessTokenOfTokenEndpoint() throws Exception {
+    // given
+    AtomicInteger tokenRequests = new AtomicInteger();
+    List<String> authorizationHeaders = new ArrayList<>();
+    List<String> requestBodies = new ArrayList<>();
+
+    tokenEndpoint = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    tokenEndpoint.createContext("/token", exchange -> {
+      authorizationHeaders.add(exchange.getRequestHeaders().getFirst(AUTHORIZATION));
+      requestBodies.add(readFully(exchange.getRequestBody()));
+
+      byte[] response = ("{\"access_token\":\"token-" + tokenRequests.incrementAndGet() + "\"," +
+        "\"token_type\":\"Bearer\",\"expires_in\":3600}").getBytes(StandardCharsets.UTF_8);
+      exchange.getResponseHeaders().add("Content-Type", "application/json");
+      exchange.sendResponseHeaders(200, response.length);
+      try (OutputStream responseBody = exchange.getResponseBody()) {
+        responseBody.write(response);
+      }
+    });
+    tokenEndpoint.start();
+
+    String tokenEndpointUrl = "http://localhost:" + tokenEndpoint.getAddress().getPort() + "/token";
+    bearerTokenProvider = new BearerTokenProvider(
+      new OAuth2ClientCredentialsTokenSupplier(tokenEndpointUrl, "aClientId", "aClientSecret", "aScope"));
+
+    // when
+    Map<String, String> firstRequestHeaders = intercept(bearerTokenProvider);
+    Map<String, String> secondRequestHeaders = intercept(bearerTokenProvider);
+
+    // then
+    assertThat(tokenRequests.get()).isEqualTo(1);
+    assertThat(authorizationHeaders).containsExactly("Basic YUNsaWVudElkOmFDbGllbnRTZWNyZXQ=");
+    assertThat(requestBodies).containsExactly("grant_type=client_credentials&scope=aScope");
+
+    assertThat(firstRequestHeaders.get(AUTHORIZATION)).isEqualTo("Bearer token-1");
+    assertThat(secondRequestHeaders.get(AUTHORIZATION)).isEqualTo("Bearer token-1");
+  }
+
+  @Test
+  public void shouldRequestAccessTokenOnceForConcurrentRequests() throws Exception {
+    // given
+    AtomicInteger tokenRequests = new AtomicInteger();
+    CountDownLatch tokenRequested = new CountDownLatch(1);
+    bearerTokenProvider = new BearerTokenProvider(() -> {
+      tokenRequested.await(5, TimeUnit.SECONDS);
+      return new AccessToken("token-" + tokenRequests.incrementAndGet(), AccessToken.NO_EXPIRATION);
+    });
+
+    ExecutorService executorService = Executors.newFixedThreadPool(5);
+    try {
+      List<Future<Map<String, String>>> requests = new ArrayList<>();
+      for (int i = 0; i < 5; i++) {
+        requests.add(executorService.submit(() -> intercept(bearerTokenProvider)));
+      }
+
+      // when
+      tokenRequested.countDown();
+
+      // then
+      for (Future<Map<String, String>> request : requests) {
+        assertThat(request.get(5, TimeUnit.SECONDS).get(AUTHORIZATION)).isEqualTo("Bearer token-1");
+      }
+      assertThat(tokenRequests.get()).isEqualTo(1);
+    }
+    finally {
+      executorService.shutdownNow();
+    }
+  }
+
+  @Test
+  public void shouldRefreshAccessTokenInBackgroundBeforeExpiration() throws Exception {
+    // given
+    AtomicInteger tokenRequests = new AtomicInteger();
+    bearerTokenProvider = new BearerTokenProvider(() ->
+      new AccessToken("token-" + tokenRequests.incrementAndGet(), System.currentTimeMillis() + 400), 300, 100);
+
+    assertThat(intercept(bearerTokenProvider).get(AUTHORIZATION)).isEqualTo("Bearer token-1");
+
+    // when
+    long timeout = System.currentTimeMillis() + 5000;
+    while (tokenRequests.get() < 2 && System.currentTimeMillis() < timeout) {
+      Thread.sleep(10);
+    }
+
+    // then
+    assertThat(tokenRequests.get()).isGreaterThanOrEqualTo(2);
+    assertThat(intercept(bearerTokenProvider).get(AUTHORIZATION)).isNotEqualTo("Bearer token-1");
+  }
+
+  @Test
+  public void shouldUseCachedAccessTokenWhenRefreshFails() throws Exception {
+    // given
+    AtomicInteger tokenRequests = new AtomicInteger();
+    bearerTokenProvider = new BearerTokenProvider(() -> {
+      if (tokenRequests.incrementAndGet() > 1) {
+        throw new IOException("Token endpoint is not available");
+      }
+      return new AccessToken("token-1", System.currentTimeMillis() + 2000);
+    }, 1500, 100);
+
+    assertThat(intercept(bearerTokenProvider).get(AUTHORIZATION)).isEqualTo("Bearer token-1");
+
+    // when
+    long timeout = System.currentTimeMillis() + 5000;
+    while (tokenRequests.get() < 3 && System.currentTimeMillis() < timeout) {
+      Thread.sleep(10);
+    }
+
+    // then
+    assertThat(tokenRequests.get()).isGreaterThanOrEqualTo(3);
+    assertThat(intercept(bearerTokenProvider).get(AUTHORIZATION)).isEqualTo("Bearer token-1");
+  }
+
+  @Test
+  public void shouldThrowExceptionDueToUnavailableAccessToken() {
+    // given
+    bearerTokenProvider = new BearerTokenProvider(() -> {
+      throw new IOException("Token endpoint is not available");
+    });
+
+    try {
+      // when
+      intercept(bearerTokenProvider);
+
+      fail("No ExternalTaskClientException thrown!");
+    } catch (ExternalTaskClientException e) {
+      // then
+      assertThat(e.getMessage()).contains("No valid access token available");
+      assertThat(e.getCause()).hasMessage("Token endpoint is not available");
+    }
+  }
+
+  @Test
+  public void shouldThrowExceptionDueToAccessTokenSupplierNull() {
+    try {
+      // when
+      new BearerTokenProvider(null);
+
+      fail("No ExternalTaskClientException thrown!");
+    } catch (ExternalTaskClientException e) {
+      // then
+      assertThat(e.getMessage()).contains("Access token supplier cannot be null");
+    }
+  }
+
+  // helper ////////////////////////////////////////////////
+
+  protected Map<String, String> intercept(BearerTokenProvider bearerTokenProvider) {
+    Map<String, String> headers = new HashMap<>();
+    bearerTokenProvider.intercept(headers::put);
+    return headers;
+  }
+
+  protected String readFully(InputStream inputStream) throws IOException {
+    ByteArrayOutputStream content = new ByteArrayOutputStream();
+    byte[] buffer = new byte[1024];
+    int length;
+    while ((length = inputStream.read(buffer)) != -1) {
+      content.write(buffer, 0, length);
+    }
+    return new String(content.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+}
@@ -14,8 +14,11 @@ package org.camunda.bpm.client.task;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.powermock.api.mockito.PowerMockito.doReturn;
@@ -24,13 +27,21 @@ import static org.powermock.api.mockito.PowerMockito.mockStatic;
 import static org.powermock.api.mockito.PowerMockito.when;
 import static org.powermock.api.mockito.PowerMockito.whenNew;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
 
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
 import org.apache.http.HttpHost;
 import org.apache.http.HttpRequest;
 import org.apache.http.StatusLine;
@@ -44,8 +55,10 @@ import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
 import org.apache.http.protocol.HttpContext;
+import org.camunda.bpm.client.CompressionStats;
 import org.camunda.bpm.client.ExternalTaskClient;
 import org.camunda.bpm.client.exception.ConnectionLostException;
+import org.camunda.bpm.client.exception.ExternalTaskClientException;
 import org.camunda.bpm.client.exception.NotAcquiredException;
 import org.camunda.bpm.client.exception.NotFoundException;
 import org.camunda.bpm.client.exception.NotResumedException;
@@ -451,6 +464,295 @@ public class ExternalTaskServiceTest {
     externalTaskClient.stop();
   }
 
+  @Test
+  public void shouldCompleteTaskAsynchronously() throws Exception {
+    // given
+    ExternalTaskClient client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .build();
+
+    final CompletableFuture<Void> completion = new CompletableFuture<>();
+    TopicSubscriptionBuilder topicSubscriptionBuilder =
+      client.subscribe(MockProvider.TOPIC_NAME)
+        .lockDuration(5000)
+        .handler((externalTask, externalTaskService) -> {
+          externalTaskService.completeAsync(externalTask)
+            .whenComplete((value, exception) -> completion.complete(null));
+        });
+
+    // when
+    topicSubscriptionBuilder.open();
+    completion.get(5, TimeUnit.SECONDS);
+
+    // then
+    assertRequestPerformed(EngineClient.COMPLETE_RESOURCE_PATH);
+
+    client.stop();
+  }
+
+  @Test
+  public void shouldCompleteStageExceptionallyOnCompletingTaskAsynchronously() throws Exception {
+    // given
+    CloseableHttpClient httpClient = mockHttpResponseException(EngineClient.COMPLETE_RESOURCE_PATH, 500);
+
+    ExternalTaskClient externalTaskClient = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .build();
+
+    final CompletableFuture<Throwable> completionException = new CompletableFuture<>();
+
+    TopicSubscriptionBuilder topicSubscriptionBuilder =
+      externalTaskClient.subscribe(MockProvider.TOPIC_NAME)
+        .lockDuration(5000)
+        .handler((externalTask, externalTaskService) -> {
+          externalTaskService.completeAsync(externalTask)
+            .whenComplete((value, exception) -> completionException.complete(exception));
+        });
+
+    // when
+    topicSubscriptionBuilder.open();
+    Throwable exception = completionException.get(5, TimeUnit.SECONDS);
+
+    // then
+    assertThat(exception).isInstanceOf(NotResumedException.class);
+    assertThat(exception.getMessage())
+      .contains("Exception while completing the external task: The corresponding process instance could not be resumed");
+    assertRequestPerformed(EngineClient.COMPLETE_RESOURCE_PATH, httpClient);
+
+    externalTaskClient.stop();
+  }
+
+  @Test
+  public void shouldPerformBlockingVariantByDefaultOnCompletingTaskAsynchronously() {
+    // given
+    ExternalTaskService externalTaskService = mock(ExternalTaskService.class, CALLS_REAL_METHODS);
+    ExternalTask externalTask = MockProvider.createExternalTaskWithoutVariables();
+    doThrow(new NotFoundException("Task does not exist"))
+      .when(externalTaskService).handleBpmnError(externalTask, MockProvider.ERROR_CODE);
+    doNothing()
+      .when(externalTaskService).complete(externalTask, null, null);
+
+    // when
+    CompletableFuture<Void> completion = externalTaskService.completeAsync(externalTask).toCompletableFuture();
+    CompletableFuture<Void> bpmnError = externalTaskService.handleBpmnErrorAsync(externalTask, MockProvider.ERROR_CODE)
+      .toCompletableFuture();
+
+    // then
+    verify(externalTaskService).complete(externalTask, null, null);
+    assertThat(completion.isDone()).isTrue();
+    assertThat(completion.isCompletedExceptionally()).isFalse();
+    assertThat(bpmnError.isCompletedExceptionally()).isTrue();
+  }
+
+  @Test
+  public void shouldStreamRequestBodyWhenCompletingTask() throws Exception {
+    // given
+    ExternalTaskClient client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .streamingRequests()
+      .build();
+
+    final AtomicBoolean handlerInvoked = new AtomicBoolean(false);
+    TopicSubscriptionBuilder topicSubscriptionBuilder =
+      client.subscribe(MockProvider.TOPIC_NAME)
+        .lockDuration(5000)
+        .handler((externalTask, externalTaskService) -> {
+          externalTaskService.complete(externalTask);
+          handlerInvoked.set(true);
+        });
+
+    // when
+    topicSubscriptionBuilder.open();
+
+    while (!handlerInvoked.get()) {
+      // sync
+    }
+
+    client.stop();
+
+    // then
+    ArgumentCaptor<HttpUriRequest> argumentCaptor = ArgumentCaptor.forClass(HttpUriRequest.class);
+    verify(httpClient, atLeastOnce()).execute(argumentCaptor.capture(), any(AbstractResponseHandler.class));
+
+    String resourceUrl = (MockProvider.BASE_URL + EngineClient.COMPLETE_RESOURCE_PATH).replace(EngineClient.ID_PATH_PARAM, MockProvider.ID);
+    HttpEntity requestBody = argumentCaptor.getAllValues().stream()
+      .filter(request -> request.getURI().toString().equals(resourceUrl))
+      .map(request -> ((HttpEntityEnclosingRequest) request).getEntity())
+      .findFirst()
+      .orElseThrow(AssertionError::new);
+
+    assertThat(requestBody.isChunked()).isTrue();
+    assertThat(requestBody.getContentLength()).isEqualTo(-1L);
+
+    ByteArrayOutputStream sentBody = new ByteArrayOutputStream();
+    requestBody.writeTo(sentBody);
+    assertThat(new ObjectMapper().readTree(sentBody.toByteArray()).get("workerId").asText()).isNotEmpty();
+  }
+
+  @Test
+  public void shouldCompressRequestBodyWhenCompletingTask() throws Exception {
+    // given
+    ExternalTaskClient client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .requestCompression(0)
+      .build();
+
+    final AtomicBoolean handlerInvoked = new AtomicBoolean(false);
+    TopicSubscriptionBuilder topicSubscriptionBuilder =
+      client.subscribe(MockProvider.TOPIC_NAME)
+        .lockDuration(5000)
+        .handler((externalTask, externalTaskService) -> {
+          externalTaskService.complete(externalTask);
+          handlerInvoked.set(true);
+        });
+
+    // when
+    topicSubscriptionBuilder.open();
+
+    while (!handlerInvoked.get()) {
+      // sync
+    }
+
+    client.stop();
+
+    // then
+    ArgumentCaptor<HttpUriRequest> argumentCaptor = ArgumentCaptor.forClass(HttpUriRequest.class);
+    verify(httpClient, atLeastOnce()).execute(argumentCaptor.capture(), any(AbstractResponseHandler.class));
+
+    String resourceUrl = (MockProvider.BASE_URL + EngineClient.COMPLETE_RESOURCE_PATH).replace(EngineClient.ID_PATH_PARAM, MockProvider.ID);
+    HttpEntity requestBody = argumentCaptor.getAllValues().stream()
+      .filter(request -> request.getURI().toString().equals(resourceUrl))
+      .map(request -> ((HttpEntityEnclosingRequest) request).getEntity())
+      .findFirst()
+      .orElseThrow(AssertionError::new);
+
+    assertThat(requestBody.getContentEncoding().getValue()).isEqualTo("gzip");
+    try (InputStream decompressedBody = new GZIPInputStream(requestBody.getContent())) {
+      assertThat(new ObjectMapper().readTree(decompressedBody).get("workerId").asText()).isNotEmpty();
+    }
+
+    CompressionStats compressionStats = client.getCompressionStats();
+    assertThat(compressionStats.getUncompressedRequestBytes()).isGreaterThan(0L);
+    assertThat(compressionStats.getCompressedRequestBytes()).isGreaterThan(0L);
+  }
+
+  @Test
+  public void shouldRetryCompletingTaskAfterConnectionLoss() throws Exception {
+    // given
+    String resourceUrl = (MockProvider.BASE_URL + EngineClient.COMPLETE_RESOURCE_PATH).replace(EngineClient.ID_PATH_PARAM, MockProvider.ID);
+    AtomicInteger completeRequests = new AtomicInteger();
+    CountDownLatch taskCompleted = new CountDownLatch(1);
+
+    CloseableHttpClient httpClient = spy(new ClosableHttpClientMock(closeableHttpResponse) {
+      @Override
+      protected CloseableHttpResponse doExecute(HttpHost target, HttpRequest request, HttpContext context) throws IOException {
+        if (request.toString().equals("POST " + resourceUrl + " HTTP/1.1")) {
+          if (completeRequests.incrementAndGet() == 1) {
+            throw new ClientProtocolException();
+          }
+          taskCompleted.countDown();
+        }
+
+        return closeableHttpResponse;
+      }
+    });
+
+    HttpClientBuilder httpClientBuilderMock = mock(HttpClientBuilder.class, RETURNS_DEEP_STUBS);
+    when(HttpClients.custom())
+      .thenReturn(httpClientBuilderMock);
+    when(httpClientBuilderMock.build())
+      .thenReturn(httpClient);
+
+    ExternalTaskClient client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .completionRetries(10)
+      .build();
+
+    final AtomicBoolean handlerInvoked = new AtomicBoolean(false);
+    final AtomicBoolean exceptionThrown = new AtomicBoolean(false);
+    TopicSubscriptionBuilder topicSubscriptionBuilder =
+      client.subscribe(MockProvider.TOPIC_NAME)
+        .lockDuration(5000)
+        .handler((externalTask, externalTaskService) -> {
+          if (handlerInvoked.compareAndSet(false, true)) {
+            try {
+              externalTaskService.complete(externalTask);
+            } catch (ExternalTaskClientException e) {
+              exceptionThrown.set(true);
+            }
+          }
+        });
+
+    // when
+    topicSubscriptionBuilder.open();
+
+    try {
+      // then
+      assertThat(taskCompleted.await(5, TimeUnit.SECONDS)).isTrue();
+      assertThat(exceptionThrown.get()).isFalse();
+      assertThat(completeRequests.get()).isEqualTo(2);
+    } finally {
+      client.stop();
+    }
+  }
+
+  @Test
+  public void shouldRetryCompletingTaskAsynchronouslyAfterConnectionLoss() throws Exception {
+    // given
+    String resourceUrl = (MockProvider.BASE_URL + EngineClient.COMPLETE_RESOURCE_PATH).replace(EngineClient.ID_PATH_PARAM, MockProvider.ID);
+    AtomicInteger completeRequests = new AtomicInteger();
+    CountDownLatch taskCompleted = new CountDownLatch(1);
+
+    CloseableHttpClient httpClient = spy(new ClosableHttpClientMock(closeableHttpResponse) {
+      @Override
+      protected CloseableHttpResponse doExecute(HttpHost target, HttpRequest request, HttpContext context) throws IOException {
+        if (request.toString().equals("POST " + resourceUrl + " HTTP/1.1")) {
+          if (completeRequests.incrementAndGet() == 1) {
+            throw new ClientProtocolException();
+          }
+          taskCompleted.countDown();
+        }
+
+        return closeableHttpResponse;
+      }
+    });
+
+    HttpClientBuilder httpClientBuilderMock = mock(HttpClientBuilder.class, RETURNS_DEEP_STUBS);
+    when(HttpClients.custom())
+      .thenReturn(httpClientBuilderMock);
+    when(httpClientBuilderMock.build())
+      .thenReturn(httpClient);
+
+    ExternalTaskClient client = ExternalTaskClient.create()
+      .baseUrl(MockProvider.BASE_URL)
+      .completionRetries(10)
+      .build();
+
+    final AtomicBoolean handlerInvoked = new AtomicBoolean(false);
+    final CompletableFuture<Throwable> completionException = new CompletableFuture<>();
+    TopicSubscriptionBuilder topicSubscriptionBuilder =
+      client.subscribe(MockProvider.TOPIC_NAME)
+        .lockDuration(5000)
+        .handler((externalTask, externalTaskService) -> {
+          if (handlerInvoked.compareAndSet(false, true)) {
+            externalTaskService.completeAsync(externalTask)
+              .whenComplete((value, exception) -> completionException.complete(exception));
+          }
+        });
+
+    // when
+    topicSubscriptionBuilder.open();
+
+    try {
+      // then
+      assertThat(completionException.get(5, TimeUnit.SECONDS)).isNull();
+      assertThat(taskCompleted.await(5, TimeUnit.SECONDS)).isTrue();
+      assertThat(completeRequests.get()).isEqualTo(2);
+    } finally {
+      client.stop();
+    }
+  }
+
   // helper ////////////////////////////////////////////////
   private void assertRequestPerformed(String resourcePath) throws IOException {
     assertRequestPerformed(resourcePath, httpClient);
@@ -0,0 +1,145 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.task.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.camunda.bpm.client.helper.MockProvider;
+import org.camunda.bpm.client.impl.CircuitBreakerOpenException;
+import org.camunda.bpm.client.impl.EngineClientException;
+import org.junit.Test;
+
+/**
+ * @author Tassilo Weidner
+ */
+public class CompletionRetryQueueTest {
+
+  @Test(timeout = 10000)
+  public void shouldAwaitRetriesUntilCallSucceeded() throws Exception {
+    // given
+    CompletionRetryQueue retryQueue = new CompletionRetryQueue(10, 10L, 10L);
+    AtomicInteger invocations = new AtomicInteger();
+
+    // when the call fails once more before it succeeds
+    boolean isRetried = retryQueue.offer(createLockedExternalTask(), "completing the external task", createTransientException(), () -> {
+      if (invocations.incrementAndGet() == 1) {
+        throw createTransientException();
+      }
+    });
+
+    int pendingRetries = retryQueue.awaitRetries(5000);
+
+    // then
+    assertThat(isRetried).isTrue();
+    assertThat(pendingRetries).isZero();
+    assertThat(invocations.get()).isEqualTo(2);
+  }
+
+  @Test(timeout = 10000)
+  public void shouldReportPendingRetriesWhenTimeoutElapsed() throws Exception {
+    // given
+    CompletionRetryQueue retryQueue = new CompletionRetryQueue(10, 10L, 10L);
+    retryQueue.offer(createLockedExternalTask(), "completing the external task", createTransientException(), () -> {
+      throw createTransientException();
+    });
+
+    // when
+    int pendingRetries = retryQueue.awaitRetries(100);
+
+    // then
+    assertThat(pendingRetries).isEqualTo(1);
+    assertThat(retryQueue.getQueuedRetries()).isEqualTo(1);
+  }
+
+  @Test(timeout = 10000)
+  public void shouldRetryCallRejectedByOpenCircuitBreakerOnceItPermitsRequests() throws Exception {
+    // given
+    CompletionRetryQueue retryQueue = new CompletionRetryQueue(10, 10L, 10L);
+    long offeredAt = System.currentTimeMillis();
+    AtomicLong invokedAt = new AtomicLong();
+
+    // when
+    boolean isRetried = retryQueue.offer(createLockedExternalTask(), "completing the external task",
+      new CircuitBreakerOpenException("Circuit breaker is open", 300L), () -> invokedAt.set(System.currentTimeMillis()));
+
+    int pendingRetries = retryQueue.awaitRetries(5000);
+
+    // then
+    assertThat(isRetried).isTrue();
+    assertThat(pendingRetries).isZero();
+    assertThat(invokedAt.get() - offeredAt).isGreaterThanOrEqualTo(300L);
+  }
+
+  @Test
+  public void shouldNotRetryNonTransientFailure() {
+    // given
+    CompletionRetryQueue retryQueue = new CompletionRetryQueue(10, 10L, 10L);
+
+    // when
+    boolean isRetried = retryQueue.offer(createLockedExternalTask(), "completing the external task",
+      new EngineClientException("Task does not exist"), () -> {});
+
+    // then
+    assertThat(isRetried).isFalse();
+    assertThat(retryQueue.getQueuedRetries()).isZero();
+  }
+
+  @Test
+  public void shouldNotRetryCallForTaskWithUntrackedLock() {
+    // given
+    CompletionRetryQueue retryQueue = new CompletionRetryQueue(10, 10L, 10L);
+    ExternalTaskImpl externalTask = new ExternalTaskImpl();
+
+    // when
+    boolean isRetried = retryQueue.offer(externalTask, "completing the external task", createTransientException(), () -> {});
+
+    // then
+    assertThat(externalTask.getRemainingLockTime()).isEqualTo(-1L);
+    assertThat(isRetried).isFalse();
+    assertThat(retryQueue.getQueuedRetries()).isZero();
+  }
+
+  @Test
+  public void shouldReportRemainingLockTimeOfTrackedLock() {
+    // given
+    ExternalTaskImpl externalTask = new ExternalTaskImpl();
+    externalTask.setLockExpirationTime(new Date(System.currentTimeMillis() - 1000L));
+
+    // when
+    long remainingLockTimeOfExpiredLock = externalTask.getRemainingLockTime();
+    externalTask.setLocalLockExpirationTime(System.currentTimeMillis() + 60_000L);
+    long remainingLockTimeOfExtendedLock = externalTask.getRemainingLockTime();
+
+    // then
+    assertThat(remainingLockTimeOfExpiredLock).isZero();
+    assertThat(remainingLockTimeOfExtendedLock).isPositive();
+  }
+
+  // helper /////////////////////////////////////////
+
+  protected ExternalTaskImpl createLockedExternalTask() {
+    ExternalTaskImpl externalTask = (ExternalTaskImpl) MockProvider.createExternalTaskWithoutVariables();
+    externalTask.setLocalLockExpirationTime(System.currentTimeMillis() + 60_000L);
+    return externalTask;
+  }
+
+  protected EngineClientException createTransientException() {
+    return new EngineClientException(new IOException("Connection refused"));
+  }
+
+}
@@ -15,8 +15,12 @@ package org.camunda.bpm.client.topic;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.powermock.api.mockito.PowerMockito.doAnswer;
 import static org.powermock.api.mockito.PowerMockito.mock;
@@ -211,6 +215,20 @@ public class TopicSubscriptionTest {
     client.stop();
   }
 
+  @Test
+  public void shouldLeaveMaxConcurrencyAndFetchGroupUnsetByDefault() {
+    // given
+    TopicSubscription topicSubscription = mock(TopicSubscription.class, CALLS_REAL_METHODS);
+
+    // when
+    Integer maxConcurrency = topicSubscription.getMaxConcurrency();
+    String fetchGroup = topicSubscription.getFetchGroup();
+
+    // then
+    assertThat(maxConcurrency).isNull();
+    assertThat(fetchGroup).isNull();
+  }
+
   @Test
   public void shouldExecuteHandler() throws IOException, InterruptedException {
     // given
@@ -246,4 +264,23 @@ public class TopicSubscriptionTest {
       .execute(any(ExternalTask.class), any(ExternalTaskService.class));
   }
 
+  @Test
+  public void shouldUnlockExternalTaskOfUnsubscribedTopic() throws IOException {
+    // given
+    ExternalTaskHandler externalTaskHandlerMock = mock(ExternalTaskHandler.class);
+
+    // when the engine returns a task of a topic the client is not subscribed to
+    client.subscribe(MockProvider.TOPIC_NAME + "Other")
+      .lockDuration(5000)
+      .handler(externalTaskHandlerMock)
+      .open();
+
+    // then
+    verify(httpClient, timeout(5000).atLeastOnce()).execute(
+      argThat(request -> request.getURI().getPath().endsWith("/" + MockProvider.ID + "/unlock")), any(AbstractResponseHandler.class));
+    client.stop();
+
+    verify(externalTaskHandlerMock, never()).execute(any(ExternalTask.class), any(ExternalTaskService.class));
+  }
+
 }
@@ -0,0 +1,103 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.topic.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+/**
+ * @author Tassilo Weidner
+ */
+public class AdaptiveMaxTasksControllerTest {
+
+  @Test
+  public void shouldIncreaseMaxTasksWhenFullBatchIsFetched() {
+    // given
+    AdaptiveMaxTasksController controller = new AdaptiveMaxTasksController(1, 5, 2, 1);
+
+    // when
+    controller.onFetchAndLockPerformed(2, 2, 10L, 5000L);
+    controller.onFetchAndLockPerformed(3, 3, 10L, 5000L);
+
+    // then
+    assertThat(controller.getMaxTasks()).isEqualTo(4);
+    assertThat(controller.getHistory()).containsExactly(3, 4);
+  }
+
+  @Test
+  public void shouldNotIncreaseMaxTasksWhenBatchIsNotFull() {
+    // given
+    AdaptiveMaxTasksController controller = new AdaptiveMaxTasksController(1, 5, 3, 1);
+
+    // when
+    controller.onFetchAndLockPerformed(3, 2, 10L, 5000L);
+
+    // then
+    assertThat(controller.getMaxTasks()).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldNotExceedUpperBound() {
+    // given
+    AdaptiveMaxTasksController controller = new AdaptiveMaxTasksController(1, 5, 5, 1);
+
+    // when
+    controller.onFetchAndLockPerformed(5, 5, 10L, 5000L);
+
+    // then
+    assertThat(controller.getMaxTasks()).isEqualTo(5);
+  }
+
+  @Test
+  public void shouldHalveMaxTasksAfterConsecutiveEmptyFetches() {
+    // given
+    AdaptiveMaxTasksController controller = new AdaptiveMaxTasksController(1, 10, 8, 1);
+
+    // when
+    for (int i = 0; i < AdaptiveMaxTasksController.EMPTY_FETCH_THRESHOLD; i++) {
+      controller.onFetchAndLockPerformed(8, 0, 10L, 5000L);
+    }
+
+    // then
+    assertThat(controller.getHistory()).containsExactly(8, 8, 4);
+    assertThat(controller.getMaxTasks()).isEqualTo(4);
+  }
+
+  @Test
+  public void shouldHalveMaxTasksWhenLockBudgetIsExceeded() {
+    // given
+    AdaptiveMaxTasksController controller = new AdaptiveMaxTasksController(1, 10, 8, 2);
+    controller.onExternalTaskHandled(500L);
+
+    // when four rounds of handlers take longer than the lock duration allows
+    controller.onFetchAndLockPerformed(8, 8, 10L, 1000L);
+
+    // then
+    assertThat(controller.getMaxTasks()).isEqualTo(4);
+  }
+
+  @Test
+  public void shouldNotFallBelowLowerBound() {
+    // given
+    AdaptiveMaxTasksController controller = new AdaptiveMaxTasksController(3, 10, 4, 1);
+    controller.onExternalTaskHandled(10_000L);
+
+    // when
+    controller.onFetchAndLockPerformed(4, 4, 10L, 1000L);
+
+    // then
+    assertThat(controller.getMaxTasks()).isEqualTo(3);
+  }
+
+}
@@ -0,0 +1,89 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.topic.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * @author Tassilo Weidner
+ */
+public class HandlerCapacityTest {
+
+  @Test
+  public void shouldReserveOnlyFreeSlots() {
+    // given
+    HandlerCapacity handlerCapacity = new HandlerCapacity(3);
+
+    // when
+    int reservedSlots = handlerCapacity.reserve(5, () -> true);
+
+    // then
+    assertThat(reservedSlots).isEqualTo(3);
+    assertThat(handlerCapacity.getActiveTasks()).isEqualTo(3);
+    assertThat(handlerCapacity.getAvailableSlots()).isZero();
+  }
+
+  @Test(timeout = 10000)
+  public void shouldWaitUntilSlotIsReleased() throws Exception {
+    // given
+    HandlerCapacity handlerCapacity = new HandlerCapacity(1);
+    handlerCapacity.reserve(1, () -> true);
+
+    AtomicInteger reservedSlots = new AtomicInteger(-1);
+    Thread waitingThread = new Thread(() -> reservedSlots.set(handlerCapacity.reserve(1, () -> true)));
+    waitingThread.start();
+
+    while (waitingThread.getState() != Thread.State.WAITING) {
+      Thread.sleep(10);
+    }
+
+    // when
+    handlerCapacity.release();
+    waitingThread.join();
+
+    // then
+    assertThat(reservedSlots.get()).isEqualTo(1);
+    assertThat(handlerCapacity.getActiveTasks()).isEqualTo(1);
+  }
+
+  @Test(timeout = 10000)
+  public void shouldStopWaitingOnWakeUpOnceConditionIsFalse() throws Exception {
+    // given
+    HandlerCapacity handlerCapacity = new HandlerCapacity(1);
+    handlerCapacity.reserve(1, () -> true);
+
+    AtomicBoolean isWaiting = new AtomicBoolean(true);
+    AtomicInteger reservedSlots = new AtomicInteger(-1);
+    Thread waitingThread = new Thread(() -> reservedSlots.set(handlerCapacity.reserve(1, isWaiting::get)));
+    waitingThread.start();
+
+    while (waitingThread.getState() != Thread.State.WAITING) {
+      Thread.sleep(10);
+    }
+
+    // when
+    isWaiting.set(false);
+    handlerCapacity.wakeUp();
+    waitingThread.join();
+
+    // then
+    assertThat(reservedSlots.get()).isZero();
+    assertThat(handlerCapacity.getActiveTasks()).isEqualTo(1);
+  }
+
+}
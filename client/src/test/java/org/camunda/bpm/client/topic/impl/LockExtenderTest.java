@@ -0,0 +1,120 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.topic.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import org.apache.http.client.HttpResponseException;
+import org.camunda.bpm.client.helper.MockProvider;
+import org.camunda.bpm.client.impl.EngineClient;
+import org.camunda.bpm.client.impl.EngineClientException;
+import org.camunda.bpm.client.task.ExternalTask;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * @author Tassilo Weidner
+ */
+public class LockExtenderTest {
+
+  @Test
+  public void shouldExtendLockRightAwayIfRenewalIsAlreadyDue() throws Exception {
+    // given
+    EngineClient engineClient = mock(EngineClient.class);
+    LockExtender lockExtender = new LockExtender(engineClient, 60_000L);
+    ExternalTask externalTask = MockProvider.createExternalTaskWithoutVariables();
+
+    // when the fetch and lock request has been sent longer than two thirds of the lock duration ago
+    lockExtender.register(externalTask, 3_000L, System.currentTimeMillis() - 2_500L);
+
+    // then
+    verify(engineClient, timeout(5000)).extendLock(MockProvider.ID, 3_000L);
+    assertThat(lockExtender.getTrackedTasks()).isEqualTo(1);
+
+    lockExtender.unregister(externalTask);
+  }
+
+  @Test
+  public void shouldLimitExtensionByMaxLockDurationSinceFetchStart() throws Exception {
+    // given
+    EngineClient engineClient = mock(EngineClient.class);
+    LockExtender lockExtender = new LockExtender(engineClient, 3_000L);
+    ExternalTask externalTask = MockProvider.createExternalTaskWithoutVariables();
+
+    // when
+    lockExtender.register(externalTask, 3_000L, System.currentTimeMillis() - 2_500L);
+
+    // then the lock is only extended until the maximum lock duration since the fetch start is reached
+    ArgumentCaptor<Long> newDuration = ArgumentCaptor.forClass(Long.class);
+    verify(engineClient, timeout(5000)).extendLock(eq(MockProvider.ID), newDuration.capture());
+    assertThat(newDuration.getValue()).isBetween(1L, 500L);
+
+    lockExtender.unregister(externalTask);
+  }
+
+  @Test
+  public void shouldNotExtendLockOfUnregisteredTask() throws Exception {
+    // given
+    EngineClient engineClient = mock(EngineClient.class);
+    LockExtender lockExtender = new LockExtender(engineClient, 60_000L);
+    ExternalTask externalTask = MockProvider.createExternalTaskWithoutVariables();
+    lockExtender.register(externalTask, 3_000L, System.currentTimeMillis());
+
+    // when
+    lockExtender.unregister(externalTask);
+    Thread.sleep(2_500L);
+
+    // then
+    verify(engineClient, never()).extendLock(eq(MockProvider.ID), anyLong());
+    assertThat(lockExtender.getTrackedTasks()).isZero();
+  }
+
+  @Test(timeout = 10000)
+  public void shouldStopTrackingTaskWhichHasBeenFinishedWhileExtendingItsLock() throws Exception {
+    // given
+    EngineClient engineClient = mock(EngineClient.class);
+    EngineClientException notFoundException = createEngineClientException(404);
+    doThrow(notFoundException)
+      .when(engineClient).extendLock(eq(MockProvider.ID), anyLong());
+
+    LockExtender lockExtender = new LockExtender(engineClient, 60_000L);
+    ExternalTask externalTask = MockProvider.createExternalTaskWithoutVariables();
+
+    // when
+    lockExtender.register(externalTask, 3_000L, System.currentTimeMillis() - 2_500L);
+
+    // then
+    verify(engineClient, timeout(5000)).extendLock(eq(MockProvider.ID), anyLong());
+    assertThat(lockExtender.isTaskReleased(notFoundException)).isTrue();
+    assertThat(lockExtender.isTaskReleased(createEngineClientException(400))).isTrue();
+    assertThat(lockExtender.isTaskReleased(createEngineClientException(503))).isFalse();
+
+    while (lockExtender.getTrackedTasks() > 0) {
+      // sync
+    }
+  }
+
+  // helper /////////////////////////////////////////
+
+  protected EngineClientException createEngineClientException(int statusCode) {
+    return new EngineClientException(new HttpResponseException(statusCode, "Engine responded with " + statusCode));
+  }
+
+}